@@ -649,11 +649,9 @@ public class SQFLexer implements FlexLexer {
             }
           case 40: break;
           case 3: 
-            { String yytext = yytext().toString();
-    for(String command : SQFStatic.LIST_COMMANDS){  //don't use binary search so that we can do ignore case search
-        if(command.equalsIgnoreCase(yytext)){
-            return SQFTypes.COMMAND_TOKEN;
-        }
+            { //look up the command straight from the buffer so that a String isn't created for every identifier
+    if(SQFCommandDictionary.getInstance().isCommand(zzBuffer, zzStartRead, zzMarkedPos)){
+        return SQFTypes.COMMAND_TOKEN;
     }
     return SQFTypes.GLOBAL_VAR;
             }
@@ -791,18 +789,12 @@ public class SQFLexer implements FlexLexer {
             }
           case 74: break;
           case 37: 
-            { String yytext = yytext().toString();
-    int parenIndex = yytext.indexOf('(');
-    String identifier = yytext.substring(0, parenIndex);
-    boolean isCommand = false;
-    for(String command : SQFStatic.LIST_COMMANDS) {
-        if(command.equalsIgnoreCase(identifier)) {
-            isCommand = true;
-            break;
-        }
+            { int parenIndex = zzStartRead;
+    while (zzBuffer.charAt(parenIndex) != '(') {
+        parenIndex++;
     }
-    if(isCommand) {
-        yypushback(yytext.length() - identifier.length()); //push the (...) back into stream to re-lex
+    if(SQFCommandDictionary.getInstance().isCommand(zzBuffer, zzStartRead, parenIndex)) {
+        yypushback(zzMarkedPos - parenIndex); //push the (...) back into stream to re-lex
         return SQFTypes.COMMAND_TOKEN;
     } else {
         return SQFTypes.MACRO_FUNC;
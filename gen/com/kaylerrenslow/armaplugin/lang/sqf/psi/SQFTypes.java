@@ -12,7 +12,7 @@ public interface SQFTypes {
   IElementType ASSIGNMENT_STATEMENT = new SQFElementType("ASSIGNMENT_STATEMENT");
   IElementType CASE_COMMAND = new SQFElementType("CASE_COMMAND");
   IElementType CASE_STATEMENT = new SQFElementType("CASE_STATEMENT");
-  IElementType CODE_BLOCK = new SQFElementType("CODE_BLOCK");
+  IElementType CODE_BLOCK = SQFCodeBlockElementType.createCodeBlockType("CODE_BLOCK");
   IElementType CODE_BLOCK_EXPRESSION = new SQFElementType("CODE_BLOCK_EXPRESSION");
   IElementType COMMAND = new SQFElementType("COMMAND");
   IElementType COMMAND_AFTER = new SQFElementType("COMMAND_AFTER");
@@ -1,11 +1,11 @@
 package com.kaylerrenslow.armaplugin.lang;
 
-import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.intellij.usages.impl.rules.UsageType;
 import com.intellij.usages.impl.rules.UsageTypeProvider;
 import com.kaylerrenslow.armaDialogCreator.arma.header.HeaderFile;
-import com.kaylerrenslow.armaDialogCreator.util.Reference;
 import com.kaylerrenslow.armaplugin.ArmaPlugin;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.*;
 import org.jetbrains.annotations.NotNull;
@@ -73,109 +73,80 @@ public class ArmaUsageTypeProvider implements UsageTypeProvider {
 
 	@Nullable
 	private UsageType getUsageTypeForVariable(@NotNull SQFVariable variable) {
-		ASTNode statementNode = PsiUtil.getFirstAncestorOfType(variable.getNode(), SQFTypes.STATEMENT, null);
-		if (statementNode != null) {
-			SQFStatement statement = (SQFStatement) statementNode.getPsi();
+		//Walk up once to find the statement containing the variable and the closest command expression inside
+		//that statement. This is a plain loop so that deeply nested command expressions don't cost more than their depth.
+		SQFStatement statement = null;
+		SQFCommandExpression cmdExpr = null;
+		for (PsiElement cursor = variable.getParent(); cursor != null && !(cursor instanceof PsiFile); cursor = cursor.getParent()) {
+			if (cursor instanceof SQFStatement) {
+				statement = (SQFStatement) cursor;
+				break;
+			}
+			if (cmdExpr == null && cursor instanceof SQFCommandExpression) {
+				cmdExpr = (SQFCommandExpression) cursor;
+			}
+		}
+
+		if (statement != null) {
 			if (statement instanceof SQFAssignmentStatement) {
 				SQFAssignmentStatement assignmentStatement = (SQFAssignmentStatement) statement;
 				if (assignmentStatement.getVar() == variable) {
 					return TYPE_ASSIGNMENT;
 				}
-			} else {
-				//check if in return statement
-				SQFScope containingScope = SQFScope.getContainingScope(statement);
-				//don't use file scope because you can create functions with return statements like so: func={returnVar};
-
-				int childInd = 0;
-				PsiElement[] scopeChildren = containingScope.getChildren();
-				for (PsiElement child : scopeChildren) {
-					if (child == statement) {
-						boolean lastStatement = true;
-						for (int i = childInd; i < scopeChildren.length; i++) {
-							if (scopeChildren[i] instanceof SQFStatement) {
-								lastStatement = false;
-								break;
-							}
-						}
-						if (lastStatement) {
-							return TYPE_RETURN_STATEMENT;
-						}
-					}
-					childInd++;
-				}
+			} else if (isReturnedVariable(statement, variable)) {
+				return TYPE_RETURN_STATEMENT;
 			}
 		}
-		{ //check if the variable is a part of a spawn or call command expression
-			Reference<SQFCommandExpression> cmdExpr = new Reference<>(null);
-			PsiUtil.traverseUp(variable.getNode(), astNode -> {
-				PsiElement nodeAsPsi = astNode.getPsi();
-				if (nodeAsPsi instanceof SQFStatement) {
-					return true;
-				}
-				if (nodeAsPsi instanceof SQFCommandExpression) {
-					cmdExpr.setValue((SQFCommandExpression) nodeAsPsi);
-					return true;
-				}
-				return false;
-			});
-			if (cmdExpr.getValue() != null) {
-
-				//used for something like "variable call {}" or "variable spawn {}"
-				Reference<Boolean> parameter = new Reference<>(false);
-
-				//used for something like "call variable" or "spawn variable"
-				Reference<Boolean> funcExec = new Reference<>(false);
-
-				//check arguments
-				{
-					SQFCommandArgument prefixArg = cmdExpr.getValue().getPrefixArgument();
-					if (prefixArg != null) {
-						SQFExpression prefixExp = prefixArg.getExpr().withoutParenthesis();
-						if (prefixExp instanceof SQFLiteralExpression) {
-							SQFLiteralExpression prefixLiteral = (SQFLiteralExpression) prefixExp;
-							PsiUtil.traverseBreadthFirstSearch(prefixLiteral.getNode(), astNode -> {
-								PsiElement nodeAsPsi = astNode.getPsi();
-								if (nodeAsPsi == variable) {
-									parameter.setValue(true);
-									return true;
-								}
-								return false;
-							});
-						}
+		//check if the variable is a part of a spawn or call command expression
+		if (cmdExpr != null) {
+			//used for something like "variable call {}" or "variable spawn {}"
+			boolean parameter = false;
+
+			//used for something like "call variable" or "spawn variable"
+			boolean funcExec = false;
+
+			//check arguments
+			{
+				SQFCommandArgument prefixArg = cmdExpr.getPrefixArgument();
+				if (prefixArg != null) {
+					SQFExpression prefixExp = prefixArg.getExpr().withoutParenthesis();
+					if (prefixExp instanceof SQFLiteralExpression) {
+						//walk up from the variable rather than searching the whole literal (which may be a huge array)
+						parameter = PsiTreeUtil.isAncestor(prefixExp, variable, false);
 					}
 				}
+			}
 
-				//check function being executed
-				{
-					SQFCommandArgument postfixArg = cmdExpr.getValue().getPostfixArgument();
-					if (postfixArg != null) {
-						SQFExpression postfixExp = postfixArg.getExpr().withoutParenthesis();
-						if (postfixExp instanceof SQFLiteralExpression) {
-							SQFLiteralExpression postfixLiteral = (SQFLiteralExpression) postfixExp;
-							if (postfixLiteral.getVar() == variable) {
-								funcExec.setValue(true);
-							}
+			//check function being executed
+			{
+				SQFCommandArgument postfixArg = cmdExpr.getPostfixArgument();
+				if (postfixArg != null) {
+					SQFExpression postfixExp = postfixArg.getExpr().withoutParenthesis();
+					if (postfixExp instanceof SQFLiteralExpression) {
+						SQFLiteralExpression postfixLiteral = (SQFLiteralExpression) postfixExp;
+						if (postfixLiteral.getVar() == variable) {
+							funcExec = true;
 						}
 					}
 				}
+			}
 
-				switch (cmdExpr.getValue().getSQFCommand().getCommandName().toLowerCase()) {
-					case "call": {
-						if (funcExec.getValue() != null && funcExec.getValue()) {
-							return TYPE_FUNCTION_CALL;
-						} else if (parameter.getValue() != null && parameter.getValue()) {
-							return TYPE_FUNCTION_PARAMETER;
-						}
-						return TYPE_COMMAND_ARGUMENT;
+			switch (cmdExpr.getExprOperator().getText().toLowerCase()) {
+				case "call": {
+					if (funcExec) {
+						return TYPE_FUNCTION_CALL;
+					} else if (parameter) {
+						return TYPE_FUNCTION_PARAMETER;
 					}
-					case "spawn": {
-						if (funcExec.getValue() != null && funcExec.getValue()) {
-							return TYPE_FUNCTION_SPAWN;
-						} else if (parameter.getValue() != null && parameter.getValue()) {
-							return TYPE_FUNCTION_PARAMETER;
-						}
-						return TYPE_COMMAND_ARGUMENT;
+					return TYPE_COMMAND_ARGUMENT;
+				}
+				case "spawn": {
+					if (funcExec) {
+						return TYPE_FUNCTION_SPAWN;
+					} else if (parameter) {
+						return TYPE_FUNCTION_PARAMETER;
 					}
+					return TYPE_COMMAND_ARGUMENT;
 				}
 			}
 		}
@@ -183,4 +154,28 @@ public class ArmaUsageTypeProvider implements UsageTypeProvider {
 		return null; //let intellij decide the name
 	}
 
+	/**
+	 * @return true if the statement is only the variable (i.e. <code>_var</code>) and is the last statement of a code
+	 * block, making the variable the code block's return value
+	 */
+	private static boolean isReturnedVariable(@NotNull SQFStatement statement, @NotNull SQFVariable variable) {
+		//don't use file scope because the file isn't a function, unlike func={returnVar};
+		if (!(statement.getParent() instanceof SQFLocalScope)) {
+			return false;
+		}
+		if (!(statement instanceof SQFExpressionStatement)) {
+			return false;
+		}
+		SQFExpression expr = ((SQFExpressionStatement) statement).getExpr().withoutParenthesis();
+		if (!(expr instanceof SQFLiteralExpression) || ((SQFLiteralExpression) expr).getVar() != variable) {
+			return false;
+		}
+		for (PsiElement sibling = statement.getNextSibling(); sibling != null; sibling = sibling.getNextSibling()) {
+			if (sibling instanceof SQFStatement) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 }
@@ -0,0 +1,157 @@
+package com.kaylerrenslow.armaplugin.lang.sqf;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * A case-insensitive lookup table for all SQF commands ({@link SQFStatic#LIST_COMMANDS}). The table is built once and
+ * can be queried with a range of a {@link CharSequence}, so the lexer can check if an identifier is a command without
+ * allocating a String for every identifier.
+ * <p>
+ * Every command is given a dense integer id, which is the index of the command in {@link SQFStatic#LIST_COMMANDS}.
+ * The ids will always be in the range [0, {@link #getCommandCount()}).
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFCommandDictionary {
+	private static final SQFCommandDictionary instance = new SQFCommandDictionary(SQFStatic.LIST_COMMANDS);
+
+	@NotNull
+	public static SQFCommandDictionary getInstance() {
+		return instance;
+	}
+
+	/**
+	 * Command names as they appear in the wiki (usually camelCase). Index is the command id.
+	 */
+	private final String[] commandNames;
+	/**
+	 * Open addressing hash table where each slot is a command id + 1 (0 means empty slot)
+	 */
+	private final int[] table;
+	/**
+	 * Case-insensitive hash for each command id
+	 */
+	private final int[] hashes;
+	private final int mask;
+
+	private SQFCommandDictionary(@NotNull List<String> commands) {
+		commandNames = commands.toArray(new String[commands.size()]);
+		hashes = new int[commandNames.length];
+
+		int capacity = 16;
+		while (capacity < commandNames.length * 4) { //keep the load factor low so that probe chains stay short
+			capacity <<= 1;
+		}
+		table = new int[capacity];
+		mask = capacity - 1;
+
+		for (int id = 0; id < commandNames.length; id++) {
+			String command = commandNames[id];
+			int hash = hash(command, 0, command.length());
+			hashes[id] = hash;
+			if (getId(command, 0, command.length(), hash) >= 0) {
+				continue; //command with same name (ignoring case) was already added
+			}
+			int slot = hash & mask;
+			while (table[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			table[slot] = id + 1;
+		}
+	}
+
+	/**
+	 * @return the command id for the given text (case-insensitive), or -1 if the text isn't a command
+	 */
+	public int getId(@NotNull CharSequence text) {
+		return getId(text, 0, text.length());
+	}
+
+	/**
+	 * Gets a command id for the characters in text between start (inclusive) and end (exclusive).
+	 * Case sensitivity doesn't matter.
+	 *
+	 * @return the command id, or -1 if the text isn't a command
+	 */
+	public int getId(@NotNull CharSequence text, int start, int end) {
+		return getId(text, start, end, hash(text, start, end));
+	}
+
+	private int getId(@NotNull CharSequence text, int start, int end, int hash) {
+		int slot = hash & mask;
+		while (true) {
+			int entry = table[slot];
+			if (entry == 0) {
+				return -1;
+			}
+			int id = entry - 1;
+			if (hashes[id] == hash && regionMatchesIgnoreCase(commandNames[id], text, start, end)) {
+				return id;
+			}
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	/**
+	 * @return true if the given text is a command (case-insensitive), false otherwise
+	 */
+	public boolean isCommand(@NotNull CharSequence text) {
+		return getId(text) >= 0;
+	}
+
+	/**
+	 * @return true if the characters in text between start (inclusive) and end (exclusive) are a command
+	 * (case-insensitive), false otherwise
+	 */
+	public boolean isCommand(@NotNull CharSequence text, int start, int end) {
+		return getId(text, start, end) >= 0;
+	}
+
+	/**
+	 * @param id command id
+	 * @return the command name as it appears in the wiki (usually camelCase)
+	 * @throws ArrayIndexOutOfBoundsException if id is not a valid command id
+	 */
+	@NotNull
+	public String getCommandName(int id) {
+		return commandNames[id];
+	}
+
+	/**
+	 * @return the number of command ids
+	 */
+	public int getCommandCount() {
+		return commandNames.length;
+	}
+
+	private static int hash(@NotNull CharSequence text, int start, int end) {
+		int h = 0;
+		for (int i = start; i < end; i++) {
+			h = 31 * h + toLowerCase(text.charAt(i));
+		}
+		//spread the bits since the table size is a power of 2
+		return h ^ (h >>> 16);
+	}
+
+	private static boolean regionMatchesIgnoreCase(@NotNull String command, @NotNull CharSequence text, int start, int end) {
+		if (command.length() != end - start) {
+			return false;
+		}
+		for (int i = 0; i < command.length(); i++) {
+			if (toLowerCase(command.charAt(i)) != toLowerCase(text.charAt(start + i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static char toLowerCase(char c) {
+		if (c < 128) {
+			return (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+		}
+		return Character.toLowerCase(c);
+	}
+}
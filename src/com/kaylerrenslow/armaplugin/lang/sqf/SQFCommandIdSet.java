@@ -0,0 +1,101 @@
+package com.kaylerrenslow.armaplugin.lang.sqf;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A set of command ids from {@link SQFCommandDictionary}, stored as a bitset where bit i is set if command id i is in
+ * the set.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFCommandIdSet {
+	private final long[] words;
+	private int size = 0;
+
+	/**
+	 * Creates an empty set that can hold every id in {@link SQFCommandDictionary#getInstance()}
+	 */
+	public SQFCommandIdSet() {
+		this(SQFCommandDictionary.getInstance().getCommandCount());
+	}
+
+	/**
+	 * Creates an empty set that can hold the ids [0, commandCount)
+	 */
+	public SQFCommandIdSet(int commandCount) {
+		words = new long[(commandCount + 63) >>> 6];
+	}
+
+	/**
+	 * Adds the given command id to the set
+	 *
+	 * @return true if the id wasn't in the set already, false if it was
+	 * @throws ArrayIndexOutOfBoundsException if id is not in the range this set was created for
+	 */
+	public boolean add(int id) {
+		long bit = 1L << id;
+		long word = words[id >>> 6];
+		if ((word & bit) != 0) {
+			return false;
+		}
+		words[id >>> 6] = word | bit;
+		size++;
+		return true;
+	}
+
+	/**
+	 * Adds every id in the given set to this set
+	 *
+	 * @throws ArrayIndexOutOfBoundsException if other has an id that is not in the range this set was created for
+	 */
+	public void addAll(@NotNull SQFCommandIdSet other) {
+		for (int id = other.nextId(0); id >= 0; id = other.nextId(id + 1)) {
+			add(id);
+		}
+	}
+
+	/**
+	 * @return true if the given command id is in the set
+	 */
+	public boolean contains(int id) {
+		if (id < 0 || (id >>> 6) >= words.length) {
+			return false;
+		}
+		return (words[id >>> 6] & (1L << id)) != 0;
+	}
+
+	/**
+	 * Iterate the set with <code>for (int id = set.nextId(0); id >= 0; id = set.nextId(id + 1))</code>
+	 *
+	 * @param fromId id to start at (inclusive)
+	 * @return the next id in the set that is &gt;= fromId, or -1 if there are no more ids
+	 */
+	public int nextId(int fromId) {
+		int wordIndex = fromId >>> 6;
+		if (wordIndex >= words.length) {
+			return -1;
+		}
+		long word = words[wordIndex] & (-1L << fromId);
+		while (true) {
+			if (word != 0) {
+				return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+			}
+			if (++wordIndex == words.length) {
+				return -1;
+			}
+			word = words[wordIndex];
+		}
+	}
+
+	/**
+	 * @return number of ids in the set
+	 */
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+}
@@ -0,0 +1,96 @@
+package com.kaylerrenslow.armaplugin.lang.sqf;
+
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.ArithOperatorCommandDescriptors;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFSyntaxHelper;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFTypes;
+import com.kaylerrenslow.armaplugin.settings.ArmaPluginApplicationSettings;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads every command's {@link com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptor} in the background
+ * after a project opens so that the first type check of a file doesn't have to load them. This is opt-in
+ * (see {@link ArmaPluginApplicationSettings.State#warmUpCommandSyntaxes}) and only happens once per IDE process.
+ * <p>
+ * Descriptors are loaded on low priority threads. If the type checker requests a descriptor that is being loaded by the
+ * warm up, it waits for that load rather than loading it again.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFCommandSyntaxWarmUpActivity implements StartupActivity {
+	private static final AtomicBoolean started = new AtomicBoolean(false);
+
+	@Override
+	public void runActivity(@NotNull Project project) {
+		if (!ArmaPluginApplicationSettings.getInstance().getState().warmUpCommandSyntaxes) {
+			return;
+		}
+		if (!started.compareAndSet(false, true)) {
+			return;
+		}
+		ProgressManager.getInstance().run(new Task.Backgroundable(project, SQFStatic.getSQFBundle().getString("SyntaxWarmUp.title"), true) {
+			@Override
+			public void run(@NotNull ProgressIndicator indicator) {
+				warmUp(indicator);
+			}
+		});
+	}
+
+	private static void warmUp(@NotNull ProgressIndicator indicator) {
+		indicator.setIndeterminate(false);
+
+		//loads all operator descriptors (syntax/operators)
+		ArithOperatorCommandDescriptors.get(SQFTypes.PLUS);
+
+		List<String> commands = SQFStatic.LIST_COMMANDS;
+		int threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+		AtomicInteger threadNumber = new AtomicInteger(0);
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount, r -> {
+			Thread t = new Thread(r, SQFCommandSyntaxWarmUpActivity.class.getSimpleName() + " - " + threadNumber.incrementAndGet());
+			t.setDaemon(true);
+			t.setPriority(Thread.MIN_PRIORITY);
+			return t;
+		});
+
+		try {
+			List<Future<?>> futures = new ArrayList<>(commands.size());
+			for (String command : commands) {
+				futures.add(executor.submit(() -> {
+					SQFSyntaxHelper.getInstance().preloadDescriptor(command);
+				}));
+			}
+			int done = 0;
+			for (Future<?> future : futures) {
+				indicator.checkCanceled();
+				try {
+					future.get();
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+				done++;
+				indicator.setText2(commands.get(done - 1));
+				indicator.setFraction(done / (double) commands.size());
+			}
+		} catch (ProcessCanceledException e) {
+			//whatever was loaded stays loaded. allow warm up to run again with the next project
+			started.set(false);
+			throw e;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
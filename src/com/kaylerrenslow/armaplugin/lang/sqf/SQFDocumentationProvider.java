@@ -18,6 +18,7 @@ import com.kaylerrenslow.armaplugin.lang.header.GenericConfigException;
 import com.kaylerrenslow.armaplugin.lang.header.HeaderConfigFunction;
 import com.kaylerrenslow.armaplugin.lang.header.HeaderConfigFunctionUtil;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.*;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType;
 import com.kaylerrenslow.armaplugin.stringtable.StringTableKey;
 import com.kaylerrenslow.armaplugin.util.FileResourceContentExtractor;
 import org.jetbrains.annotations.NotNull;
@@ -93,6 +94,10 @@ public class SQFDocumentationProvider extends DocumentationProviderEx {
 			PsiComment comment = (PsiComment) element;
 			return DocumentationUtil.purtify(DocumentationUtil.getCommentContent(comment));
 		}
+		String localVarDoc = generateLocalVariableDoc(originalElement != null ? originalElement : element);
+		if (localVarDoc != null) {
+			return localVarDoc;
+		}
 		if (element instanceof PsiFile) {
 			PsiElement[] children = element.getChildren();
 			for (PsiElement child : children) {
@@ -108,6 +113,32 @@ public class SQFDocumentationProvider extends DocumentationProviderEx {
 		return null;
 	}
 
+	/**
+	 * @return documentation with the known type of the local variable (see {@link SQFLocalTypeEnvironment}),
+	 * or null if element isn't a local variable or its type isn't known
+	 */
+	@Nullable
+	private static String generateLocalVariableDoc(@NotNull PsiElement element) {
+		SQFVariable var;
+		if (element instanceof SQFVariable) {
+			var = (SQFVariable) element;
+		} else if (element.getParent() instanceof SQFVariable) {
+			var = (SQFVariable) element.getParent();
+		} else {
+			return null;
+		}
+		if (!var.isLocal()) {
+			return null;
+		}
+		ValueType type = SQFLocalTypeEnvironment.getType(var);
+		if (type == null) {
+			return null;
+		}
+		return String.format(SQFStatic.getSQFBundle().getString("SQFDocumentationProvider.local-variable-type-f"),
+				var.getVarName(), type.getDisplayName()
+		);
+	}
+
 	@Nullable
 	@Override
 	public PsiElement getDocumentationElementForLookupItem(PsiManager psiManager, Object object, PsiElement element) {
@@ -217,10 +248,10 @@ public class SQFDocumentationProvider extends DocumentationProviderEx {
 		try {
 			return String.format(EXTERNAL_LINK_NOTIFICATION, getWikiUrl(commandName)) + FileResourceContentExtractor.extract(getDocumentationFilePath(commandName));
 		} catch (IllegalArgumentException ignore) {
-			for (String command : SQFStatic.LIST_COMMANDS) {
-				if (command.equalsIgnoreCase(commandName)) {
-					return String.format(EXTERNAL_LINK_NOTIFICATION, getWikiUrl(command)) + FileResourceContentExtractor.extract(getDocumentationFilePath(command));
-				}
+			int id = SQFCommandDictionary.getInstance().getId(commandName);
+			if (id >= 0) {
+				String command = SQFCommandDictionary.getInstance().getCommandName(id);
+				return String.format(EXTERNAL_LINK_NOTIFICATION, getWikiUrl(command)) + FileResourceContentExtractor.extract(getDocumentationFilePath(command));
 			}
 
 		}
@@ -1,7 +1,6 @@
 package com.kaylerrenslow.armaplugin.lang.sqf;
 
 
-import com.intellij.lang.cacheBuilder.DefaultWordsScanner;
 import com.intellij.lang.cacheBuilder.WordsScanner;
 import com.intellij.lang.findUsages.FindUsagesProvider;
 import com.intellij.psi.PsiElement;
@@ -22,12 +21,7 @@ public class SQFFindUsagesProvider implements FindUsagesProvider {
 	@Nullable
 	@Override
 	public WordsScanner getWordsScanner() {
-		return new DefaultWordsScanner(
-				new SQFLexerAdapter(),
-				SQFParserDefinition.IDENTIFIERS,
-				SQFParserDefinition.COMMENTS,
-				SQFParserDefinition.NUMBER_LITERALS
-		);
+		return new SQFWordsScanner();
 	}
 
 	@Override
@@ -3,22 +3,18 @@ package com.kaylerrenslow.armaplugin.lang.sqf;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleUtil;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.patterns.PlatformPatterns;
 import com.intellij.psi.*;
-import com.intellij.psi.search.FileTypeIndex;
-import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.ProcessingContext;
-import com.kaylerrenslow.armaplugin.lang.PsiUtil;
+import com.kaylerrenslow.armaplugin.lang.sqf.index.SQFCommandIndex;
+import com.kaylerrenslow.armaplugin.lang.sqf.index.SQFGlobalVariableIndex;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFCommand;
-import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFFile;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFVariable;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.reference.SQFCommandReference;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.reference.SQFVariableReference;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 
 /**
@@ -46,17 +42,17 @@ public class SQFReferenceContributor extends PsiReferenceContributor {
 			if (!(element instanceof SQFCommand)) {
 				return PsiReference.EMPTY_ARRAY;
 			}
-			SQFCommand command = (SQFCommand) element;
-			List<SQFCommand> commandInstances = findAllCommandInstances(element.getProject(), command);
-			if (commandInstances.isEmpty()) {
+			Module m = ModuleUtil.findModuleForPsiElement(element);
+			if (m == null) {
 				return PsiReference.EMPTY_ARRAY;
 			}
-
-			return new PsiReference[]{new SQFCommandReference(command, commandInstances)};
+			//usages are found when the reference is resolved
+			return new PsiReference[]{new SQFCommandReference((SQFCommand) element, m.getModuleContentScope())};
 		}
 
 		/**
-		 * Adds all {@link SQFCommand} instances in the current module that is equal to findCommand into a list and returns it
+		 * Adds all {@link SQFCommand} instances in the current module that is equal to findCommand into a list and returns it.
+		 * Only files that use the command are searched ({@link SQFCommandIndex}).
 		 *
 		 * @param project     project
 		 * @param findCommand the command
@@ -64,31 +60,11 @@ public class SQFReferenceContributor extends PsiReferenceContributor {
 		 */
 		@NotNull
 		public static List<SQFCommand> findAllCommandInstances(@NotNull Project project, @NotNull SQFCommand findCommand) {
-			List<SQFCommand> result = new ArrayList<>();
 			Module m = ModuleUtil.findModuleForPsiElement(findCommand);
 			if (m == null) {
-				return result;
+				return new ArrayList<>();
 			}
-			GlobalSearchScope searchScope = m.getModuleContentScope();
-			Collection<VirtualFile> files = FileTypeIndex.getFiles(SQFFileType.INSTANCE, searchScope);
-			for (VirtualFile virtualFile : files) {
-				PsiFile file = PsiManager.getInstance(project).findFile(virtualFile);
-				if (!(file instanceof SQFFile)) {
-					continue;
-				}
-				SQFFile sqfFile = (SQFFile) file;
-				PsiUtil.traverseBreadthFirstSearch(sqfFile.getNode(), astNode -> {
-					PsiElement nodeAsElement = astNode.getPsi();
-					if (nodeAsElement instanceof SQFCommand) {
-						SQFCommand command = (SQFCommand) nodeAsElement;
-						if (command.commandNameEquals(findCommand.getCommandName())) {
-							result.add(command);
-						}
-					}
-					return false;
-				});
-			}
-			return result;
+			return SQFCommandIndex.findCommands(project, findCommand.getCommandId(), m.getModuleContentScope());
 		}
 	}
 
@@ -119,7 +95,8 @@ public class SQFReferenceContributor extends PsiReferenceContributor {
 		}
 
 		/**
-		 * Adds all {@link SQFVariable}s in the current module that is equal to findVar into a list and returns it
+		 * Adds all {@link SQFVariable}s in the current module that is equal to findVar into a list and returns it.
+		 * Only files that contain the variable are searched ({@link SQFGlobalVariableIndex}).
 		 * <p>
 		 * If findVar is a local variable, the list returned will be empty.
 		 *
@@ -129,37 +106,14 @@ public class SQFReferenceContributor extends PsiReferenceContributor {
 		 */
 		@NotNull
 		public static List<SQFVariable> findGlobalVariables(@NotNull Project project, @NotNull SQFVariable findVar) {
-			List<SQFVariable> result = new ArrayList<>();
 			if (findVar.isLocal()) {
-				return result;
+				return new ArrayList<>();
 			}
 			Module m = ModuleUtil.findModuleForPsiElement(findVar);
 			if (m == null) {
-				return result;
-			}
-			GlobalSearchScope searchScope = m.getModuleContentScope();
-			Collection<VirtualFile> files = FileTypeIndex.getFiles(SQFFileType.INSTANCE, searchScope);
-			for (VirtualFile virtualFile : files) {
-				PsiFile file = PsiManager.getInstance(project).findFile(virtualFile);
-				if (!(file instanceof SQFFile)) {
-					continue;
-				}
-				SQFFile sqfFile = (SQFFile) file;
-				PsiUtil.traverseBreadthFirstSearch(sqfFile.getNode(), astNode -> {
-					PsiElement nodeAsElement = astNode.getPsi();
-					if (nodeAsElement instanceof SQFVariable) {
-						SQFVariable var = (SQFVariable) nodeAsElement;
-						if (var.isLocal()) {
-							return false;
-						}
-						if (SQFVariableName.nameEquals(var.getVarName(), findVar.getVarName())) {
-							result.add(var);
-						}
-					}
-					return false;
-				});
+				return new ArrayList<>();
 			}
-			return result;
+			return SQFGlobalVariableIndex.findGlobalVariables(project, findVar.getVarName(), m.getModuleContentScope());
 		}
 	}
 
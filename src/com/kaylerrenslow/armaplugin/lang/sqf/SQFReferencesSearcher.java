@@ -0,0 +1,49 @@
+package com.kaylerrenslow.armaplugin.lang.sqf;
+
+import com.intellij.openapi.application.QueryExecutorBase;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.search.UsageSearchContext;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.util.Processor;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFCommand;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFString;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFVariable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * Finds references to SQF variables, commands and variables declared in strings (i.e. <code>params ["_var"]</code>)
+ * regardless of case. The default search looks for the element's name with the same case, which misses
+ * <code>MY_VAR</code> when searching for <code>my_var</code>.
+ * <p>
+ * The word is searched for with the word index ({@link SQFWordsScanner}), so only files that have the word are searched.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFReferencesSearcher extends QueryExecutorBase<PsiReference, ReferencesSearch.SearchParameters> {
+	public SQFReferencesSearcher() {
+		super(true);
+	}
+
+	@Override
+	public void processQuery(@NotNull ReferencesSearch.SearchParameters queryParameters, @NotNull Processor<PsiReference> consumer) {
+		PsiElement target = queryParameters.getElementToSearch();
+		String name;
+		if (target instanceof SQFVariable) {
+			name = ((SQFVariable) target).getVarName();
+		} else if (target instanceof SQFCommand) {
+			name = ((SQFCommand) target).getCommandName();
+		} else if (target instanceof SQFString && ((SQFString) target).containsLocalVariable()) {
+			name = ((SQFString) target).getNonQuoteText();
+		} else {
+			return;
+		}
+		short searchContext = UsageSearchContext.IN_CODE | UsageSearchContext.IN_STRINGS;
+		queryParameters.getOptimizer().searchWord(name.toLowerCase(Locale.ENGLISH), queryParameters.getEffectiveSearchScope(),
+				searchContext, false, target
+		);
+	}
+}
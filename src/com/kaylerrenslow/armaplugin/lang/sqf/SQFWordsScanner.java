@@ -0,0 +1,89 @@
+package com.kaylerrenslow.armaplugin.lang.sqf;
+
+import com.intellij.lang.cacheBuilder.WordOccurrence;
+import com.intellij.lang.cacheBuilder.WordsScanner;
+import com.intellij.lexer.Lexer;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.util.Processor;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFLexerAdapter;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFParserDefinition;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFTypes;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Locale;
+
+/**
+ * Words scanner for SQF files. Identifiers and commands aren't case sensitive in SQF, so every word is lowercase.
+ * Searches must then either search with a lowercase word or search case insensitively (like {@link SQFReferencesSearcher}).
+ * <p>
+ * Words are:
+ * <ul>
+ * <li>code: every variable and command token</li>
+ * <li>literals: identifier-like words inside strings (i.e. _var in <code>params ["_var"]</code>)</li>
+ * <li>comments: identifier-like words inside comments</li>
+ * </ul>
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFWordsScanner implements WordsScanner {
+	@Override
+	public void processWords(CharSequence fileText, Processor<WordOccurrence> processor) {
+		Lexer lexer = new SQFLexerAdapter();
+		lexer.start(fileText);
+		WordOccurrence occurrence = new WordOccurrence(fileText, 0, 0, null);
+		IElementType type;
+		while ((type = lexer.getTokenType()) != null) {
+			int start = lexer.getTokenStart();
+			int end = lexer.getTokenEnd();
+			if (type == SQFTypes.GLOBAL_VAR || type == SQFTypes.LOCAL_VAR || type == SQFTypes.COMMAND_TOKEN) {
+				String word = toLowerCase(fileText, start, end);
+				occurrence.init(word, 0, word.length(), WordOccurrence.Kind.CODE);
+				if (!processor.process(occurrence)) {
+					return;
+				}
+			} else if (type == SQFTypes.STRING_LITERAL) {
+				//don't include the quotes
+				if (!processWordsIn(fileText, start + 1, end - 1, WordOccurrence.Kind.LITERALS, occurrence, processor)) {
+					return;
+				}
+			} else if (SQFParserDefinition.COMMENTS.contains(type)) {
+				if (!processWordsIn(fileText, start, end, WordOccurrence.Kind.COMMENTS, occurrence, processor)) {
+					return;
+				}
+			}
+			lexer.advance();
+		}
+	}
+
+	/**
+	 * Processes every identifier-like word (letters, digits and _) in the given range
+	 *
+	 * @return false if processor returned false (stop processing), true otherwise
+	 */
+	private static boolean processWordsIn(@NotNull CharSequence text, int start, int end, @NotNull WordOccurrence.Kind kind,
+										  @NotNull WordOccurrence occurrence, @NotNull Processor<WordOccurrence> processor) {
+		int i = start;
+		while (i < end) {
+			if (!Character.isJavaIdentifierPart(text.charAt(i))) {
+				i++;
+				continue;
+			}
+			int wordStart = i;
+			while (i < end && Character.isJavaIdentifierPart(text.charAt(i))) {
+				i++;
+			}
+			String word = toLowerCase(text, wordStart, i);
+			occurrence.init(word, 0, word.length(), kind);
+			if (!processor.process(occurrence)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@NotNull
+	private static String toLowerCase(@NotNull CharSequence text, int start, int end) {
+		return text.subSequence(start, end).toString().toLowerCase(Locale.ENGLISH);
+	}
+}
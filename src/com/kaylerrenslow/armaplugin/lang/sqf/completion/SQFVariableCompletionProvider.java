@@ -9,9 +9,14 @@ import com.intellij.psi.PsiElement;
 import com.intellij.util.ProcessingContext;
 import com.kaylerrenslow.armaplugin.ArmaPluginIcons;
 import com.kaylerrenslow.armaplugin.lang.PsiUtil;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFLocalTypeEnvironment;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFVariable;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * Used for completing variables and commands
  *
@@ -54,6 +59,8 @@ public class SQFVariableCompletionProvider extends CompletionProvider<Completion
 	}
 
 	private void addVariables(@NotNull CompletionParameters parameters, @NotNull CompletionResultSet result, @NotNull PsiElement cursor) {
+		//types of local variables known at the cursor, lowercase name -> type
+		Map<String, ValueType> localTypes = forLocalVars ? SQFLocalTypeEnvironment.getTypesAt(cursor) : Collections.emptyMap();
 		PsiUtil.traverseDepthFirstSearch(parameters.getOriginalFile().getNode(), astNode -> {
 			PsiElement nodeAsElement = astNode.getPsi();
 			if (nodeAsElement == cursor) {
@@ -64,11 +71,13 @@ public class SQFVariableCompletionProvider extends CompletionProvider<Completion
 			}
 			SQFVariable var = (SQFVariable) nodeAsElement;
 			if ((var.isLocal() && forLocalVars) || (!var.isLocal() && !forLocalVars)) {
+				ValueType type = localTypes.get(var.getVarName().toLowerCase());
 				result.addElement(LookupElementBuilder.createWithSmartPointer(var.getVarName(), var)
 						.withTailText(var.isMagicVar() ? " (Magic Var)" : (
 										forLocalVars ? " (Local Variable)" : " (Global Variable)"
 								)
 						)
+						.withTypeText(type == null ? null : type.getDisplayName())
 						.withIcon(var.isMagicVar() ? ArmaPluginIcons.ICON_SQF_MAGIC_VARIABLE : ArmaPluginIcons.ICON_SQF_VARIABLE)
 				);
 			}
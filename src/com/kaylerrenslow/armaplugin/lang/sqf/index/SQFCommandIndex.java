@@ -0,0 +1,192 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.index;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileWithId;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorIntegerDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.kaylerrenslow.armaplugin.lang.PsiUtil;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFCommandDictionary;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFCommand;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFFile;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFLexerAdapter;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of command usages in SQF files. The key is the command id ({@link SQFCommandDictionary#getId(CharSequence)}) and
+ * the value is the start offsets of each usage of the command in the file.
+ * <p>
+ * Files are indexed with the lexer, so indexing doesn't need the PSI. Use {@link #findCommands(Project, int, GlobalSearchScope)}
+ * or {@link #findCommands(SQFFile, int)} to get the {@link SQFCommand} instances, which only loads the PSI of files
+ * that use the command.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFCommandIndex extends FileBasedIndexExtension<Integer, List<Integer>> {
+	public static final ID<Integer, List<Integer>> NAME = ID.create("com.kaylerrenslow.armaplugin.lang.sqf.index.SQFCommandIndex");
+	private static final int VERSION = 1;
+
+	@NotNull
+	@Override
+	public ID<Integer, List<Integer>> getName() {
+		return NAME;
+	}
+
+	@NotNull
+	@Override
+	public DataIndexer<Integer, List<Integer>, FileContent> getIndexer() {
+		return inputData -> {
+			Map<Integer, List<Integer>> map = new HashMap<>();
+			SQFCommandDictionary dictionary = SQFCommandDictionary.getInstance();
+			Lexer lexer = new SQFLexerAdapter();
+			CharSequence text = inputData.getContentAsText();
+			lexer.start(text);
+			while (lexer.getTokenType() != null) {
+				if (lexer.getTokenType() == SQFTypes.COMMAND_TOKEN) {
+					int id = dictionary.getId(text, lexer.getTokenStart(), lexer.getTokenEnd());
+					if (id >= 0) {
+						map.computeIfAbsent(id, k -> new ArrayList<>()).add(lexer.getTokenStart());
+					}
+				}
+				lexer.advance();
+			}
+			return map;
+		};
+	}
+
+	@NotNull
+	@Override
+	public KeyDescriptor<Integer> getKeyDescriptor() {
+		return EnumeratorIntegerDescriptor.INSTANCE;
+	}
+
+	@NotNull
+	@Override
+	public DataExternalizer<List<Integer>> getValueExternalizer() {
+		return SQFOffsetListExternalizer.INSTANCE;
+	}
+
+	/**
+	 * The command ids are the keys, so the version changes whenever the command list changes
+	 */
+	@Override
+	public int getVersion() {
+		SQFCommandDictionary dictionary = SQFCommandDictionary.getInstance();
+		int version = VERSION;
+		for (int id = 0; id < dictionary.getCommandCount(); id++) {
+			version = 31 * version + dictionary.getCommandName(id).hashCode();
+		}
+		return version & Integer.MAX_VALUE;
+	}
+
+	@NotNull
+	@Override
+	public FileBasedIndex.InputFilter getInputFilter() {
+		return new DefaultFileTypeSpecificInputFilter(SQFFileType.INSTANCE);
+	}
+
+	@Override
+	public boolean dependsOnFileContent() {
+		return true;
+	}
+
+	/**
+	 * Gets all usages of the given command. Only files that use the command (according to this index) are loaded.
+	 *
+	 * @param project   project
+	 * @param commandId command id ({@link SQFCommandDictionary#getId(CharSequence)})
+	 * @param scope     scope to search in
+	 * @return list of all usages of the command
+	 */
+	@NotNull
+	public static List<SQFCommand> findCommands(@NotNull Project project, int commandId, @NotNull GlobalSearchScope scope) {
+		List<SQFCommand> result = new ArrayList<>();
+		if (commandId < 0) {
+			return result;
+		}
+		PsiManager psiManager = PsiManager.getInstance(project);
+		FileBasedIndex.getInstance().processValues(NAME, commandId, null, (virtualFile, offsets) -> {
+			PsiFile file = psiManager.findFile(virtualFile);
+			if (file instanceof SQFFile) {
+				addCommandsAt(file, offsets, commandId, result);
+			}
+			return true;
+		}, scope);
+		return result;
+	}
+
+	/**
+	 * Gets all usages of the given command in the given file. If the file isn't indexed (i.e. it was created in memory
+	 * or it is outside the project's content and libraries), the file is searched instead.
+	 *
+	 * @param file      file to search in
+	 * @param commandId command id ({@link SQFCommandDictionary#getId(CharSequence)})
+	 * @return list of all usages of the command in file
+	 */
+	@NotNull
+	public static List<SQFCommand> findCommands(@NotNull SQFFile file, int commandId) {
+		List<SQFCommand> result = new ArrayList<>();
+		if (commandId < 0) {
+			return result;
+		}
+		VirtualFile virtualFile = file.getVirtualFile();
+		if (!isIndexed(file.getProject(), virtualFile)) {
+			PsiUtil.traverseBreadthFirstSearch(file.getNode(), astNode -> {
+				PsiElement nodeAsElement = astNode.getPsi();
+				if (nodeAsElement instanceof SQFCommand && ((SQFCommand) nodeAsElement).getCommandId() == commandId) {
+					result.add((SQFCommand) nodeAsElement);
+				}
+				return false;
+			});
+			return result;
+		}
+		FileBasedIndex.getInstance().processValues(NAME, commandId, virtualFile, (f, offsets) -> {
+			addCommandsAt(file, offsets, commandId, result);
+			return true;
+		}, GlobalSearchScope.fileScope(file));
+		return result;
+	}
+
+	/**
+	 * @return true if the index has the given file, false if the file is only in memory or isn't in the project's
+	 * content or libraries
+	 */
+	private static boolean isIndexed(@NotNull Project project, @Nullable VirtualFile virtualFile) {
+		if (!(virtualFile instanceof VirtualFileWithId)) {
+			return false;
+		}
+		ProjectFileIndex fileIndex = ProjectFileIndex.SERVICE.getInstance(project);
+		return fileIndex.isInContent(virtualFile) || fileIndex.isInLibraryClasses(virtualFile)
+				|| fileIndex.isInLibrarySource(virtualFile);
+	}
+
+	private static void addCommandsAt(@NotNull PsiFile file, @NotNull List<Integer> offsets, int commandId,
+									  @NotNull List<SQFCommand> result) {
+		for (int offset : offsets) {
+			PsiElement leaf = file.findElementAt(offset);
+			SQFCommand command = PsiTreeUtil.getParentOfType(leaf, SQFCommand.class, false);
+			//the index can be ahead of the PSI when the document isn't committed yet, so check the command
+			if (command != null && command.getTextOffset() == offset && command.getCommandId() == commandId) {
+				result.add(command);
+			}
+		}
+	}
+}
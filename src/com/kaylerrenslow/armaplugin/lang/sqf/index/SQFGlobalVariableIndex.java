@@ -0,0 +1,126 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.index;
+
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.util.indexing.*;
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.EnumeratorStringDescriptor;
+import com.intellij.util.io.KeyDescriptor;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFVariableName;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFFile;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFLexerAdapter;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFTypes;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFVariable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of global variables in SQF files. The key is the lower case variable name ({@link SQFVariableName#text()}) and
+ * the value is the start offsets of each occurrence of the variable in the file.
+ * <p>
+ * Files are indexed with the lexer, so indexing doesn't need the PSI. Use {@link #findGlobalVariables(Project, String, GlobalSearchScope)}
+ * to get the {@link SQFVariable} instances, which only loads the PSI of files that have the variable.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFGlobalVariableIndex extends FileBasedIndexExtension<String, List<Integer>> {
+	public static final ID<String, List<Integer>> NAME = ID.create("com.kaylerrenslow.armaplugin.lang.sqf.index.SQFGlobalVariableIndex");
+
+	@NotNull
+	@Override
+	public ID<String, List<Integer>> getName() {
+		return NAME;
+	}
+
+	@NotNull
+	@Override
+	public DataIndexer<String, List<Integer>, FileContent> getIndexer() {
+		return inputData -> {
+			Map<String, List<Integer>> map = new HashMap<>();
+			Lexer lexer = new SQFLexerAdapter();
+			lexer.start(inputData.getContentAsText());
+			while (lexer.getTokenType() != null) {
+				if (lexer.getTokenType() == SQFTypes.GLOBAL_VAR) {
+					String name = new SQFVariableName(lexer.getTokenText()).text();
+					map.computeIfAbsent(name, k -> new ArrayList<>()).add(lexer.getTokenStart());
+				}
+				lexer.advance();
+			}
+			return map;
+		};
+	}
+
+	@NotNull
+	@Override
+	public KeyDescriptor<String> getKeyDescriptor() {
+		return EnumeratorStringDescriptor.INSTANCE;
+	}
+
+	@NotNull
+	@Override
+	public DataExternalizer<List<Integer>> getValueExternalizer() {
+		return SQFOffsetListExternalizer.INSTANCE;
+	}
+
+	@Override
+	public int getVersion() {
+		return 1;
+	}
+
+	@NotNull
+	@Override
+	public FileBasedIndex.InputFilter getInputFilter() {
+		return new DefaultFileTypeSpecificInputFilter(SQFFileType.INSTANCE);
+	}
+
+	@Override
+	public boolean dependsOnFileContent() {
+		return true;
+	}
+
+	/**
+	 * Gets all global variables that are equal to the given name ({@link SQFVariableName#nameEquals(String, String)}).
+	 * Only files that have the variable (according to this index) are loaded.
+	 *
+	 * @param project project
+	 * @param varName name of the global variable
+	 * @param scope   scope to search in
+	 * @return list of all global variables with the given name. If varName is a local variable, the list will be empty.
+	 */
+	@NotNull
+	public static List<SQFVariable> findGlobalVariables(@NotNull Project project, @NotNull String varName,
+														@NotNull GlobalSearchScope scope) {
+		List<SQFVariable> result = new ArrayList<>();
+		if (varName.isEmpty() || varName.charAt(0) == '_') {
+			return result;
+		}
+		PsiManager psiManager = PsiManager.getInstance(project);
+		FileBasedIndex.getInstance().processValues(NAME, new SQFVariableName(varName).text(), null, (virtualFile, offsets) -> {
+			PsiFile file = psiManager.findFile(virtualFile);
+			if (!(file instanceof SQFFile)) {
+				return true;
+			}
+			for (int offset : offsets) {
+				PsiElement leaf = file.findElementAt(offset);
+				SQFVariable var = PsiTreeUtil.getParentOfType(leaf, SQFVariable.class, false);
+				//the index can be ahead of the PSI when the document isn't committed yet, so check the name
+				if (var != null && var.getTextOffset() == offset && SQFVariableName.nameEquals(var.getVarName(), varName)) {
+					result.add(var);
+				}
+			}
+			return true;
+		}, scope);
+		return result;
+	}
+}
@@ -0,0 +1,19 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.index;
+
+import com.intellij.lang.cacheBuilder.WordsScanner;
+import com.intellij.psi.impl.cache.impl.id.ScanningIdIndexer;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFWordsScanner;
+
+/**
+ * Builds the IdIndex (the word index that searches use to skip files) for SQF files with {@link SQFWordsScanner},
+ * so that words are indexed in lowercase.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFIdIndexer extends ScanningIdIndexer {
+	@Override
+	public WordsScanner createScanner() {
+		return new SQFWordsScanner();
+	}
+}
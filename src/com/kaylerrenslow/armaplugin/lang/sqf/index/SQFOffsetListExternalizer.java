@@ -0,0 +1,44 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.index;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves the ascending file offsets that the SQF indexes use as values. Offsets are saved as the difference from the
+ * previous offset so that they stay small.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFOffsetListExternalizer implements DataExternalizer<List<Integer>> {
+	public static final SQFOffsetListExternalizer INSTANCE = new SQFOffsetListExternalizer();
+
+	@Override
+	public void save(@NotNull DataOutput out, List<Integer> offsets) throws IOException {
+		DataInputOutputUtil.writeINT(out, offsets.size());
+		int previous = 0;
+		for (int offset : offsets) {
+			DataInputOutputUtil.writeINT(out, offset - previous);
+			previous = offset;
+		}
+	}
+
+	@Override
+	public List<Integer> read(@NotNull DataInput in) throws IOException {
+		int size = DataInputOutputUtil.readINT(in);
+		List<Integer> offsets = new ArrayList<>(size);
+		int previous = 0;
+		for (int i = 0; i < size; i++) {
+			previous += DataInputOutputUtil.readINT(in);
+			offsets.add(previous);
+		}
+		return offsets;
+	}
+}
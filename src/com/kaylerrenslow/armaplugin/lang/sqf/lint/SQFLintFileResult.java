@@ -0,0 +1,112 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.lint;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * All problems {@link SQFLinter} found in one file
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFLintFileResult {
+	@NotNull
+	private final String path;
+	@NotNull
+	private final List<Problem> problems;
+
+	public SQFLintFileResult(@NotNull String path, @NotNull List<Problem> problems) {
+		this.path = path;
+		this.problems = Collections.unmodifiableList(problems);
+	}
+
+	/**
+	 * @return path of the file, as it was given to {@link SQFLinter}
+	 */
+	@NotNull
+	public String getPath() {
+		return path;
+	}
+
+	/**
+	 * @return problems sorted by position in file
+	 */
+	@NotNull
+	public List<Problem> getProblems() {
+		return problems;
+	}
+
+	public enum Severity {
+		ERROR("error"), WARNING("warning");
+
+		private final String reportName;
+
+		Severity(@NotNull String reportName) {
+			this.reportName = reportName;
+		}
+
+		/**
+		 * @return name used in JSON and checkstyle reports
+		 */
+		@NotNull
+		public String getReportName() {
+			return reportName;
+		}
+	}
+
+	public static class Problem {
+		private final int line;
+		private final int column;
+		@NotNull
+		private final Severity severity;
+		@NotNull
+		private final String message;
+		@NotNull
+		private final String source;
+
+		/**
+		 * @param line     line number, starting at 1
+		 * @param column   column number, starting at 1
+		 * @param severity severity
+		 * @param message  problem message
+		 * @param source   what found the problem (i.e. sqf.syntax)
+		 */
+		public Problem(int line, int column, @NotNull Severity severity, @NotNull String message, @NotNull String source) {
+			this.line = line;
+			this.column = column;
+			this.severity = severity;
+			this.message = message;
+			this.source = source;
+		}
+
+		public int getLine() {
+			return line;
+		}
+
+		public int getColumn() {
+			return column;
+		}
+
+		@NotNull
+		public Severity getSeverity() {
+			return severity;
+		}
+
+		@NotNull
+		public String getMessage() {
+			return message;
+		}
+
+		@NotNull
+		public String getSource() {
+			return source;
+		}
+
+		@Override
+		public String toString() {
+			return line + ":" + column + " " + severity.getReportName() + " " + message;
+		}
+	}
+}
@@ -0,0 +1,205 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.lint;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Results of one {@link SQFLinter#lint(List)} run. The results can be written as JSON ({@link #writeJson(Writer)}) or
+ * as a checkstyle XML report ({@link #writeCheckstyle(Writer)}), which most CI servers can display.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFLintReport {
+	@NotNull
+	private final List<SQFLintFileResult> results;
+	private final long elapsedNanos;
+
+	public SQFLintReport(@NotNull List<SQFLintFileResult> results, long elapsedNanos) {
+		this.results = Collections.unmodifiableList(results);
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	@NotNull
+	public List<SQFLintFileResult> getResults() {
+		return results;
+	}
+
+	public int getFileCount() {
+		return results.size();
+	}
+
+	public int getProblemCount() {
+		int count = 0;
+		for (SQFLintFileResult result : results) {
+			count += result.getProblems().size();
+		}
+		return count;
+	}
+
+	/**
+	 * @return time it took to lint all files, in nanoseconds
+	 */
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public double getFilesPerSecond() {
+		if (elapsedNanos <= 0) {
+			return 0;
+		}
+		return results.size() / (elapsedNanos / 1_000_000_000.0);
+	}
+
+	/**
+	 * @return one line summary with the file count, problem count, and throughput
+	 */
+	@NotNull
+	public String getSummary() {
+		return String.format(Locale.ROOT, "Checked %d files in %.2f seconds (%.1f files/sec). %d problems found.",
+				getFileCount(), elapsedNanos / 1_000_000_000.0, getFilesPerSecond(), getProblemCount()
+		);
+	}
+
+	/**
+	 * Writes the report as JSON. The writer isn't closed.
+	 */
+	public void writeJson(@NotNull Writer w) throws IOException {
+		w.write("{\n");
+		w.write("  \"fileCount\": " + getFileCount() + ",\n");
+		w.write("  \"problemCount\": " + getProblemCount() + ",\n");
+		w.write(String.format(Locale.ROOT, "  \"seconds\": %.3f,\n", elapsedNanos / 1_000_000_000.0));
+		w.write(String.format(Locale.ROOT, "  \"filesPerSecond\": %.1f,\n", getFilesPerSecond()));
+		w.write("  \"files\": [");
+		boolean firstFile = true;
+		for (SQFLintFileResult result : results) {
+			w.write(firstFile ? "\n" : ",\n");
+			firstFile = false;
+			w.write("    {\"path\": " + jsonString(result.getPath()) + ", \"problems\": [");
+			boolean firstProblem = true;
+			for (SQFLintFileResult.Problem problem : result.getProblems()) {
+				w.write(firstProblem ? "\n" : ",\n");
+				firstProblem = false;
+				w.write("      {\"line\": " + problem.getLine()
+						+ ", \"column\": " + problem.getColumn()
+						+ ", \"severity\": " + jsonString(problem.getSeverity().getReportName())
+						+ ", \"source\": " + jsonString(problem.getSource())
+						+ ", \"message\": " + jsonString(problem.getMessage()) + "}"
+				);
+			}
+			w.write(firstProblem ? "]}" : "\n    ]}");
+		}
+		w.write(firstFile ? "]\n" : "\n  ]\n");
+		w.write("}\n");
+	}
+
+	/**
+	 * Writes the report in the checkstyle XML format. The writer isn't closed.
+	 */
+	public void writeCheckstyle(@NotNull Writer w) throws IOException {
+		w.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		w.write("<checkstyle version=\"4.3\">\n");
+		for (SQFLintFileResult result : results) {
+			w.write("\t<file name=\"" + xmlAttribute(result.getPath()) + "\">\n");
+			for (SQFLintFileResult.Problem problem : result.getProblems()) {
+				w.write("\t\t<error line=\"" + problem.getLine()
+						+ "\" column=\"" + problem.getColumn()
+						+ "\" severity=\"" + problem.getSeverity().getReportName()
+						+ "\" message=\"" + xmlAttribute(problem.getMessage())
+						+ "\" source=\"" + xmlAttribute(problem.getSource()) + "\"/>\n"
+				);
+			}
+			w.write("\t</file>\n");
+		}
+		w.write("</checkstyle>\n");
+	}
+
+	@NotNull
+	static String jsonString(@NotNull String s) {
+		StringBuilder sb = new StringBuilder(s.length() + 2);
+		sb.append('"');
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+				case '"': {
+					sb.append("\\\"");
+					break;
+				}
+				case '\\': {
+					sb.append("\\\\");
+					break;
+				}
+				case '\n': {
+					sb.append("\\n");
+					break;
+				}
+				case '\r': {
+					sb.append("\\r");
+					break;
+				}
+				case '\t': {
+					sb.append("\\t");
+					break;
+				}
+				default: {
+					if (c < 0x20) {
+						sb.append(String.format("\\u%04x", (int) c));
+					} else {
+						sb.append(c);
+					}
+				}
+			}
+		}
+		sb.append('"');
+		return sb.toString();
+	}
+
+	@NotNull
+	static String xmlAttribute(@NotNull String s) {
+		StringBuilder sb = new StringBuilder(s.length());
+		for (int i = 0; i < s.length(); i++) {
+			char c = s.charAt(i);
+			switch (c) {
+				case '&': {
+					sb.append("&amp;");
+					break;
+				}
+				case '<': {
+					sb.append("&lt;");
+					break;
+				}
+				case '>': {
+					sb.append("&gt;");
+					break;
+				}
+				case '"': {
+					sb.append("&quot;");
+					break;
+				}
+				case '\n': {
+					sb.append("&#10;");
+					break;
+				}
+				case '\r': {
+					sb.append("&#13;");
+					break;
+				}
+				case '\t': {
+					sb.append("&#9;");
+					break;
+				}
+				default: {
+					if (c >= 0x20) {
+						sb.append(c); //other control characters aren't allowed in XML 1.0
+					}
+				}
+			}
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,121 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.lint;
+
+import com.intellij.openapi.application.ApplicationStarterEx;
+import com.intellij.openapi.project.ProjectManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Headless entry point that lints every .sqf file in a directory with {@link SQFLinter}, so that files can be checked
+ * on a CI server without opening the IDE. Run it through the IDE launcher:
+ * <p>
+ * <code>idea.sh sqflint &lt;directory&gt; [-json &lt;file&gt;] [-checkstyle &lt;file&gt;] [-threads &lt;count&gt;]</code>
+ * <p>
+ * If neither -json nor -checkstyle is given, the JSON report is written to standard out. The throughput summary is
+ * always printed at the end. The process exits with 1 if any problems were found, 2 if the arguments were wrong,
+ * or 0 otherwise.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFLintStarter extends ApplicationStarterEx {
+	private static final String USAGE = "Usage: sqflint <directory> [-json <file>] [-checkstyle <file>] [-threads <count>]";
+
+	@Override
+	public String getCommandName() {
+		return "sqflint";
+	}
+
+	@Override
+	public boolean isHeadless() {
+		return true;
+	}
+
+	@Override
+	public void premain(String[] args) {
+	}
+
+	@Override
+	public void main(String[] args) {
+		int exitCode;
+		try {
+			exitCode = run(args);
+		} catch (Exception e) {
+			e.printStackTrace();
+			exitCode = 2;
+		}
+		System.exit(exitCode);
+	}
+
+	private static int run(@NotNull String[] args) throws IOException {
+		//args[0] is the command name
+		File directory = null;
+		File jsonFile = null;
+		File checkstyleFile = null;
+		int threads = Runtime.getRuntime().availableProcessors();
+		for (int i = 1; i < args.length; i++) {
+			String arg = args[i];
+			if (arg.equals("-json") || arg.equals("-checkstyle") || arg.equals("-threads")) {
+				if (i + 1 >= args.length) {
+					System.err.println(USAGE);
+					return 2;
+				}
+				String value = args[++i];
+				if (arg.equals("-json")) {
+					jsonFile = new File(value);
+				} else if (arg.equals("-checkstyle")) {
+					checkstyleFile = new File(value);
+				} else {
+					try {
+						threads = Integer.parseInt(value);
+					} catch (NumberFormatException e) {
+						System.err.println(USAGE);
+						return 2;
+					}
+				}
+			} else if (directory == null) {
+				directory = new File(arg);
+			} else {
+				System.err.println(USAGE);
+				return 2;
+			}
+		}
+		if (directory == null || !directory.isDirectory()) {
+			System.err.println(USAGE);
+			return 2;
+		}
+
+		List<File> files = SQFLinter.findSQFFiles(directory);
+		SQFLinter linter = new SQFLinter(ProjectManager.getInstance().getDefaultProject(), threads);
+		SQFLintReport report = linter.lint(files);
+
+		if (jsonFile == null && checkstyleFile == null) {
+			Writer w = new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+			report.writeJson(w);
+			w.flush();
+		}
+		write(jsonFile, report, true);
+		write(checkstyleFile, report, false);
+
+		//keep standard out as valid JSON if the report went there
+		(jsonFile == null && checkstyleFile == null ? System.err : System.out).println(report.getSummary());
+		return report.getProblemCount() > 0 ? 1 : 0;
+	}
+
+	private static void write(@Nullable File file, @NotNull SQFLintReport report, boolean json) throws IOException {
+		if (file == null) {
+			return;
+		}
+		try (Writer w = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+			if (json) {
+				report.writeJson(w);
+			} else {
+				report.writeCheckstyle(w);
+			}
+		}
+	}
+}
@@ -0,0 +1,301 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.lint;
+
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.psi.PsiErrorElement;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.TokenType;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFCommandIdSet;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.*;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorCluster;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses and type checks SQF files without an editor, for use in {@link SQFLintStarter}. Files are processed on a
+ * {@link ForkJoinPool} in 2 passes:
+ * <ol>
+ * <li>Every file is read, parsed, and its command ids are collected ({@link SQFSyntaxHelper#getCommandIds(SQFFile)})</li>
+ * <li>The {@link CommandDescriptorCluster} for all commands in all files is loaded once. Then every file is checked
+ * with {@link SQFSyntaxChecker}, with all threads reading the same cluster.</li>
+ * </ol>
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFLinter {
+	/**
+	 * Files per fork/join task. Below this, a task checks its files instead of splitting.
+	 */
+	private static final int FILES_PER_TASK = 8;
+
+	private static final String SOURCE_PARSER = "sqf.syntax";
+	private static final String SOURCE_TYPE_CHECKER = "sqf.type";
+	private static final String SOURCE_LINTER = "sqf.lint";
+
+	@NotNull
+	private final Project project;
+	private final int parallelism;
+
+	/**
+	 * @param project     project used to create the PSI files. In headless mode, this can be the default project.
+	 * @param parallelism number of threads to check files with
+	 */
+	public SQFLinter(@NotNull Project project, int parallelism) {
+		this.project = project;
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * @return every .sqf file inside the directory and its sub directories, sorted by path
+	 */
+	@NotNull
+	public static List<File> findSQFFiles(@NotNull File directory) {
+		List<File> files = new ArrayList<>();
+		findSQFFiles(directory, files);
+		files.sort(Comparator.comparing(File::getPath));
+		return files;
+	}
+
+	private static void findSQFFiles(@NotNull File directory, @NotNull List<File> files) {
+		File[] children = directory.listFiles();
+		if (children == null) {
+			return;
+		}
+		for (File child : children) {
+			if (child.isDirectory()) {
+				findSQFFiles(child, files);
+			} else if (child.getName().toLowerCase().endsWith(".sqf")) {
+				files.add(child);
+			}
+		}
+	}
+
+	/**
+	 * Lints all the given files. Blocks until all files are done.
+	 *
+	 * @return results in the same order as the given files
+	 */
+	@NotNull
+	public SQFLintReport lint(@NotNull List<File> files) {
+		long start = System.nanoTime();
+		FileJob[] jobs = new FileJob[files.size()];
+		for (int i = 0; i < jobs.length; i++) {
+			jobs[i] = new FileJob(files.get(i));
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			pool.invoke(new JobsTask(jobs, 0, jobs.length, this::parse));
+
+			SQFCommandIdSet allCommands = new SQFCommandIdSet();
+			for (FileJob job : jobs) {
+				if (job.commandIds != null) {
+					allCommands.addAll(job.commandIds);
+				}
+			}
+			//loaded once and then only read by every thread
+			CommandDescriptorCluster cluster = SQFSyntaxHelper.getInstance().getCommandDescriptors(allCommands);
+
+			pool.invoke(new JobsTask(jobs, 0, jobs.length, job -> check(job, cluster)));
+		} finally {
+			pool.shutdown();
+		}
+
+		List<SQFLintFileResult> results = new ArrayList<>(jobs.length);
+		for (FileJob job : jobs) {
+			job.problems.sort(Comparator.comparingInt(SQFLintFileResult.Problem::getLine)
+					.thenComparingInt(SQFLintFileResult.Problem::getColumn)
+			);
+			results.add(new SQFLintFileResult(job.file.getPath(), job.problems));
+		}
+		return new SQFLintReport(results, System.nanoTime() - start);
+	}
+
+	private void parse(@NotNull FileJob job) {
+		String text;
+		try {
+			text = new String(Files.readAllBytes(job.file.toPath()), StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			job.problems.add(new SQFLintFileResult.Problem(1, 1, SQFLintFileResult.Severity.ERROR,
+					"Couldn't read file: " + e.getMessage(), SOURCE_LINTER
+			));
+			return;
+		}
+		//PSI requires \n line separators
+		job.text = StringUtil.convertLineSeparators(text);
+		job.lineStarts = computeLineStarts(job.text);
+		ApplicationManager.getApplication().runReadAction(() -> {
+			job.psiFile = (SQFFile) PsiFileFactory.getInstance(project).createFileFromText(
+					job.file.getName(), SQFFileType.INSTANCE, job.text
+			);
+			job.commandIds = SQFSyntaxHelper.getInstance().getCommandIds(job.psiFile);
+			addParserErrors(job);
+		});
+	}
+
+	private void check(@NotNull FileJob job, @NotNull CommandDescriptorCluster cluster) {
+		if (job.psiFile == null) {
+			return;
+		}
+		try {
+			SQFSyntaxCheckResult result = new SQFSyntaxCheckResult();
+			Boolean checked = ApplicationManager.getApplication().runReadAction((Computable<Boolean>) () -> {
+				try {
+					List<SQFStatement> statements = job.psiFile.getFileScope().getChildStatements();
+					new SQFSyntaxChecker(statements, cluster, result).begin();
+					return true;
+				} catch (Exception e) {
+					e.printStackTrace();
+					job.problems.add(new SQFLintFileResult.Problem(1, 1, SQFLintFileResult.Severity.ERROR,
+							"Couldn't type check file: " + e, SOURCE_LINTER
+					));
+					return false;
+				}
+			});
+			if (!checked) {
+				return;
+			}
+			for (SQFSyntaxCheckResult.Problem problem : result.getProblems()) {
+				job.problems.add(createProblem(job, problem.getStartOffset(), getSeverity(problem.getHighlightType()),
+						problem.getMessage(), SOURCE_TYPE_CHECKER
+				));
+			}
+		} finally {
+			//the PSI isn't needed anymore, even if the file couldn't be checked
+			job.psiFile = null;
+			job.text = null;
+		}
+	}
+
+	private static void addParserErrors(@NotNull FileJob job) {
+		//iterative so that deep trees don't overflow the stack
+		ASTNode root = job.psiFile.getNode();
+		ASTNode current = root;
+		while (current != null) {
+			if (current.getElementType() == TokenType.ERROR_ELEMENT) {
+				PsiErrorElement error = (PsiErrorElement) current.getPsi();
+				job.problems.add(createProblem(job, current.getStartOffset(), SQFLintFileResult.Severity.ERROR,
+						error.getErrorDescription(), SOURCE_PARSER
+				));
+			}
+			ASTNode child = current.getFirstChildNode();
+			if (child != null) {
+				current = child;
+				continue;
+			}
+			while (current != root && current.getTreeNext() == null) {
+				current = current.getTreeParent();
+			}
+			current = current == root ? null : current.getTreeNext();
+		}
+	}
+
+	@NotNull
+	private static SQFLintFileResult.Severity getSeverity(@NotNull ProblemHighlightType highlightType) {
+		//the type checking inspection is registered with level ERROR, so that is what GENERIC_ERROR_OR_WARNING becomes
+		if (highlightType == ProblemHighlightType.WEAK_WARNING) {
+			return SQFLintFileResult.Severity.WARNING;
+		}
+		return SQFLintFileResult.Severity.ERROR;
+	}
+
+	@NotNull
+	private static SQFLintFileResult.Problem createProblem(@NotNull FileJob job, int offset,
+														   @NotNull SQFLintFileResult.Severity severity,
+														   @NotNull String message, @NotNull String source) {
+		int line = Arrays.binarySearch(job.lineStarts, offset);
+		if (line < 0) {
+			line = -line - 2; //insertion point - 1
+		}
+		int column = offset - job.lineStarts[line];
+		return new SQFLintFileResult.Problem(line + 1, column + 1, severity, message, source);
+	}
+
+	@NotNull
+	private static int[] computeLineStarts(@NotNull String text) {
+		int count = 1;
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '\n') {
+				count++;
+			}
+		}
+		int[] lineStarts = new int[count];
+		int line = 1;
+		for (int i = 0; i < text.length(); i++) {
+			if (text.charAt(i) == '\n') {
+				lineStarts[line++] = i + 1;
+			}
+		}
+		return lineStarts;
+	}
+
+	/**
+	 * State of one file while it is linted. Each job is only touched by one thread at a time.
+	 */
+	private static class FileJob {
+		@NotNull
+		private final File file;
+		private final List<SQFLintFileResult.Problem> problems = new ArrayList<>(0);
+		@Nullable
+		private String text;
+		private int[] lineStarts;
+		@Nullable
+		private SQFFile psiFile;
+		@Nullable
+		private SQFCommandIdSet commandIds;
+
+		FileJob(@NotNull File file) {
+			this.file = file;
+		}
+	}
+
+	private interface JobAction {
+		void run(@NotNull FileJob job);
+	}
+
+	/**
+	 * Splits the jobs in half until there are at most {@link #FILES_PER_TASK} jobs left and then runs them
+	 */
+	private static class JobsTask extends RecursiveAction {
+		private final FileJob[] jobs;
+		private final int start;
+		private final int end;
+		private final JobAction action;
+
+		JobsTask(@NotNull FileJob[] jobs, int start, int end, @NotNull JobAction action) {
+			this.jobs = jobs;
+			this.start = start;
+			this.end = end;
+			this.action = action;
+		}
+
+		@Override
+		protected void compute() {
+			if (end - start <= FILES_PER_TASK) {
+				for (int i = start; i < end; i++) {
+					action.run(jobs[i]);
+				}
+				return;
+			}
+			int mid = (start + end) >>> 1;
+			invokeAll(new JobsTask(jobs, start, mid, action), new JobsTask(jobs, mid, end, action));
+		}
+	}
+}
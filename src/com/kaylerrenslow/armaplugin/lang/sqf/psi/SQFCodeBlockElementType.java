@@ -0,0 +1,76 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.lang.Language;
+import com.intellij.lexer.Lexer;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.impl.source.tree.CompositeElement;
+import com.intellij.psi.impl.source.tree.ICompositeElementType;
+import com.intellij.psi.impl.source.tree.LazyParseableElement;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.tree.IErrorCounterReparseableElementType;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFLanguage;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Element type for {@link SQFTypes#CODE_BLOCK}. When text inside a code block is edited, only the code block is reparsed
+ * instead of the whole file, so long as the edited code block's braces are still balanced.
+ * <p>
+ * The contents of a code block don't depend on where the code block is, so reparsing one by itself gives the same tree
+ * as reparsing the whole file.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFCodeBlockElementType extends IErrorCounterReparseableElementType implements ICompositeElementType {
+	public SQFCodeBlockElementType(@NotNull String debugName) {
+		super(debugName, SQFLanguage.INSTANCE);
+	}
+
+	/**
+	 * Used by SQF.bnf as the elementTypeFactory for code_block
+	 */
+	@NotNull
+	public static IElementType createCodeBlockType(@NotNull String debugName) {
+		return new SQFCodeBlockElementType(debugName);
+	}
+
+	/**
+	 * @return {@link #NO_ERRORS} if seq is a single code block (starts with '{' and the matching '}' is the last token), or
+	 * {@link #FATAL_ERROR} if it isn't and the parent needs to be reparsed instead
+	 */
+	@Override
+	public int getErrorsCount(CharSequence seq, Language fileLanguage, Project project) {
+		Lexer lexer = new SQFLexerAdapter();
+		lexer.start(seq);
+		if (lexer.getTokenType() != SQFTypes.L_CURLY_BRACE) {
+			return FATAL_ERROR;
+		}
+		int balance = 0;
+		IElementType type;
+		while ((type = lexer.getTokenType()) != null) {
+			if (type == SQFTypes.L_CURLY_BRACE) {
+				balance++;
+			} else if (type == SQFTypes.R_CURLY_BRACE) {
+				balance--;
+				if (balance == 0) {
+					lexer.advance();
+					return lexer.getTokenType() == null ? NO_ERRORS : FATAL_ERROR;
+				}
+			}
+			lexer.advance();
+		}
+		return FATAL_ERROR;
+	}
+
+	@Override
+	public ASTNode createNode(CharSequence text) {
+		return new LazyParseableElement(this, text);
+	}
+
+	@NotNull
+	@Override
+	public ASTNode createCompositeNode() {
+		return new CompositeElement(this);
+	}
+}
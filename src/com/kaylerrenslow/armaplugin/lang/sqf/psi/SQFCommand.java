@@ -7,21 +7,31 @@ import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiNameIdentifierOwner;
 import com.intellij.psi.PsiReference;
 import com.intellij.util.IncorrectOperationException;
-import com.kaylerrenslow.armaplugin.lang.PsiUtil;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFCommandDictionary;
 import com.kaylerrenslow.armaplugin.lang.sqf.SQFVariableName;
 import com.kaylerrenslow.armaplugin.lang.sqf.presentation.SQFCommandItemPresentation;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.reference.SQFCommandReference;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * @author Kayler
  * @since 05/23/2017
  */
 public class SQFCommand extends ASTWrapperPsiElement implements PsiNameIdentifierOwner {
+	/**
+	 * Command id for the leaf it was computed from. Leaves are replaced (not modified) when their text changes,
+	 * so the id is valid for as long as the leaf is the same instance.
+	 */
+	@Nullable
+	private volatile CommandId commandId;
+	/**
+	 * Reference to usages of this command in the file. Usages are resolved lazily and cached by the reference's
+	 * {@link com.intellij.psi.impl.source.resolve.ResolveCache}, so the same reference is reused.
+	 */
+	@Nullable
+	private volatile SQFCommandReference reference;
+
 	public SQFCommand(@NotNull ASTNode node) {
 		super(node);
 	}
@@ -31,6 +41,23 @@ public class SQFCommand extends ASTWrapperPsiElement implements PsiNameIdentifie
 		return getText();
 	}
 
+	/**
+	 * @return the command's id from {@link SQFCommandDictionary}, or -1 if the command isn't in the dictionary
+	 */
+	public int getCommandId() {
+		ASTNode leaf = getNode().getFirstChildNode();
+		if (leaf == null) {
+			leaf = getNode();
+		}
+		CommandId cached = commandId;
+		if (cached != null && cached.leaf == leaf) {
+			return cached.id;
+		}
+		int id = SQFCommandDictionary.getInstance().getId(leaf.getChars());
+		commandId = new CommandId(leaf, id);
+		return id;
+	}
+
 	@Override
 	public ItemPresentation getPresentation() {
 		return new SQFCommandItemPresentation(this);
@@ -49,25 +76,12 @@ public class SQFCommand extends ASTWrapperPsiElement implements PsiNameIdentifie
 	@NotNull
 	@Override
 	public PsiReference[] getReferences() {
-		SQFFile sqfFile = (SQFFile) getContainingFile();
-		if (sqfFile == null) {
-			return PsiReference.EMPTY_ARRAY;
-		}
-		List<SQFCommand> cmds = new ArrayList<>();
-		PsiUtil.traverseBreadthFirstSearch(sqfFile.getNode(), astNode -> {
-			PsiElement nodeAsElement = astNode.getPsi();
-			if (nodeAsElement instanceof SQFCommand) {
-				SQFCommand command = (SQFCommand) nodeAsElement;
-				if (command.commandNameEquals(getCommandName())) {
-					cmds.add(command);
-				}
-			}
-			return false;
-		});
-		if (cmds.isEmpty()) {
-			return PsiReference.EMPTY_ARRAY;
+		SQFCommandReference ref = reference;
+		if (ref == null) {
+			ref = new SQFCommandReference(this, null);
+			reference = ref;
 		}
-		return new PsiReference[]{new SQFCommandReference(this, cmds)};
+		return new PsiReference[]{ref};
 	}
 
 	@Override
@@ -95,4 +109,15 @@ public class SQFCommand extends ASTWrapperPsiElement implements PsiNameIdentifie
 	public PsiElement getNameIdentifier() {
 		return this;
 	}
+
+	private static class CommandId {
+		@NotNull
+		private final ASTNode leaf;
+		private final int id;
+
+		CommandId(@NotNull ASTNode leaf, int id) {
+			this.leaf = leaf;
+			this.id = id;
+		}
+	}
 }
@@ -2,6 +2,7 @@ package com.kaylerrenslow.armaplugin.lang.sqf.psi;
 
 import com.intellij.extapi.psi.ASTWrapperPsiElement;
 import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
 import com.intellij.psi.util.PsiTreeUtil;
 import com.kaylerrenslow.armaplugin.lang.sqf.SQFVariableName;
 import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorCluster;
@@ -166,9 +167,14 @@ public class SQFCommandExpression extends ASTWrapperPsiElement implements SQFExp
 	 */
 	@Nullable
 	public SQFCommandArgument getPrefixArgument() {
-		SQFCommandArgument[] args = PsiTreeUtil.getChildrenOfType(this, SQFCommandArgument.class);
-		if (args != null && args.length > 0 && args[0].getTextOffset() < getExprOperator().getTextOffset()) {
-			return args[0];
+		//children are checked in order rather than by text offset since getting a text offset walks up the whole tree
+		for (PsiElement child = getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (child instanceof SQFExpressionOperator) {
+				return null;
+			}
+			if (child instanceof SQFCommandArgument) {
+				return (SQFCommandArgument) child;
+			}
 		}
 		return null;
 	}
@@ -179,14 +185,12 @@ public class SQFCommandExpression extends ASTWrapperPsiElement implements SQFExp
 	 */
 	@Nullable
 	public SQFCommandArgument getPostfixArgument() {
-		SQFCommandArgument[] args = PsiTreeUtil.getChildrenOfType(this, SQFCommandArgument.class);
-		if (args != null && args.length > 0) {
-			int commandTextOffset = getExprOperator().getTextOffset();
-			if (args[0].getTextOffset() > commandTextOffset) {
-				return args[0];
-			}
-			if (args.length > 1) {
-				return args[1];
+		boolean afterOperator = false;
+		for (PsiElement child = getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (child instanceof SQFExpressionOperator) {
+				afterOperator = true;
+			} else if (afterOperator && child instanceof SQFCommandArgument) {
+				return (SQFCommandArgument) child;
 			}
 		}
 		return null;
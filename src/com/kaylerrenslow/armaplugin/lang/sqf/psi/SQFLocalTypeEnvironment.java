@@ -0,0 +1,677 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.source.tree.CompositeElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorCluster;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType.BaseType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * The types of local variables inside one {@link SQFScope}, computed with a single forward pass over the scope's
+ * statements and cached until the scope is modified. {@link SQFSyntaxChecker}, completion and documentation all use
+ * this result rather than figuring out variable types on their own.
+ * <p>
+ * Only statements that are direct children of the scope are tracked, and only variables used directly in those
+ * statements (not inside nested code blocks) have a known type. The pass is conservative so that a known type is
+ * always the variable's actual type:
+ * <ul>
+ * <li>A type is known after <code>_var = expr</code> (or <code>private _var = expr</code>) when expr has a type.
+ * Array types are never kept because arrays can be modified by reference.</li>
+ * <li>Any other statement that mentions the variable (including inside nested code and inside strings, like
+ * <code>params ["_var"]</code>) makes the type unknown.</li>
+ * <li>A statement that uses a macro, or runs code that isn't a code block written in the statement (like
+ * <code>call _fnc</code> or <code>_list apply _fnc</code>), makes every type unknown since that code can assign any
+ * local variable.</li>
+ * </ul>
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFLocalTypeEnvironment {
+	private static final Key<AssignedType> ASSIGNED_TYPE_KEY = Key.create("SQFLocalTypeEnvironment.AssignedType");
+
+	/**
+	 * Gets the environment for the given scope. The environment is computed on first use and then reused until the
+	 * scope (or anything inside it) is modified.
+	 */
+	@NotNull
+	public static SQFLocalTypeEnvironment get(@NotNull SQFScope scope) {
+		return CachedValuesManager.getCachedValue(scope, () -> {
+			SQFLocalTypeEnvironment env = new SQFLocalTypeEnvironment(scope);
+			return CachedValueProvider.Result.create(env, (ModificationTracker) () -> getModificationStamp(scope.getNode()));
+		});
+	}
+
+	/**
+	 * @return the type of the given local variable where it is used, or null if the type isn't known.
+	 * If variable is the variable being assigned in an assignment statement, the assigned type is returned.
+	 */
+	@Nullable
+	public static ValueType getType(@NotNull SQFVariable variable) {
+		if (!variable.isLocal()) {
+			return null;
+		}
+		Location location = locate(variable);
+		if (location == null) {
+			return null;
+		}
+		SQFLocalTypeEnvironment env = get(location.scope);
+		if (location.statement instanceof SQFAssignmentStatement) {
+			SQFAssignmentStatement assignment = (SQFAssignmentStatement) location.statement;
+			if (assignment.getVar() == variable) {
+				return env.getTypeAfter(location.statement, variable.getVarName());
+			}
+		}
+		return env.getTypeBefore(location.statement, variable.getVarName());
+	}
+
+	/**
+	 * @return lowercase variable name -> type, for every local variable with a known type at the given element
+	 */
+	@NotNull
+	public static Map<String, ValueType> getTypesAt(@NotNull PsiElement element) {
+		Location location = locate(element);
+		if (location == null) {
+			return Collections.emptyMap();
+		}
+		return get(location.scope).getTypesBefore(location.statement);
+	}
+
+	/**
+	 * Gets the type of a local variable for {@link SQFSyntaxChecker}.
+	 *
+	 * @param building if not null, the environment currently being computed. Variables in that environment's
+	 *                 scope are resolved with the types known so far.
+	 * @return the type, or null if it isn't known
+	 */
+	@Nullable
+	static ValueType getLocalVariableType(@NotNull SQFVariable variable, @Nullable Builder building) {
+		if (!variable.isLocal()) {
+			return null;
+		}
+		Location location = locate(variable);
+		if (location == null) {
+			return null;
+		}
+		if (building != null && building.scope == location.scope) {
+			return building.current.get(variable.getVarName().toLowerCase());
+		}
+		return get(location.scope).getTypeBefore(location.statement, variable.getVarName());
+	}
+
+	/**
+	 * @return the types of local variables that the statement uses (outside of nested code blocks), or null if
+	 * that can't be determined because the statement's scope is being computed by building
+	 */
+	@Nullable
+	static Bindings getBindings(@NotNull SQFStatement statement, @Nullable Builder building) {
+		PsiElement parent = statement.getParent();
+		if (!(parent instanceof SQFScope)) {
+			return Bindings.NONE;
+		}
+		if (building != null && building.scope == parent) {
+			return null;
+		}
+		return get((SQFScope) parent).getBindings(statement);
+	}
+
+	@NotNull
+	private final Map<PsiElement, Integer> statementIndices;
+	@NotNull
+	private final Map<String, History> histories;
+	/**
+	 * Indices of statements that make every type unknown. Sorted ascending.
+	 */
+	@NotNull
+	private final int[] clearAllIndices;
+	@NotNull
+	private final Bindings[] bindings;
+
+	private SQFLocalTypeEnvironment(@NotNull SQFScope scope) {
+		List<SQFStatement> statements = scope.getChildStatements();
+		statementIndices = new IdentityHashMap<>(statements.size());
+		histories = new HashMap<>();
+		bindings = new Bindings[statements.size()];
+
+		Builder builder = new Builder(scope);
+		int[] clearAll = new int[0];
+		int clearAllCount = 0;
+
+		int index = 0;
+		for (SQFStatement statement : statements) {
+			statementIndices.put(statement, index);
+			Mentions mentions = new Mentions(statement.getNode());
+			bindings[index] = builder.bindingsFor(mentions.topLevel);
+
+			String target = null;
+			ValueType assignedType = null;
+			if (statement instanceof SQFAssignmentStatement) {
+				SQFAssignmentStatement assignment = (SQFAssignmentStatement) statement;
+				SQFVariable var = assignment.getVar();
+				if (var.isLocal()) {
+					target = var.getVarName().toLowerCase();
+					assignedType = builder.getAssignedType(assignment, bindings[index]);
+				}
+			}
+
+			//the statement is evaluated before the variable is assigned, so clear first
+			if (mentions.clearAll) {
+				if (clearAllCount == clearAll.length) {
+					clearAll = Arrays.copyOf(clearAll, Math.max(4, clearAllCount * 2));
+				}
+				clearAll[clearAllCount++] = index;
+				builder.current.clear();
+			} else if (!builder.current.isEmpty()) {
+				Iterator<String> known = builder.current.keySet().iterator();
+				while (known.hasNext()) {
+					String name = known.next();
+					if (name.equals(target) || !mentions.mentions(name)) {
+						continue;
+					}
+					known.remove();
+					record(name, index, null);
+				}
+			}
+
+			if (target != null) {
+				if (assignedType != null) {
+					builder.current.put(target, assignedType);
+					record(target, index, assignedType);
+				} else if (builder.current.remove(target) != null || mentions.clearAll) {
+					record(target, index, null);
+				}
+			}
+			index++;
+		}
+		clearAllIndices = Arrays.copyOf(clearAll, clearAllCount);
+	}
+
+	/**
+	 * @param statement a statement that is a direct child of this environment's scope
+	 * @param varName   name of the local variable (case doesn't matter)
+	 * @return the type of the variable right before the statement is executed, or null if it isn't known
+	 */
+	@Nullable
+	public ValueType getTypeBefore(@NotNull SQFStatement statement, @NotNull String varName) {
+		Integer index = statementIndices.get(statement);
+		if (index == null) {
+			return null;
+		}
+		return getTypeBefore(index, varName.toLowerCase());
+	}
+
+	/**
+	 * @param statement a statement that is a direct child of this environment's scope
+	 * @param varName   name of the local variable (case doesn't matter)
+	 * @return the type of the variable right after the statement is executed, or null if it isn't known
+	 */
+	@Nullable
+	public ValueType getTypeAfter(@NotNull SQFStatement statement, @NotNull String varName) {
+		Integer index = statementIndices.get(statement);
+		if (index == null) {
+			return null;
+		}
+		return getTypeBefore(index + 1, varName.toLowerCase());
+	}
+
+	/**
+	 * @param statement a statement that is a direct child of this environment's scope
+	 * @return lowercase variable name -> type, for every local variable with a known type right before the statement
+	 */
+	@NotNull
+	public Map<String, ValueType> getTypesBefore(@NotNull SQFStatement statement) {
+		Integer index = statementIndices.get(statement);
+		if (index == null) {
+			return Collections.emptyMap();
+		}
+		Map<String, ValueType> types = new HashMap<>();
+		for (String name : histories.keySet()) {
+			ValueType type = getTypeBefore(index, name);
+			if (type != null) {
+				types.put(name, type);
+			}
+		}
+		return types;
+	}
+
+	@NotNull
+	Bindings getBindings(@NotNull SQFStatement statement) {
+		Integer index = statementIndices.get(statement);
+		if (index == null) {
+			return Bindings.NONE;
+		}
+		return bindings[index];
+	}
+
+	@Nullable
+	private ValueType getTypeBefore(int statementIndex, @NotNull String lowercaseName) {
+		History history = histories.get(lowercaseName);
+		if (history == null) {
+			return null;
+		}
+		int event = lastIndexBefore(history.indices, history.count, statementIndex);
+		if (event < 0) {
+			return null;
+		}
+		int clear = lastIndexBefore(clearAllIndices, clearAllIndices.length, statementIndex);
+		//a variable assigned in the same statement that clears is assigned after the clear
+		if (clear >= 0 && clearAllIndices[clear] > history.indices[event]) {
+			return null;
+		}
+		return history.types[event];
+	}
+
+	private void record(@NotNull String lowercaseName, int statementIndex, @Nullable ValueType type) {
+		History history = histories.get(lowercaseName);
+		if (history == null) {
+			history = new History();
+			histories.put(lowercaseName, history);
+		}
+		history.add(statementIndex, type);
+	}
+
+	/**
+	 * @return the position in sorted of the last value less than index, or -1 if there is none
+	 */
+	private static int lastIndexBefore(@NotNull int[] sorted, int count, int index) {
+		int low = 0;
+		int high = count - 1;
+		int found = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (sorted[mid] < index) {
+				found = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * @return a stamp that changes whenever the node's subtree changes
+	 */
+	private static long getModificationStamp(@NotNull ASTNode node) {
+		if (!(node instanceof CompositeElement)) {
+			return node.getTextLength();
+		}
+		return ((long) ((CompositeElement) node).getModificationCount() << 32) | node.getTextLength();
+	}
+
+	@Nullable
+	private static Location locate(@NotNull PsiElement element) {
+		PsiElement child = element;
+		PsiElement parent = element.getParent();
+		while (parent != null && !(parent instanceof SQFScope)) {
+			if (parent instanceof PsiFile) {
+				return null;
+			}
+			child = parent;
+			parent = parent.getParent();
+		}
+		if (parent == null || !(child instanceof SQFStatement)) {
+			return null;
+		}
+		return new Location((SQFScope) parent, (SQFStatement) child);
+	}
+
+	/**
+	 * @return true if the type can be kept as a variable's type
+	 */
+	private static boolean isKnownType(@Nullable ValueType type) {
+		if (type == null || type.isArray()) {
+			return false;
+		}
+		return !(type.isHardEqual(BaseType._VARIABLE) || type.isHardEqual(BaseType.ANYTHING)
+				|| type.isHardEqual(BaseType._ERROR) || type.isHardEqual(BaseType.NOTHING));
+	}
+
+	/**
+	 * State of the forward pass. Also used by {@link SQFSyntaxChecker} to resolve variables while the assigned
+	 * types are being computed.
+	 */
+	static class Builder {
+		@NotNull
+		private final SQFScope scope;
+		/**
+		 * lowercase variable name -> type known so far
+		 */
+		private final Map<String, ValueType> current = new HashMap<>();
+		private CommandDescriptorCluster cluster;
+
+		private Builder(@NotNull SQFScope scope) {
+			this.scope = scope;
+		}
+
+		@NotNull
+		private Bindings bindingsFor(@NotNull Set<String> topLevelNames) {
+			if (current.isEmpty() || topLevelNames.isEmpty()) {
+				return Bindings.NONE;
+			}
+			List<String> names = new ArrayList<>(topLevelNames.size());
+			for (String name : topLevelNames) {
+				if (current.containsKey(name)) {
+					names.add(name);
+				}
+			}
+			if (names.isEmpty()) {
+				return Bindings.NONE;
+			}
+			Collections.sort(names);
+			ValueType[] types = new ValueType[names.size()];
+			for (int i = 0; i < types.length; i++) {
+				types[i] = current.get(names.get(i));
+			}
+			return new Bindings(names.toArray(new String[names.size()]), types);
+		}
+
+		/**
+		 * @return the canonical type assigned by the statement, or null if it isn't known. The result is memoized on
+		 * the statement for as long as the statement and the types it uses don't change.
+		 */
+		@Nullable
+		private ValueType getAssignedType(@NotNull SQFAssignmentStatement assignment, @NotNull Bindings bindings) {
+			SQFExpression expr = assignment.getExpr();
+			if (expr == null) {
+				return null;
+			}
+			long stamp = getModificationStamp(assignment.getNode());
+			AssignedType memo = assignment.getUserData(ASSIGNED_TYPE_KEY);
+			if (memo != null && memo.stamp == stamp && memo.bindings.equals(bindings)) {
+				return memo.type;
+			}
+			if (cluster == null) {
+				cluster = SQFSyntaxHelper.getInstance().getCommandDescriptors(scope.getNode());
+			}
+			SQFSyntaxChecker checker = new SQFSyntaxChecker(Collections.emptyList(), cluster, (element, message, highlightType) -> {
+				//only the type is needed. problems are reported when the statement is checked
+			}, this);
+			ValueType type = (ValueType) expr.accept(checker, cluster);
+			type = isKnownType(type) ? ValueType.intern(type) : null;
+			assignment.putUserData(ASSIGNED_TYPE_KEY, new AssignedType(stamp, bindings, type));
+			return type;
+		}
+	}
+
+	/**
+	 * Types of the local variables that a statement uses, at the start of the statement. Types are canonical, so they
+	 * are compared by identity.
+	 */
+	static class Bindings {
+		static final Bindings NONE = new Bindings(new String[0], new ValueType[0]);
+
+		@NotNull
+		private final String[] names;
+		@NotNull
+		private final ValueType[] types;
+
+		private Bindings(@NotNull String[] names, @NotNull ValueType[] types) {
+			this.names = names;
+			this.types = types;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Bindings)) {
+				return false;
+			}
+			Bindings other = (Bindings) o;
+			if (!Arrays.equals(names, other.names)) {
+				return false;
+			}
+			for (int i = 0; i < types.length; i++) {
+				if (types[i] != other.types[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(names);
+		}
+	}
+
+	/**
+	 * Which operands of a command are code that is run in the current scope
+	 */
+	private enum CodeOperand {
+		LEFT, RIGHT, BOTH,
+		/**
+		 * left operand when binary. The unary form doesn't take code.
+		 */
+		LEFT_OR_UNARY
+	}
+
+	/**
+	 * lowercase command name -> operand that is run as code in the current scope. Commands that run code in a new
+	 * scope (like spawn) aren't included since that code can't assign the current scope's variables.
+	 */
+	private static final Map<String, CodeOperand> CODE_OPERANDS = new HashMap<>();
+
+	static {
+		CODE_OPERANDS.put("call", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("apply", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("select", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("findif", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("then", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("do", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("exitwith", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("isnil", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("waituntil", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("while", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("for", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("try", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("catch", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("default", CodeOperand.RIGHT);
+		CODE_OPERANDS.put("foreach", CodeOperand.LEFT);
+		CODE_OPERANDS.put("count", CodeOperand.LEFT_OR_UNARY);
+		CODE_OPERANDS.put("else", CodeOperand.BOTH);
+	}
+
+	/**
+	 * Local variables, strings, and commands that a statement's subtree contains
+	 */
+	private static class Mentions {
+		/**
+		 * lowercase names of every local variable in the statement
+		 */
+		private final Set<String> all = new HashSet<>();
+		/**
+		 * lowercase names of local variables in the statement that aren't inside a nested scope
+		 */
+		private final Set<String> topLevel = new HashSet<>();
+		/**
+		 * lowercase text of every string in the statement
+		 */
+		private final List<String> strings = new ArrayList<>(0);
+		private boolean clearAll = false;
+
+		Mentions(@NotNull ASTNode statement) {
+			//iterative so that long statements don't overflow the stack
+			ArrayDeque<ASTNode> nodes = new ArrayDeque<>();
+			ArrayDeque<Boolean> nested = new ArrayDeque<>();
+			nodes.push(statement);
+			nested.push(false);
+			while (!nodes.isEmpty()) {
+				ASTNode node = nodes.pop();
+				boolean isNested = nested.pop();
+				PsiElement psi = node.getPsi();
+				if (psi instanceof SQFVariable) {
+					SQFVariable var = (SQFVariable) psi;
+					if (var.isLocal()) {
+						String name = var.getVarName().toLowerCase();
+						all.add(name);
+						if (!isNested) {
+							topLevel.add(name);
+						}
+					}
+					continue;
+				}
+				if (psi instanceof SQFString) {
+					strings.add(node.getText().toLowerCase());
+					continue;
+				}
+				if (psi instanceof SQFMacroCall) {
+					clearAll = true;
+				} else if (psi instanceof SQFCommandExpression && runsUnknownCode((SQFCommandExpression) psi)) {
+					clearAll = true;
+				}
+				boolean childNested = isNested || psi instanceof SQFScope;
+				for (ASTNode child = node.getFirstChildNode(); child != null; child = child.getTreeNext()) {
+					nodes.push(child);
+					nested.push(childNested);
+				}
+			}
+		}
+
+		/**
+		 * @return true if the command runs code in the current scope and that code isn't a code block written in
+		 * the statement (i.e. <code>_list apply _fnc</code>). Code blocks written in the statement are scanned like
+		 * the rest of the statement, so the variables they assign are already mentioned.
+		 */
+		private static boolean runsUnknownCode(@NotNull SQFCommandExpression expr) {
+			CodeOperand operand = CODE_OPERANDS.get(expr.getExprOperator().getText().toLowerCase());
+			if (operand == null) {
+				return false;
+			}
+			if (operand != CodeOperand.RIGHT && !isLeftOperandKnownCode(expr, operand)) {
+				return true;
+			}
+			if (operand == CodeOperand.RIGHT || operand == CodeOperand.BOTH) {
+				SQFCommandArgument post = expr.getPostfixArgument();
+				if (post != null) {
+					SQFExpression postExpr = post.getExpr().withoutParenthesis();
+					if (postExpr instanceof SQFCommandExpression) {
+						//the rest of a command chain. the operand is the first argument of the chain
+						SQFCommandArgument first = ((SQFCommandExpression) postExpr).getPrefixArgument();
+						return first == null || !isKnownCode(first.getExpr());
+					}
+					return !isKnownCode(postExpr);
+				}
+			}
+			return false;
+		}
+
+		private static boolean isLeftOperandKnownCode(@NotNull SQFCommandExpression expr, @NotNull CodeOperand operand) {
+			SQFCommandArgument pre = expr.getPrefixArgument();
+			if (pre == null) {
+				//count has a unary form that takes an array
+				return operand == CodeOperand.LEFT_OR_UNARY;
+			}
+			SQFExpression preExpr = pre.getExpr().withoutParenthesis();
+			PsiElement parent = expr.getParent();
+			if (parent instanceof SQFCommandArgument && parent.getParent() instanceof SQFCommandExpression) {
+				//the command is in the middle of a chain, so the actual left operand may be the result of commands
+				//before it. Only a code block can be trusted.
+				return preExpr instanceof SQFCodeBlockExpression;
+			}
+			return isKnownCode(preExpr);
+		}
+
+		/**
+		 * @return true if expr is a code block, or a literal that has no code besides code blocks
+		 * (strings, numbers, and arrays of those). Variables are never known since they may hold code.
+		 */
+		private static boolean isKnownCode(@NotNull SQFExpression expr) {
+			expr = expr.withoutParenthesis();
+			if (expr instanceof SQFCodeBlockExpression) {
+				return true;
+			}
+			if (!(expr instanceof SQFLiteralExpression)) {
+				return false;
+			}
+			SQFLiteralExpression literal = (SQFLiteralExpression) expr;
+			if (literal.getStr() != null || literal.getNum() != null) {
+				return true;
+			}
+			SQFArray array = literal.getArr();
+			if (array == null) {
+				return false;
+			}
+			for (SQFExpression element : array.getExpressions()) {
+				if (!isKnownCode(element)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		boolean mentions(@NotNull String lowercaseName) {
+			if (all.contains(lowercaseName)) {
+				return true;
+			}
+			for (String s : strings) {
+				if (s.contains(lowercaseName)) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Changes of one variable's type. indices are statement indices in ascending order, and types[i] is the type after
+	 * statement indices[i] (null when it became unknown).
+	 */
+	private static class History {
+		private int[] indices = new int[2];
+		private ValueType[] types = new ValueType[2];
+		private int count = 0;
+
+		void add(int statementIndex, @Nullable ValueType type) {
+			if (count > 0 && indices[count - 1] == statementIndex) {
+				types[count - 1] = type;
+				return;
+			}
+			if (count == indices.length) {
+				indices = Arrays.copyOf(indices, count * 2);
+				types = Arrays.copyOf(types, count * 2);
+			}
+			indices[count] = statementIndex;
+			types[count] = type;
+			count++;
+		}
+	}
+
+	private static class AssignedType {
+		private final long stamp;
+		@NotNull
+		private final Bindings bindings;
+		@Nullable
+		private final ValueType type;
+
+		AssignedType(long stamp, @NotNull Bindings bindings, @Nullable ValueType type) {
+			this.stamp = stamp;
+			this.bindings = bindings;
+			this.type = type;
+		}
+	}
+
+	private static class Location {
+		@NotNull
+		private final SQFScope scope;
+		@NotNull
+		private final SQFStatement statement;
+
+		Location(@NotNull SQFScope scope, @NotNull SQFStatement statement) {
+			this.scope = scope;
+			this.statement = statement;
+		}
+	}
+}
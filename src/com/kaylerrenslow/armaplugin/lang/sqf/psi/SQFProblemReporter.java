@@ -0,0 +1,25 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Where {@link SQFSyntaxChecker} reports its problems. This exists so that the checker doesn't need a
+ * {@link ProblemsHolder} and its results can be stored (see {@link SQFSyntaxCheckResult}).
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public interface SQFProblemReporter {
+	void registerProblem(@NotNull PsiElement element, @NotNull String message, @NotNull ProblemHighlightType highlightType);
+
+	/**
+	 * @return a reporter that registers every problem directly into the given holder
+	 */
+	@NotNull
+	static SQFProblemReporter of(@NotNull ProblemsHolder holder) {
+		return holder::registerProblem;
+	}
+}
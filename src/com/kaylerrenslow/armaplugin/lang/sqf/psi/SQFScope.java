@@ -4,8 +4,6 @@ import com.intellij.extapi.psi.ASTWrapperPsiElement;
 import com.intellij.lang.ASTNode;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.kaylerrenslow.armaplugin.lang.PsiUtil;
-import com.kaylerrenslow.armaplugin.lang.sqf.SQFVariableName;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.reference.SQFVariableInStringReference;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.reference.SQFVariableReference;
 import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorCluster;
@@ -64,41 +62,32 @@ public abstract class SQFScope extends ASTWrapperPsiElement implements SQFSyntax
 		return visitor.visit(this, cluster);
 	}
 
+	/**
+	 * Gets references from the variable to the other variables and strings in the same file that it refers to.
+	 * <p>
+	 * A local variable refers to the usages of the same declaration ({@link SQFScopeTree}), and to the string that
+	 * declared it (i.e. <code>params ["_var"]</code>) if there is one. A global variable refers to all variables and
+	 * strings with its name ({@link SQFSymbolTable}). Neither traverses the file.
+	 */
 	@NotNull
 	public static List<SQFVariableReference> getVariableReferencesFor(@NotNull SQFVariable variable) {
 		List<SQFVariableReference> vars = new ArrayList<>();
-		PsiFile file = variable.getContainingFile();
-		if (file == null) {
-			throw new IllegalArgumentException("variable doesn't have a containing file");
-		}
-		SQFScope fileScope = getContainingScope(file);
-
-		List<SQFVariable> varTargets = new ArrayList<>();
-		List<SQFString> stringTargets = new ArrayList<>();
-
-		PsiUtil.traverseBreadthFirstSearch(fileScope.getNode(), astNode -> {
-			PsiElement nodeAsPsi = astNode.getPsi();
-			if (!(nodeAsPsi instanceof SQFVariable || nodeAsPsi instanceof SQFString)) {
-				return false;
+		SQFFile file = getContainingSQFFile(variable, "variable");
+
+		List<SQFVariable> varTargets;
+		List<SQFString> stringTargets;
+		if (variable.isLocal()) {
+			SQFScopeTree.Declaration declaration = SQFScopeTree.get(file).getDeclaration(variable);
+			if (declaration == null) {
+				return vars;
 			}
-			if (nodeAsPsi instanceof SQFVariable) {
-				SQFVariable sqfVariable = (SQFVariable) nodeAsPsi;
-				if (SQFVariableName.nameEquals(sqfVariable.getVarName(), variable.getVarName())) {
-					varTargets.add(sqfVariable);
-				} else {
-					return false;
-				}
-			} else {
-				SQFString string = (SQFString) nodeAsPsi;
-				if (SQFVariableName.nameEquals(string.getNonQuoteText(), variable.getVarName())) {
-					stringTargets.add(string);
-				} else {
-					return false;
-				}
-			}
-
-			return false;
-		});
+			varTargets = declaration.getVariables();
+			stringTargets = declaration.getStrings();
+		} else {
+			SQFSymbolTable table = SQFSymbolTable.get(file);
+			varTargets = table.getVariables(variable.getVarName());
+			stringTargets = table.getStrings(variable.getVarName());
+		}
 
 		if (!varTargets.isEmpty()) {
 			vars.add(new SQFVariableReference.IdentifierReference(variable, varTargets));
@@ -109,32 +98,24 @@ public abstract class SQFScope extends ASTWrapperPsiElement implements SQFSyntax
 		return vars;
 	}
 
+	/**
+	 * Gets references from the string to the variables it refers to. A string that declares a local variable
+	 * (i.e. <code>params ["_var"]</code>) refers to the usages of that declaration ({@link SQFScopeTree}). Any other
+	 * string refers to all variables in the same file that have the string's text (without quotes) as their name
+	 * ({@link SQFSymbolTable}). Neither traverses the file.
+	 */
 	@NotNull
 	public static List<SQFVariableInStringReference> getVariableReferencesFor(@NotNull SQFString string) {
 		List<SQFVariableInStringReference> vars = new ArrayList<>();
-		PsiFile file = string.getContainingFile();
-		if (file == null) {
-			throw new IllegalArgumentException("string doesn't have a containing file");
+		SQFFile file = getContainingSQFFile(string, "string");
+
+		List<SQFVariable> varTargets;
+		SQFScopeTree.Declaration declaration = SQFScopeTree.get(file).getDeclaration(string);
+		if (declaration != null) {
+			varTargets = declaration.getVariables();
+		} else {
+			varTargets = SQFSymbolTable.get(file).getVariables(string.getNonQuoteText());
 		}
-		String varName = string.getNonQuoteText();
-		SQFScope fileScope = getContainingScope(file);
-
-		List<SQFVariable> varTargets = new ArrayList<>();
-
-		PsiUtil.traverseBreadthFirstSearch(fileScope.getNode(), astNode -> {
-			PsiElement nodeAsPsi = astNode.getPsi();
-			if (!(nodeAsPsi instanceof SQFVariable)) {
-				return false;
-			}
-			SQFVariable sqfVariable = (SQFVariable) nodeAsPsi;
-			if (SQFVariableName.nameEquals(sqfVariable.getVarName(), varName)) {
-				varTargets.add(sqfVariable);
-			} else {
-				return false;
-			}
-
-			return false;
-		});
 
 		if (!varTargets.isEmpty()) {
 			vars.add(new SQFVariableInStringReference(string, varTargets));
@@ -142,6 +123,18 @@ public abstract class SQFScope extends ASTWrapperPsiElement implements SQFSyntax
 		return vars;
 	}
 
+	@NotNull
+	private static SQFFile getContainingSQFFile(@NotNull PsiElement element, @NotNull String elementName) {
+		PsiFile file = element.getContainingFile();
+		if (file == null) {
+			throw new IllegalArgumentException(elementName + " doesn't have a containing file");
+		}
+		if (!(file instanceof SQFFile)) {
+			throw new IllegalArgumentException(elementName + " isn't in an SQF file");
+		}
+		return (SQFFile) file;
+	}
+
 
 	/**
 	 * Gets the {@link SQFScope} for the given PsiElement. If the given element is an {@link SQFScope} instance,
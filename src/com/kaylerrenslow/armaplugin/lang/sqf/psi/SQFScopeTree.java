@@ -0,0 +1,352 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFVariableName;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Resolves every local variable in one {@link SQFFile} to the {@link Declaration} it belongs to. The tree has a node
+ * for each {@link SQFFileScope} and {@link SQFLocalScope}, and each node has a map of the local variables declared
+ * in it. A variable is resolved by checking the variable's scope and then each enclosing scope, so a lookup is
+ * O(scope depth).
+ * <p>
+ * A local variable is declared in a scope by:
+ * <ul>
+ * <li><code>private _var = expr</code>. The new variable isn't visible in expr.</li>
+ * <li><code>private "_var"</code>, <code>private ["_var"]</code> and <code>params ["_var", ["_var2", 0]]</code>.
+ * The string is the declaration.</li>
+ * <li><code>_var = expr</code> when _var isn't visible from the scope yet</li>
+ * </ul>
+ * Variables that aren't declared anywhere (like magic variables or variables from a calling scope) are grouped by
+ * name for the whole file.
+ * <p>
+ * The tree is built with a single pass over the file and cached until the file is modified.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFScopeTree {
+	/**
+	 * Gets the tree for the given file. The tree is computed on first use and then reused until the file is modified.
+	 */
+	@NotNull
+	public static SQFScopeTree get(@NotNull SQFFile file) {
+		return CachedValuesManager.getCachedValue(file, () -> {
+			return CachedValueProvider.Result.create(new SQFScopeTree(file), file);
+		});
+	}
+
+	/**
+	 * Local variables and declaring strings -> their declaration
+	 */
+	private final Map<PsiElement, Declaration> declarations = new IdentityHashMap<>();
+	/**
+	 * Lowercase name -> the declaration of every variable with that name that isn't declared anywhere
+	 */
+	private final Map<String, Declaration> undeclared = new HashMap<>();
+
+	private SQFScopeTree(@NotNull SQFFile file) {
+		new Builder().walk(file);
+	}
+
+	/**
+	 * @return the declaration of the given local variable, or null if var is a global variable or isn't in this
+	 * tree's file
+	 */
+	@Nullable
+	public Declaration getDeclaration(@NotNull SQFVariable var) {
+		return declarations.get(var);
+	}
+
+	/**
+	 * @return the declaration that the string creates (i.e. "_var" in <code>params ["_var"]</code>), or null if the
+	 * string doesn't declare a variable
+	 */
+	@Nullable
+	public Declaration getDeclaration(@NotNull SQFString string) {
+		return declarations.get(string);
+	}
+
+	/**
+	 * A local variable and all of its usages
+	 */
+	public static class Declaration {
+		@NotNull
+		private final String name;
+		@Nullable
+		private final SQFScope scope;
+		@Nullable
+		private final PsiElement declaringElement;
+		private final List<SQFVariable> variables = new ArrayList<>();
+		private final List<SQFString> strings = new ArrayList<>(1);
+
+		private Declaration(@NotNull String name, @Nullable SQFScope scope, @Nullable PsiElement declaringElement) {
+			this.name = name;
+			this.scope = scope;
+			this.declaringElement = declaringElement;
+		}
+
+		/**
+		 * @return the variable name in lowercase form
+		 */
+		@NotNull
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * @return the scope the variable was declared in, or null if the variable isn't declared anywhere
+		 */
+		@Nullable
+		public SQFScope getScope() {
+			return scope;
+		}
+
+		/**
+		 * @return the {@link SQFVariable} or {@link SQFString} that declared the variable, or null if the variable isn't
+		 * declared anywhere
+		 */
+		@Nullable
+		public PsiElement getDeclaringElement() {
+			return declaringElement;
+		}
+
+		/**
+		 * @return true if the variable was declared in the file, false if it wasn't
+		 */
+		public boolean isDeclared() {
+			return declaringElement != null;
+		}
+
+		/**
+		 * @return every usage of the variable (including where it is declared) in the order they were resolved
+		 */
+		@NotNull
+		public List<SQFVariable> getVariables() {
+			return Collections.unmodifiableList(variables);
+		}
+
+		/**
+		 * @return the strings that declared the variable (empty if it wasn't declared by a string)
+		 */
+		@NotNull
+		public List<SQFString> getStrings() {
+			return Collections.unmodifiableList(strings);
+		}
+
+		@Override
+		public String toString() {
+			return "Declaration{name=" + name + ", usages=" + variables.size() + "}";
+		}
+	}
+
+	private static class ScopeNode {
+		@Nullable
+		private final ScopeNode parent;
+		@NotNull
+		private final SQFScope scope;
+		/**
+		 * Lowercase name -> the latest declaration in this scope
+		 */
+		private final Map<String, Declaration> declarations = new HashMap<>();
+
+		ScopeNode(@Nullable ScopeNode parent, @NotNull SQFScope scope) {
+			this.parent = parent;
+			this.scope = scope;
+		}
+	}
+
+	private class Builder {
+		@Nullable
+		private ScopeNode current;
+		/**
+		 * Strings inside private and params that will declare a variable when they are reached
+		 */
+		private final Set<SQFString> declaringStrings = Collections.newSetFromMap(new IdentityHashMap<>());
+		/**
+		 * private assignments -> the declaration that becomes visible once the assignment's expression is done
+		 */
+		private final Map<SQFAssignmentStatement, Declaration> privateAssignments = new IdentityHashMap<>();
+
+		/**
+		 * Walks the tree in text order without recursion, since command expressions can be nested very deep
+		 */
+		void walk(@NotNull PsiElement root) {
+			PsiElement element = root;
+			boolean descend = enter(element);
+			while (true) {
+				PsiElement child = descend ? element.getFirstChild() : null;
+				if (child != null) {
+					element = child;
+					descend = enter(element);
+					continue;
+				}
+				while (true) {
+					exit(element);
+					if (element == root) {
+						return;
+					}
+					PsiElement next = element.getNextSibling();
+					if (next != null) {
+						element = next;
+						descend = enter(element);
+						break;
+					}
+					element = element.getParent();
+				}
+			}
+		}
+
+		/**
+		 * @return true if the element's children should be walked
+		 */
+		private boolean enter(@NotNull PsiElement element) {
+			if (element instanceof SQFScope) {
+				current = new ScopeNode(current, (SQFScope) element);
+				return true;
+			}
+			if (element instanceof SQFVariable) {
+				SQFVariable var = (SQFVariable) element;
+				if (var.isLocal()) {
+					resolve(var);
+				}
+				return false;
+			}
+			if (element instanceof SQFString) {
+				SQFString string = (SQFString) element;
+				if (current != null && declaringStrings.remove(string)) {
+					Declaration declaration = declare(new SQFVariableName(string.getNonQuoteText()).text(), string);
+					declaration.strings.add(string);
+					declarations.put(string, declaration);
+				}
+				return false;
+			}
+			if (element instanceof SQFCommandExpression) {
+				SQFCommandExpression expr = (SQFCommandExpression) element;
+				if (expr.commandNameEquals("private")) {
+					addDeclaringStrings(expr, false);
+				} else if (expr.commandNameEquals("params")) {
+					addDeclaringStrings(expr, true);
+				}
+			}
+			return true;
+		}
+
+		private void exit(@NotNull PsiElement element) {
+			if (element instanceof SQFScope && current != null) {
+				current = current.parent;
+				return;
+			}
+			if (element instanceof SQFAssignmentStatement && current != null) {
+				Declaration declaration = privateAssignments.remove(element);
+				if (declaration != null) {
+					current.declarations.put(declaration.name, declaration);
+				}
+			}
+		}
+
+		private void resolve(@NotNull SQFVariable var) {
+			String name = var.getVarNameObj().text();
+			PsiElement parent = var.getParent();
+			Declaration declaration = null;
+			if (parent instanceof SQFAssignmentStatement && current != null) {
+				SQFAssignmentStatement assignment = (SQFAssignmentStatement) parent;
+				if (assignment.isPrivate()) {
+					//not visible until the expression is done (private _var = _var is the outer _var)
+					declaration = new Declaration(name, current.scope, var);
+					privateAssignments.put(assignment, declaration);
+				}
+			}
+			if (declaration == null) {
+				declaration = lookup(name);
+			}
+			if (declaration == null && parent instanceof SQFAssignmentStatement && current != null) {
+				declaration = declare(name, var);
+			}
+			if (declaration == null) {
+				declaration = undeclared.computeIfAbsent(name, k -> new Declaration(k, null, null));
+			}
+			declaration.variables.add(var);
+			declarations.put(var, declaration);
+		}
+
+		@Nullable
+		private Declaration lookup(@NotNull String name) {
+			for (ScopeNode node = current; node != null; node = node.parent) {
+				Declaration declaration = node.declarations.get(name);
+				if (declaration != null) {
+					return declaration;
+				}
+			}
+			return null;
+		}
+
+		@NotNull
+		private Declaration declare(@NotNull String name, @NotNull PsiElement declaringElement) {
+			if (current == null) {
+				throw new IllegalStateException("no scope for " + declaringElement);
+			}
+			Declaration declaration = new Declaration(name, current.scope, declaringElement);
+			current.declarations.put(name, declaration);
+			return declaration;
+		}
+
+		/**
+		 * Adds the strings declared by <code>private "_var"</code>, <code>private ["_var"]</code>, or
+		 * <code>params ["_var", ["_var2", 0]]</code> (when params is true)
+		 */
+		private void addDeclaringStrings(@NotNull SQFCommandExpression expr, boolean params) {
+			SQFCommandArgument postfix = expr.getPostfixArgument();
+			if (postfix == null) {
+				return;
+			}
+			SQFLiteralExpression literal = PsiTreeUtil.getChildOfType(postfix, SQFLiteralExpression.class);
+			if (literal == null) {
+				return;
+			}
+			SQFString string = literal.getStr();
+			if (string != null) {
+				if (!params) {
+					addDeclaringString(string);
+				}
+				return;
+			}
+			SQFArray array = literal.getArr();
+			if (array == null) {
+				return;
+			}
+			for (SQFExpression element : array.getExpressions()) {
+				if (!(element instanceof SQFLiteralExpression)) {
+					continue;
+				}
+				SQFLiteralExpression elementLiteral = (SQFLiteralExpression) element;
+				SQFString elementString = elementLiteral.getStr();
+				SQFArray elementArray = elementLiteral.getArr();
+				if (elementString != null) {
+					addDeclaringString(elementString);
+				} else if (params && elementArray != null) {
+					//["_var", default value, ...]
+					List<SQFExpression> param = elementArray.getExpressions();
+					if (!param.isEmpty() && param.get(0) instanceof SQFLiteralExpression) {
+						SQFString name = ((SQFLiteralExpression) param.get(0)).getStr();
+						if (name != null) {
+							addDeclaringString(name);
+						}
+					}
+				}
+			}
+		}
+
+		private void addDeclaringString(@NotNull SQFString string) {
+			if (string.containsLocalVariable()) {
+				declaringStrings.add(string);
+			}
+		}
+	}
+}
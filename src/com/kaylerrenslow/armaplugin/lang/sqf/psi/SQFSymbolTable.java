@@ -0,0 +1,74 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiRecursiveElementWalkingVisitor;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFVariableName;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Every variable and string in one {@link SQFFile}, grouped by lowercase name ({@link SQFVariableName#text()}).
+ * A string is grouped by its text without the quotes, so <code>"_var"</code> is with <code>_var</code>.
+ * <p>
+ * The table is built with a single pass over the file and cached until the file is modified, so finding all
+ * occurrences of a name is a hash lookup instead of a file traversal.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFSymbolTable {
+	/**
+	 * Gets the table for the given file. The table is computed on first use and then reused until the file is modified.
+	 */
+	@NotNull
+	public static SQFSymbolTable get(@NotNull SQFFile file) {
+		return CachedValuesManager.getCachedValue(file, () -> {
+			return CachedValueProvider.Result.create(new SQFSymbolTable(file), file);
+		});
+	}
+
+	private final Map<String, List<SQFVariable>> variables = new HashMap<>();
+	private final Map<String, List<SQFString>> strings = new HashMap<>();
+
+	private SQFSymbolTable(@NotNull SQFFile file) {
+		file.accept(new PsiRecursiveElementWalkingVisitor() {
+			@Override
+			public void visitElement(PsiElement element) {
+				if (element instanceof SQFVariable) {
+					SQFVariable var = (SQFVariable) element;
+					variables.computeIfAbsent(var.getVarNameObj().text(), k -> new ArrayList<>()).add(var);
+					return; //a variable has no variables or strings inside it
+				}
+				if (element instanceof SQFString) {
+					SQFString string = (SQFString) element;
+					strings.computeIfAbsent(new SQFVariableName(string.getNonQuoteText()).text(), k -> new ArrayList<>()).add(string);
+					return;
+				}
+				super.visitElement(element);
+			}
+		});
+	}
+
+	/**
+	 * @param name variable name (case doesn't matter)
+	 * @return all variables in the file with the given name, in the order they appear in the file
+	 */
+	@NotNull
+	public List<SQFVariable> getVariables(@NotNull String name) {
+		List<SQFVariable> list = variables.get(new SQFVariableName(name).text());
+		return list == null ? Collections.emptyList() : Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * @param text text of the string without the quotes (case doesn't matter)
+	 * @return all strings in the file with the given text, in the order they appear in the file
+	 */
+	@NotNull
+	public List<SQFString> getStrings(@NotNull String text) {
+		List<SQFString> list = strings.get(new SQFVariableName(text).text());
+		return list == null ? Collections.emptyList() : Collections.unmodifiableList(list);
+	}
+}
@@ -0,0 +1,128 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.psi.PsiElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Stores all problems reported by a {@link SQFSyntaxChecker} so that they can be registered into a
+ * {@link ProblemsHolder} later, range by range. Once all problems are reported, this is safe to read from multiple threads.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFSyntaxCheckResult implements SQFProblemReporter {
+	private final List<Problem> problems = new ArrayList<>();
+	private boolean sorted = true;
+
+	@Override
+	public synchronized void registerProblem(@NotNull PsiElement element, @NotNull String message, @NotNull ProblemHighlightType highlightType) {
+		problems.add(new Problem(element, message, highlightType));
+		sorted = false;
+	}
+
+	/**
+	 * @return all problems, sorted by start offset
+	 */
+	@NotNull
+	public List<Problem> getProblems() {
+		sort();
+		return Collections.unmodifiableList(problems);
+	}
+
+	/**
+	 * Registers all problems whose element is inside the given range into the given holder.
+	 */
+	public void registerProblemsIn(@NotNull TextRange range, @NotNull ProblemsHolder holder) {
+		sort();
+		int i = firstIndexAtOrAfter(range.getStartOffset());
+		for (; i < problems.size(); i++) {
+			Problem problem = problems.get(i);
+			if (problem.startOffset >= range.getEndOffset() && !range.isEmpty()) {
+				break;
+			}
+			if (range.contains(problem.element.getTextRange())) {
+				holder.registerProblem(problem.element, problem.message, problem.highlightType);
+			}
+		}
+	}
+
+	/**
+	 * Registers all problems into the given holder.
+	 */
+	public void registerAll(@NotNull ProblemsHolder holder) {
+		for (Problem problem : getProblems()) {
+			holder.registerProblem(problem.element, problem.message, problem.highlightType);
+		}
+	}
+
+	private int firstIndexAtOrAfter(int offset) {
+		int low = 0;
+		int high = problems.size();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (problems.get(mid).startOffset < offset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private synchronized void sort() {
+		if (sorted) {
+			return;
+		}
+		problems.sort(Comparator.comparingInt(p -> p.startOffset));
+		sorted = true;
+	}
+
+	public static class Problem {
+		@NotNull
+		private final PsiElement element;
+		@NotNull
+		private final String message;
+		@NotNull
+		private final ProblemHighlightType highlightType;
+		private final int startOffset;
+
+		public Problem(@NotNull PsiElement element, @NotNull String message, @NotNull ProblemHighlightType highlightType) {
+			this.element = element;
+			this.message = message;
+			this.highlightType = highlightType;
+			this.startOffset = element.getTextRange().getStartOffset();
+		}
+
+		@NotNull
+		public PsiElement getElement() {
+			return element;
+		}
+
+		@NotNull
+		public String getMessage() {
+			return message;
+		}
+
+		@NotNull
+		public ProblemHighlightType getHighlightType() {
+			return highlightType;
+		}
+
+		public int getStartOffset() {
+			return startOffset;
+		}
+
+		@Override
+		public String toString() {
+			return "Problem{" + element.getText() + ": " + message + "}";
+		}
+	}
+}
@@ -2,15 +2,16 @@ package com.kaylerrenslow.armaplugin.lang.sqf.psi;
 
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.lang.ASTNode;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiElement;
+import com.intellij.psi.impl.source.tree.CompositeElement;
 import com.intellij.psi.tree.IElementType;
 import com.kaylerrenslow.armaplugin.lang.sqf.syntax.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.*;
 
 import static com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType.BaseType.*;
 
@@ -22,18 +23,59 @@ import static com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType.BaseType.*;
  * @since 11/14/2017
  */
 public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
+	/**
+	 * Key for the {@link StatementCheck} memoized on each {@link SQFStatement}
+	 */
+	private static final Key<StatementCheck> STATEMENT_CHECK_KEY = Key.create("SQFSyntaxChecker.StatementCheck");
+	/**
+	 * Minimum amount of commands in a row (no arguments between) for {@link #warmUpPeeks(PartBuffer, SQFProblemReporter, Counter)}
+	 * to take effect
+	 */
+	private static final int PEEK_WARM_UP_RUN_LENGTH = 32;
+
 	@NotNull
 	private final List<SQFStatement> statements;
 	@NotNull
 	private final CommandDescriptorCluster cluster;
+	/**
+	 * Where problems are reported. While a statement is being checked, this is swapped with a
+	 * {@link StatementProblems} so that the statement's problems can be memoized.
+	 */
 	@NotNull
-	private final ProblemsHolder problems;
+	private SQFProblemReporter problems;
+	/**
+	 * Set to true by {@link #evaluateCommand(PartBuffer, ValueType, SQFProblemReporter, PotentialProblemList, Counter, boolean)}
+	 * right before it returns when the command chain continues with the returned type as the next prefix type.
+	 * This lets long chains like "a + b + c + ..." be evaluated in a loop instead of recursively.
+	 */
+	private boolean chainContinues = false;
+	/**
+	 * Not null when this checker is used by {@link SQFLocalTypeEnvironment} to compute assigned types
+	 */
+	@Nullable
+	private final SQFLocalTypeEnvironment.Builder localTypeBuilder;
+	/**
+	 * Amount of literals visited plus commands evaluated (including peeks that weren't memoized). Tests use this to
+	 * check how the amount of work grows with the input, since unlike timing it's the same on every run.
+	 */
+	private int steps = 0;
 
 	public SQFSyntaxChecker(@NotNull List<SQFStatement> statements, @NotNull CommandDescriptorCluster cluster,
 							@NotNull ProblemsHolder holder) {
+		this(statements, cluster, SQFProblemReporter.of(holder));
+	}
+
+	public SQFSyntaxChecker(@NotNull List<SQFStatement> statements, @NotNull CommandDescriptorCluster cluster,
+							@NotNull SQFProblemReporter reporter) {
+		this(statements, cluster, reporter, null);
+	}
+
+	SQFSyntaxChecker(@NotNull List<SQFStatement> statements, @NotNull CommandDescriptorCluster cluster,
+					 @NotNull SQFProblemReporter reporter, @Nullable SQFLocalTypeEnvironment.Builder localTypeBuilder) {
 		this.statements = statements;
 		this.cluster = cluster;
-		this.problems = holder;
+		this.problems = reporter;
+		this.localTypeBuilder = localTypeBuilder;
 	}
 
 	/**
@@ -44,19 +86,79 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 	public ValueType begin() {
 		ValueType ret = BaseType.NOTHING;
 		for (SQFStatement statement : statements) {
-			ret = (ValueType) statement.accept(this, cluster);
+			ret = checkStatement(statement, cluster);
 		}
 		//System.out.println(problems.getResults());
 		return ret;
 	}
 
+	/**
+	 * @return the amount of literals visited plus commands evaluated so far (see {@link #steps})
+	 */
+	int getStepCount() {
+		return steps;
+	}
+
+	/**
+	 * Checks the given statement. The statement's resulted type and problems are memoized on the statement and are
+	 * reused as long as the statement's subtree hasn't been modified. When a statement changes, its modification
+	 * stamp and the stamps of all enclosing statements change, so only those statements are re-evaluated. Unchanged
+	 * nested statements still hit their memoized result.
+	 * <p>
+	 * The memoized result also depends on the types of the local variables the statement uses
+	 * ({@link SQFLocalTypeEnvironment}), so it is only reused if those types are the same as well.
+	 *
+	 * @return the statement's resulted type
+	 */
+	@NotNull
+	private ValueType checkStatement(@NotNull SQFStatement statement, @NotNull CommandDescriptorCluster cluster) {
+		long stamp = getModificationStamp(statement);
+		SQFLocalTypeEnvironment.Bindings bindings = SQFLocalTypeEnvironment.getBindings(statement, localTypeBuilder);
+		if (bindings == null) {
+			//the variable types are still being computed, so don't memoize
+			stamp = -1;
+		}
+		StatementCheck memo = statement.getUserData(STATEMENT_CHECK_KEY);
+		if (memo != null && memo.stamp == stamp && stamp != -1 && memo.bindings.equals(bindings)) {
+			memo.problems.replay(problems);
+			return memo.type;
+		}
+
+		SQFProblemReporter outer = problems;
+		StatementProblems statementProblems = new StatementProblems();
+		problems = statementProblems;
+		ValueType type;
+		try {
+			type = (ValueType) statement.accept(this, cluster);
+		} finally {
+			problems = outer;
+		}
+		statementProblems.replay(outer);
+		if (stamp != -1) {
+			statement.putUserData(STATEMENT_CHECK_KEY, new StatementCheck(stamp, bindings, type, statementProblems));
+		}
+		return type;
+	}
+
+	/**
+	 * @return a stamp that changes whenever the statement's subtree changes, or -1 if there isn't one
+	 */
+	private static long getModificationStamp(@NotNull SQFStatement statement) {
+		ASTNode node = statement.getNode();
+		if (!(node instanceof CompositeElement)) {
+			return -1;
+		}
+		//modification count is incremented for the changed node and all of its parents
+		return ((long) ((CompositeElement) node).getModificationCount() << 32) | node.getTextLength();
+	}
+
 	@NotNull
 	@Override
 	public ValueType visit(@NotNull SQFScope scope, @NotNull CommandDescriptorCluster cluster) {
 		List<SQFStatement> statements = scope.getChildStatements();
 		ValueType ret = ValueType.BaseType.NOTHING;
 		for (SQFStatement statement : statements) {
-			ret = (ValueType) statement.accept(this, cluster);
+			ret = checkStatement(statement, cluster);
 		}
 		return ret;
 	}
@@ -116,21 +218,24 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 	@NotNull
 	@Override
 	public ValueType visit(@NotNull SQFLiteralExpression expr, @NotNull CommandDescriptorCluster cluster) {
-		if (expr.getVar() != null) {
-			return _VARIABLE;
+		steps++;
+		SQFVariable var = expr.getVar();
+		if (var != null) {
+			ValueType type = SQFLocalTypeEnvironment.getLocalVariableType(var, localTypeBuilder);
+			return type == null ? _VARIABLE : type;
 		}
 		SQFArray arr = expr.getArr();
 		if (arr != null) {
 			if (arr.getExpressions().size() == 1) {
-				return new SingletonArrayExpandedValueType(
+				return ValueType.intern(new SingletonArrayExpandedValueType(
 						(ValueType) arr.getExpressions().get(0).accept(this, cluster)
-				);
+				));
 			}
 			ExpandedValueType expandedValueType = new ExpandedValueType(false);
 			for (SQFExpression arrItemExpr : arr.getExpressions()) {
 				expandedValueType.addValueType((ValueType) arrItemExpr.accept(this, cluster));
 			}
-			return expandedValueType;
+			return ValueType.intern(expandedValueType);
 		}
 		if (expr.getStr() != null) {
 			return BaseType.STRING;
@@ -158,25 +263,29 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 	@NotNull
 	@Override
 	public ValueType visit(@NotNull SQFCommandExpression expr, @NotNull CommandDescriptorCluster cluster) {
-		LinkedList<PotentialProblem> potentialProblems = new LinkedList<>();
+		PotentialProblemList potentialProblems = new PotentialProblemList();
 		Counter reportCounter = new Counter(0);
 
-		LinkedList<ExprPart> parts = new LinkedList<>();
+		ExprPart[] parts = new ExprPart[8];
+		int partCount = 0;
 		SQFCommandExpression cursor = expr;
 		while (true) {
+			if (partCount + 3 > parts.length) {
+				parts = Arrays.copyOf(parts, parts.length * 2);
+			}
 			SQFExpressionOperator op = cursor.getExprOperator();
 			SQFCommandArgument pre = cursor.getPrefixArgument();
 			SQFCommandArgument post = cursor.getPostfixArgument();
 			if (pre != null) {
-				parts.add(new ExprPart(new CommandArgumentPart(pre)));
+				parts[partCount++] = new ExprPart(new CommandArgumentPart(pre));
 			}
-			parts.add(new ExprPart(op));
+			parts[partCount++] = new ExprPart(op);
 			if (post != null) {
 				SQFExpression postExpr = post.getExpr();
 				if (postExpr instanceof SQFCommandExpression) {
 					cursor = (SQFCommandExpression) postExpr;
 				} else {
-					parts.add(new ExprPart(new CommandArgumentPart(post)));
+					parts[partCount++] = new ExprPart(new CommandArgumentPart(post));
 					break;
 				}
 			} else {
@@ -184,7 +293,7 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 			}
 		}
 
-		LinkedList<ExprPart> groupedParts = groupTheParts(potentialProblems, reportCounter, parts);
+		PartBuffer groupedParts = groupTheParts(potentialProblems, reportCounter, new PartBuffer(parts, 0, partCount));
 
 		return getReturnTypeForCommand(
 				groupedParts,
@@ -202,6 +311,8 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 	 * and then grouping everything after it on the right. The grouping makes the right hand side evaluate like
 	 * the right hand side was enclosed in parenthesis. For example, "(_i + 1) >= count _numArr || (_i + 1) >= count _opNumArr" is evaluated like
 	 * "((_i + 1) >= count _numArr) || ((_i + 1) >= count _opNumArr)"
+	 * <p>
+	 * Groups are views into the given buffer's array, so no parts are copied.
 	 *
 	 * @param potentialProblems a list that will be shared across all fake groups.
 	 * @param reportCounter     report counter that will be shared across all fake groups
@@ -209,76 +320,54 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 	 * @return the grouped parts, or will just return parts if there is 1 or less forward looking operators
 	 */
 	@NotNull
-	private LinkedList<ExprPart> groupTheParts(@NotNull LinkedList<PotentialProblem> potentialProblems,
-											   @NotNull Counter reportCounter, @NotNull LinkedList<ExprPart> parts) {
-		final int initialPartsSize = parts.size();
-		LinkedList<ExprPart> groupedParts = new LinkedList<>();
-		ArrayList<Integer> forwardLookingOpIndices = new ArrayList<>();
-		{
-			int i = 0;
-			for (ExprPart part : parts) {
-				if (part.isOperatorPart() && isForwardLookingCommand(part.getOperator())) {
-					forwardLookingOpIndices.add(i);
-				}
-				i++;
+	private PartBuffer groupTheParts(@NotNull PotentialProblemList potentialProblems,
+									 @NotNull Counter reportCounter, @NotNull PartBuffer parts) {
+		int forwardLookingOpCount = 0;
+		for (int i = parts.start; i < parts.end; i++) {
+			ExprPart part = parts.array[i];
+			if (part.isOperatorPart() && isForwardLookingCommand(part.getOperator())) {
+				forwardLookingOpCount++;
 			}
 		}
-
-		if (forwardLookingOpIndices.size() <= 1) {
+		if (forwardLookingOpCount <= 1) {
 			return parts;
 		}
-		LinkedList<ExprPart> currentGroup = new LinkedList<>();
-		final int STATE_START_BINARY = 0;
-		final int STATE_FINISHED_BINARY = 1;
-		int state = STATE_START_BINARY;
-		int partsIndex = 0;
-		int endIndexCount = 0;
-		for (int forwardLookingOpIndex : forwardLookingOpIndices) {
-			switch (state) {
-				case STATE_START_BINARY: {
-					for (; partsIndex < forwardLookingOpIndex; partsIndex++) {
-						currentGroup.add(parts.removeFirst());
-					}
-
-					ExprPart operatorPart = parts.removeFirst();
-					currentGroup.add(operatorPart);
-					partsIndex++;
 
-					final int endGroupIndex = endIndexCount + 1 >= forwardLookingOpIndices.size() ? initialPartsSize : forwardLookingOpIndices.get(endIndexCount + 1);
-
-					for (; partsIndex < endGroupIndex; partsIndex++) {
-						currentGroup.add(parts.removeFirst());
-					}
-
-					ExprPart part = new ExprPart(new ExprPartsGroupArgument(currentGroup, problems, potentialProblems, reportCounter));
-					groupedParts.add(part);
-					state = STATE_FINISHED_BINARY;
-					currentGroup = new LinkedList<>();
-					break;
-				}
-				case STATE_FINISHED_BINARY: {
-					groupedParts.add(parts.removeFirst());
-					partsIndex++;
-					state = STATE_START_BINARY;
-					break;
-				}
+		//Groups alternate with every other forward looking operator. The first group ends at the second forward looking
+		//operator, that operator is left ungrouped, the next group ends at the fourth forward looking operator, and so on.
+		//The remaining parts make the last group.
+		ExprPart[] groupedParts = new ExprPart[forwardLookingOpCount + 1];
+		int groupedCount = 0;
+		int groupStart = parts.start;
+		int forwardLookingOpIndex = 0;
+		for (int i = parts.start; i < parts.end; i++) {
+			ExprPart part = parts.array[i];
+			if (!part.isOperatorPart() || !isForwardLookingCommand(part.getOperator())) {
+				continue;
 			}
-			endIndexCount++;
-		}
-		if (state == STATE_START_BINARY) {
-			LinkedList<ExprPart> remainderPartsGroup = new LinkedList<>();
-			remainderPartsGroup.addAll(parts);
-			ExprPart part = new ExprPart(new ExprPartsGroupArgument(remainderPartsGroup, problems, potentialProblems, reportCounter));
-			groupedParts.add(part);
+			if (forwardLookingOpIndex % 2 == 1) {
+				groupedParts[groupedCount++] = newGroup(parts.array, groupStart, i, potentialProblems, reportCounter);
+				groupedParts[groupedCount++] = part;
+				groupStart = i + 1;
+			}
+			forwardLookingOpIndex++;
 		}
-		return groupedParts;
+		groupedParts[groupedCount++] = newGroup(parts.array, groupStart, parts.end, potentialProblems, reportCounter);
+
+		return new PartBuffer(groupedParts, 0, groupedCount);
+	}
+
+	@NotNull
+	private ExprPart newGroup(@NotNull ExprPart[] array, int start, int end,
+							  @NotNull PotentialProblemList potentialProblems, @NotNull Counter reportCounter) {
+		return new ExprPart(new ExprPartsGroupArgument(new PartBuffer(array, start, end), problems, potentialProblems, reportCounter));
 	}
 
 	/**
-	 * Gets a returned {@link ValueType} for a {@link SQFCommandExpression} that is broken up into a list of {@link ExprPart} instances.
+	 * Gets a returned {@link ValueType} for a {@link SQFCommandExpression} that is broken up into a buffer of {@link ExprPart} instances.
 	 * <p>
 	 * This method recursively calls itself to syntax and type check command expressions. This method will also
-	 * report problems to the specified {@link ProblemsHolder}. Since some commands require a right type (postfix type)
+	 * report problems to the specified {@link SQFProblemReporter}. Since some commands require a right type (postfix type)
 	 * and some commands can be chained (for example, "hint format ['']" is a chain of commands), the right type
 	 * may be determined by recursively calling this method without error reporting (this is called peeking).
 	 * <p>
@@ -292,10 +381,13 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 	 * <p>
 	 * Sometimes when peeking, there are problems, but the problems aren't guaranteed to be problems.
 	 * They are potential problems (information stored in {@link PotentialProblem} instances) and
-	 * are stored in a list and then are subsequently reported to the {@link ProblemsHolder} when the potential problems
+	 * are stored in a list and then are subsequently reported to the {@link SQFProblemReporter} when the potential problems
 	 * are actually problems. You can think of {@link PotentialProblem} as a future problem report when a peek fails.
 	 * But when a peek succeeds, no {@link PotentialProblem} instances should be reported.
 	 * Also, if a peek succeeds, all {@link PotentialProblem} instances created from the peek need to be removed.
+	 * <p>
+	 * Parts are consumed by advancing the buffer's cursor. If a peek wasn't used or a peek failed, the cursor is moved
+	 * back to where this invocation started.
 	 *
 	 * @param parts                     all parts
 	 * @param previousCommandReturnType the returned value of a previous recursive call,
@@ -307,26 +399,107 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 	 * @return the last command's returned {@link ValueType}
 	 */
 	@NotNull
-	private ValueType getReturnTypeForCommand(@NotNull LinkedList<ExprPart> parts,
+	private ValueType getReturnTypeForCommand(@NotNull PartBuffer parts,
 											  @Nullable ValueType previousCommandReturnType,
-											  @NotNull ProblemsHolder problems,
-											  @NotNull LinkedList<PotentialProblem> potentialProblems,
+											  @NotNull SQFProblemReporter problems,
+											  @NotNull PotentialProblemList potentialProblems,
 											  @NotNull Counter reportCount,
 											  boolean isPeeking) {
+		if (!parts.warmedUp) {
+			warmUpPeeks(parts, problems, reportCount);
+		}
+		if (!isPeeking) {
+			ValueType type = previousCommandReturnType;
+			do {
+				chainContinues = false;
+				type = evaluateCommand(parts, type, problems, potentialProblems, reportCount, false);
+			} while (chainContinues);
+			return type;
+		}
+
+		//Peeking doesn't report problems, so the outcome of a peek only depends on where it starts and with what
+		//prefix type. Memoize the outcome so that every suffix is peeked at most once per input type.
+		final int startCursor = parts.cursor;
+		final boolean canReport = reportCount.count <= 0;
+		PeekResult memo = parts.getPeekResult(startCursor, previousCommandReturnType, canReport);
+		if (memo != null) {
+			parts.cursor = memo.endCursor;
+			if (memo.clearedPotentialProblems) {
+				potentialProblems.clear();
+			}
+			if (memo.addedPotentialProblems != null) {
+				potentialProblems.addAll(memo.addedPotentialProblems);
+			}
+			return memo.type;
+		}
+
+		final int clearsBefore = potentialProblems.getClearCount();
+		final int potentialProblemsBefore = potentialProblems.size();
 
+		ValueType type = evaluateCommand(parts, previousCommandReturnType, problems, potentialProblems, reportCount, true);
 
-		//All parts removed from the current invocation (requires a new list for each recursive call).
-		//These parts will be added back if a peek wasn't used or a peek failed.
-		LinkedList<ExprPart> removedParts = new LinkedList<>();
+		boolean cleared = potentialProblems.getClearCount() != clearsBefore;
+		int addedFrom = cleared ? 0 : potentialProblemsBefore;
+		List<PotentialProblem> added = null;
+		if (potentialProblems.size() > addedFrom) {
+			added = new ArrayList<>(potentialProblems.subList(addedFrom, potentialProblems.size()));
+		}
+		parts.putPeekResult(startCursor, new PeekResult(previousCommandReturnType, canReport, type, parts.cursor, cleared, added));
+		return type;
+	}
+
+	/**
+	 * A chain of commands without arguments between them (for example "str str str ... 1") is peeked recursively from
+	 * left to right, one level per command. For long chains, this peeks every command in the chain from right to left
+	 * first so that each of those peeks, and the peeks done later by the actual evaluation, only go one level deep
+	 * before hitting a memoized result.
+	 * <p>
+	 * Peeks are memoized relative to the potential problems list, so they are done with a scratch list.
+	 */
+	private void warmUpPeeks(@NotNull PartBuffer parts, @NotNull SQFProblemReporter problems, @NotNull Counter reportCount) {
+		parts.warmedUp = true;
+		final int startCursor = parts.cursor;
+		int runEnd = parts.end;
+		for (int i = parts.end - 1; i >= parts.start - 1; i--) {
+			if (i >= parts.start && parts.array[i].isOperatorPart()) {
+				continue;
+			}
+			//parts (i, runEnd) are all operators
+			if (runEnd - (i + 1) >= PEEK_WARM_UP_RUN_LENGTH) {
+				Counter cantReport = new Counter(Math.max(1, reportCount.count));
+				for (int peekStart = runEnd - 1; peekStart > i + 1; peekStart--) {
+					parts.cursor = peekStart;
+					getReturnTypeForCommand(parts, null, problems, new PotentialProblemList(), reportCount, true);
+					parts.cursor = peekStart;
+					getReturnTypeForCommand(parts, null, problems, new PotentialProblemList(), cantReport, true);
+				}
+			}
+			runEnd = i;
+		}
+		parts.cursor = startCursor;
+	}
+
+	/**
+	 * Does the actual work for {@link #getReturnTypeForCommand(PartBuffer, ValueType, SQFProblemReporter, PotentialProblemList, Counter, boolean)}
+	 * without any memoization.
+	 */
+	@NotNull
+	private ValueType evaluateCommand(@NotNull PartBuffer parts,
+									  @Nullable ValueType previousCommandReturnType,
+									  @NotNull SQFProblemReporter problems,
+									  @NotNull PotentialProblemList potentialProblems,
+									  @NotNull Counter reportCount,
+									  boolean isPeeking) {
+		steps++;
+		//where this invocation started. The cursor is moved back here if a peek wasn't used or a peek failed.
+		final int startCursor = parts.cursor;
 
 		ValueType prefixType = null;
-		ExprPart prefixPart = parts.removeFirst();
-		removedParts.push(prefixPart);
+		ExprPart prefixPart = parts.next();
 		ExprPart commandPart = null;
 
 		if (!prefixPart.isOperatorPart()) {
-			commandPart = parts.removeFirst();
-			removedParts.push(commandPart);
+			commandPart = parts.next();
 			if (!commandPart.isOperatorPart()) {
 				throw new IllegalStateException("expected command part");
 			}
@@ -337,7 +510,6 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 
 		SQFExpressionOperator exprOperator = commandPart.getOperator();
 		CommandDescriptor descriptor = getDescriptorForOperator(exprOperator, cluster);
-		String commandName = descriptor.getCommandName();
 
 		if (prefixPart != null) {
 			prefixType = prefixPart.getArgument().getType(this, isPeeking, cluster);
@@ -345,42 +517,32 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 			prefixType = previousCommandReturnType;
 		}
 
-		ExprPart peekPart = parts.peekFirst();
+		ExprPart peekPart = parts.peek();
 		ValueType peekType = null;
 
+		CommandSyntaxIndex syntaxIndex = descriptor.getSyntaxIndex();
+		List<CommandSyntax> syntaxList = descriptor.getSyntaxList();
+
 		//if there are more parts to consume and there is at least 1 syntax that accepts a postfix param,
 		//there must be a peek
-		boolean requirePeek = false;
-		{
-			for (CommandSyntax syntax : descriptor.getSyntaxList()) {
-				if (syntax.getPostfixParam() != null) {
-					requirePeek = true;
-					break;
-				}
-			}
-		}
+		boolean requirePeek = syntaxIndex.hasPostfixSyntax();
 
-		//find syntaxes with matching prefix and postfix value types
+		//find syntaxes with matching prefix and postfix value types.
+		//Only the syntaxes that can accept the prefix type are checked.
+		long[] candidates = syntaxIndex.getCandidates(prefixType);
+		boolean prefixMatched = syntaxIndex.isExact(prefixType);
 		CommandSyntax matchedSyntax = null;
 		boolean usedPeekType = false;
 		boolean keepPartsRemoved = false;
-		for (CommandSyntax syntax : descriptor.getSyntaxList()) {
+		for (int i = CommandSyntaxIndex.nextCandidate(candidates, 0); i >= 0; i = CommandSyntaxIndex.nextCandidate(candidates, i + 1)) {
+			CommandSyntax syntax = syntaxList.get(i);
 			Param prefixParam = syntax.getPrefixParam();
 			Param postfixParam = syntax.getPostfixParam();
-			if (prefixParam == null) {
-				if (prefixType != null) {
+			if (!prefixMatched) {
+				//candidates are all syntaxes with a prefix param
+				if (prefixParam == null || prefixType == null || !prefixParam.containsType(prefixType)) {
 					continue;
 				}
-			} else {
-				if (prefixType == null) {
-					if (!prefixParam.isOptional()) {
-						continue;
-					}
-				} else {
-					if (!prefixParam.containsType(prefixType)) {
-						continue;
-					}
-				}
 			}
 
 			if (postfixParam == null) {
@@ -392,7 +554,7 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 				}
 			} else {
 				if (peekType == null) {
-					peekType = getPeekType(parts, removedParts, problems, potentialProblems, reportCount);
+					peekType = getPeekType(parts, problems, potentialProblems, reportCount);
 				}
 				if (peekType == null) {
 					if (!postfixParam.isOptional()) {
@@ -417,9 +579,7 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 			}
 		}
 		if (!usedPeekType && !keepPartsRemoved) {
-			while (!removedParts.isEmpty()) {
-				parts.push(removedParts.pop());
-			}
+			parts.cursor = startCursor;
 		}
 
 		if (matchedSyntax != null) {
@@ -437,7 +597,7 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 				return retType;
 			}
 
-			if (parts.isEmpty()) {
+			if (!parts.hasNext()) {
 				if (peekType != null && !usedPeekType) {
 					if (reportCount.count <= 0) {
 						problems.registerProblem(peekPart.getPsiElement(),
@@ -452,23 +612,15 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 
 			boolean expectedSemicolon = false;
 			boolean consumeMoreCommands = false;
-			ExprPart peekFirst = parts.peekFirst();
+			ExprPart peekFirst = parts.peek();
 
 			if (peekFirst.isOperatorPart()) {
 				SQFExpressionOperator peekExprOperator = peekFirst.getOperator();
 				CommandDescriptor d = getDescriptorForOperator(peekExprOperator, cluster);
-				for (CommandSyntax syntax1 : d.getSyntaxList()) {
-					if (syntax1.getPrefixParam() != null) {
-						if (syntax1.getPrefixParam().containsType(retType)) {
-							expectedSemicolon = false;
-							consumeMoreCommands = true;
-							break;
-						} else {
-							expectedSemicolon = true;
-						}
-					} else {
-						expectedSemicolon = true;
-					}
+				if (d.getSyntaxIndex().anyPrefixAccepts(retType)) {
+					consumeMoreCommands = true;
+				} else {
+					expectedSemicolon = !d.getSyntaxList().isEmpty();
 				}
 			} else {
 				expectedSemicolon = true;
@@ -476,60 +628,29 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 			if (expectedSemicolon) {
 				if (reportCount.count <= 0) {
 					problems.registerProblem(
-							parts.getFirst().getPsiElement(), "Expected ;",
+							peekFirst.getPsiElement(), "Expected ;",
 							ProblemHighlightType.GENERIC_ERROR_OR_WARNING
 					);
 					reportCount.count++;
 				}
 			}
 			if (consumeMoreCommands) {
-				retType = getReturnTypeForCommand(parts, retType, problems, potentialProblems, reportCount, false);
+				//the caller continues the chain with retType as the prefix type (see getReturnTypeForCommand)
+				chainContinues = true;
 			}
 
 			return retType;
 		} else {
-			PotentialProblem problem;
-
-			if (peekType == null) {
-				if (prefixType == null) {
-					problem = new PotentialProblem(
-							exprOperator,
-							"No syntax for '" + commandName + "' with left argument absent.",
-							ProblemHighlightType.GENERIC_ERROR_OR_WARNING
-					);
-				} else {
-					if (requirePeek) {
-						problem = new PotentialProblem(
-								exprOperator,
-								"No syntax for '" + prefixType.getDisplayName() + " " + commandName + "'",
-								ProblemHighlightType.GENERIC_ERROR_OR_WARNING
-						);
-					} else {
-						problem = new PotentialProblem(
-								exprOperator,
-								"No syntax for '" + prefixType.getDisplayName() + " " + commandName + "'",
-								ProblemHighlightType.GENERIC_ERROR_OR_WARNING
-						);
-					}
-				}
-			} else {
-				problem = new PotentialProblem(
-						exprOperator,
-						"No syntax for '" +
-								(prefixType == null ? "" : prefixType.getDisplayName() + " ")
-								+ commandName + " " + peekType.getDisplayName() + "'",
-						ProblemHighlightType.GENERIC_ERROR_OR_WARNING
-				);
-			}
-
 			if (reportCount.count <= 0) {
+				//the message is only built if the problem is actually reported
+				PotentialProblem problem = new PotentialProblem(exprOperator, descriptor.getCommandName(), prefixType, peekType);
 				if (!isPeeking) {
 					if (potentialProblems.isEmpty()) {
 						reportCount.count++;
 						problems.registerProblem(problem.getErrorElement(), problem.getMessage(), problem.getHighlightType());
 					} else {
 						//report only the oldest potential problem
-						PotentialProblem actualProblem = potentialProblems.getFirst();
+						PotentialProblem actualProblem = potentialProblems.get(0);
 						problems.registerProblem(actualProblem.getErrorElement(), actualProblem.getMessage(), actualProblem.getHighlightType());
 						reportCount.count++;
 						potentialProblems.clear();
@@ -545,12 +666,11 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 	}
 
 	@Nullable
-	private ValueType getPeekType(@NotNull LinkedList<ExprPart> parts,
-								  @NotNull LinkedList<ExprPart> removedParts,
-								  @NotNull ProblemsHolder problems,
-								  @NotNull LinkedList<PotentialProblem> potentialProblems,
+	private ValueType getPeekType(@NotNull PartBuffer parts,
+								  @NotNull SQFProblemReporter problems,
+								  @NotNull PotentialProblemList potentialProblems,
 								  @NotNull Counter reportCount) {
-		ExprPart peekPart = parts.peekFirst();
+		ExprPart peekPart = parts.peek();
 		if (peekPart == null) {
 			return null;
 		}
@@ -564,7 +684,7 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 					true
 			);
 		} else {
-			removedParts.push(parts.removeFirst());
+			parts.next();
 			return peekPart.getArgument().getType(this, true, cluster);
 		}
 	}
@@ -603,7 +723,7 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 	@NotNull
 	@Override
 	public ValueType visit(@NotNull SQFCodeBlockExpression expr, @NotNull CommandDescriptorCluster cluster) {
-		return new CodeType(fullyVisitCodeBlockScope(this, expr.getBlock(), cluster));
+		return ValueType.intern(new CodeType(fullyVisitCodeBlockScope(this, expr.getBlock(), cluster)));
 	}
 
 	/**
@@ -628,10 +748,10 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 		CommandDescriptor descriptor;
 		SQFCommand command = operator.getCmd();
 		if (command != null) {
-			String commandName = command.getCommandName();
-			descriptor = cluster.get(commandName);
+			int commandId = command.getCommandId();
+			descriptor = commandId >= 0 ? cluster.get(commandId) : cluster.get(command.getCommandName());
 			if (descriptor == null) {
-				throw new IllegalStateException("descriptor doesn't exist for command " + commandName);
+				throw new IllegalStateException("descriptor doesn't exist for command " + command.getCommandName());
 			}
 		} else {
 			IElementType operatorType = operator.getOperatorType();
@@ -742,6 +862,8 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 
 		@NotNull
 		private final SQFCommandArgument argument;
+		@Nullable
+		private ValueType type;
 
 		public CommandArgumentPart(@NotNull SQFCommandArgument argument) {
 			this.argument = argument;
@@ -761,12 +883,18 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 		@NotNull
 		@Override
 		public ValueType getType(@NotNull SQFSyntaxChecker checker, boolean isPeeking, @NotNull CommandDescriptorCluster cluster) {
+			//an argument is checked the same way whether or not it's peeked, so only check it once
+			if (type != null) {
+				return type;
+			}
 			SQFExpression expr = argument.getExpr();
 			SQFCodeBlock block = argument.getBlock();
 			if (block == null) {
-				return (ValueType) expr.accept(checker, cluster);
+				type = (ValueType) expr.accept(checker, cluster);
+			} else {
+				type = ValueType.intern(new CodeType(fullyVisitCodeBlockScope(checker, block, cluster)));
 			}
-			return new CodeType(fullyVisitCodeBlockScope(checker, block, cluster));
+			return type;
 		}
 
 		@Override
@@ -777,19 +905,19 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 
 	private static class ExprPartsGroupArgument implements ArgumentPart {
 		@NotNull
-		private final LinkedList<ExprPart> parts;
+		private final PartBuffer parts;
 		@NotNull
-		private final ProblemsHolder problems;
+		private final SQFProblemReporter problems;
 		@NotNull
-		private final LinkedList<PotentialProblem> potentialProblems;
+		private final PotentialProblemList potentialProblems;
 		@NotNull
 		private final Counter reportCounter;
 
-		public ExprPartsGroupArgument(@NotNull LinkedList<ExprPart> parts, @NotNull ProblemsHolder problems,
-									  @NotNull LinkedList<PotentialProblem> potentialProblems,
+		public ExprPartsGroupArgument(@NotNull PartBuffer parts, @NotNull SQFProblemReporter problems,
+									  @NotNull PotentialProblemList potentialProblems,
 									  @NotNull Counter reportCounter) {
 			this.reportCounter = reportCounter;
-			if (parts.isEmpty()) {
+			if (!parts.hasNext()) {
 				throw new IllegalStateException("parts is empty");
 			}
 			this.parts = parts;
@@ -797,22 +925,17 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 			this.potentialProblems = potentialProblems;
 		}
 
-		@NotNull
-		public List<ExprPart> getParts() {
-			return parts;
-		}
-
 		@NotNull
 		@Override
 		public PsiElement getPsiElement() {
-			return parts.get(0).getPsiElement();
+			return parts.array[parts.start].getPsiElement();
 		}
 
 		@NotNull
 		@Override
 		public ValueType getType(@NotNull SQFSyntaxChecker checker, boolean isPeeking, @NotNull CommandDescriptorCluster cluster) {
-			if (parts.size() == 1 && parts.getFirst().isArgumentPart()) {
-				return parts.getFirst().getArgument().getType(checker, isPeeking, cluster);
+			if (parts.remaining() == 1 && parts.peek().isArgumentPart()) {
+				return parts.peek().getArgument().getType(checker, isPeeking, cluster);
 			}
 			return checker.getReturnTypeForCommand(parts, null, problems, potentialProblems, reportCounter, isPeeking);
 		}
@@ -820,9 +943,9 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 		@Override
 		public String toString() {
 			StringBuilder sb = new StringBuilder();
-			for (ExprPart part : parts) {
-				sb.append(part.toString());
-				if (part != parts.getLast()) {
+			for (int i = parts.start; i < parts.end; i++) {
+				sb.append(parts.array[i].toString());
+				if (i < parts.end - 1) {
 					sb.append(' ');
 				}
 			}
@@ -885,6 +1008,140 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 		}
 	}
 
+	/**
+	 * A range of an {@link ExprPart} array with a cursor. Parts are consumed by moving the cursor forward and are
+	 * "put back" by moving the cursor back, so nothing is allocated while type checking.
+	 * <p>
+	 * This also holds the memoized peeks for the range (see {@link #getReturnTypeForCommand(PartBuffer, ValueType, SQFProblemReporter, PotentialProblemList, Counter, boolean)}),
+	 * indexed by the cursor position the peek started at.
+	 */
+	private static class PartBuffer {
+		@NotNull
+		private final ExprPart[] array;
+		private final int start;
+		private final int end;
+		private int cursor;
+		@Nullable
+		private PeekResult[] peekResults;
+		/**
+		 * True if {@link #warmUpPeeks(PartBuffer, SQFProblemReporter, Counter)} was invoked for this buffer
+		 */
+		private boolean warmedUp = false;
+
+		public PartBuffer(@NotNull ExprPart[] array, int start, int end) {
+			this.array = array;
+			this.start = start;
+			this.end = end;
+			this.cursor = start;
+		}
+
+		public boolean hasNext() {
+			return cursor < end;
+		}
+
+		public int remaining() {
+			return end - cursor;
+		}
+
+		/**
+		 * @return the next part without consuming it, or null if there are no more parts
+		 */
+		@Nullable
+		public ExprPart peek() {
+			return cursor < end ? array[cursor] : null;
+		}
+
+		/**
+		 * Consumes the next part
+		 *
+		 * @throws NoSuchElementException if there are no more parts
+		 */
+		@NotNull
+		public ExprPart next() {
+			if (cursor >= end) {
+				throw new NoSuchElementException();
+			}
+			return array[cursor++];
+		}
+
+		@Nullable
+		public PeekResult getPeekResult(int cursor, @Nullable ValueType prefixType, boolean canReport) {
+			if (peekResults == null) {
+				return null;
+			}
+			PeekResult result = peekResults[cursor - start];
+			while (result != null) {
+				//ValueType.equals isn't strict enough here, so compare by identity
+				if (result.prefixType == prefixType && result.canReport == canReport) {
+					return result;
+				}
+				result = result.next;
+			}
+			return null;
+		}
+
+		public void putPeekResult(int cursor, @NotNull PeekResult result) {
+			if (peekResults == null) {
+				peekResults = new PeekResult[end - start];
+			}
+			result.next = peekResults[cursor - start];
+			peekResults[cursor - start] = result;
+		}
+	}
+
+	/**
+	 * The outcome of a peek: the peeked type, where the cursor ended up, and how the peek changed the
+	 * potential problems. Keyed by the cursor position the peek started at (see {@link PartBuffer}) and the
+	 * incoming prefix type.
+	 */
+	private static class PeekResult {
+		@Nullable
+		private final ValueType prefixType;
+		private final boolean canReport;
+		@NotNull
+		private final ValueType type;
+		private final int endCursor;
+		private final boolean clearedPotentialProblems;
+		@Nullable
+		private final List<PotentialProblem> addedPotentialProblems;
+		/**
+		 * Next result that started at the same cursor position, but with a different key
+		 */
+		@Nullable
+		private PeekResult next;
+
+		public PeekResult(@Nullable ValueType prefixType, boolean canReport, @NotNull ValueType type, int endCursor,
+						  boolean clearedPotentialProblems, @Nullable List<PotentialProblem> addedPotentialProblems) {
+			this.prefixType = prefixType;
+			this.canReport = canReport;
+			this.type = type;
+			this.endCursor = endCursor;
+			this.clearedPotentialProblems = clearedPotentialProblems;
+			this.addedPotentialProblems = addedPotentialProblems;
+		}
+	}
+
+	/**
+	 * A list of {@link PotentialProblem} that counts how many times it was cleared
+	 */
+	private static class PotentialProblemList extends ArrayList<PotentialProblem> {
+		private int clearCount = 0;
+
+		public PotentialProblemList() {
+			super(2);
+		}
+
+		@Override
+		public void clear() {
+			super.clear();
+			clearCount++;
+		}
+
+		public int getClearCount() {
+			return clearCount;
+		}
+	}
+
 	private static class Counter {
 		private int count = 0;
 
@@ -898,18 +1155,49 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 		}
 	}
 
+	/**
+	 * A problem that may be reported later. For "No syntax for" problems, the message isn't built until
+	 * {@link #getMessage()} is invoked since most potential problems are discarded after a successful peek.
+	 */
 	private static class PotentialProblem {
 		@NotNull
 		private final PsiElement errorElement;
-		@NotNull
-		private final String message;
+		@Nullable
+		private String message;
 		@NotNull
 		private final ProblemHighlightType highlightType;
 
+		@Nullable
+		private final String commandName;
+		@Nullable
+		private final ValueType prefixType;
+		@Nullable
+		private final ValueType peekType;
+
 		public PotentialProblem(@NotNull PsiElement errorElement, @NotNull String message, @NotNull ProblemHighlightType highlightType) {
 			this.errorElement = errorElement;
 			this.message = message;
 			this.highlightType = highlightType;
+			this.commandName = null;
+			this.prefixType = null;
+			this.peekType = null;
+		}
+
+		/**
+		 * Creates a "No syntax for" problem
+		 *
+		 * @param commandName name of the command without a matching syntax
+		 * @param prefixType  the prefix type that was given to the command, or null if there was none
+		 * @param peekType    the postfix type that was given to the command, or null if there was none
+		 */
+		public PotentialProblem(@NotNull SQFExpressionOperator errorElement, @NotNull String commandName,
+								@Nullable ValueType prefixType, @Nullable ValueType peekType) {
+			this.errorElement = errorElement;
+			this.message = null;
+			this.highlightType = ProblemHighlightType.GENERIC_ERROR_OR_WARNING;
+			this.commandName = commandName;
+			this.prefixType = prefixType;
+			this.peekType = peekType;
 		}
 
 		@NotNull
@@ -919,6 +1207,19 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 
 		@NotNull
 		public String getMessage() {
+			if (message == null) {
+				if (peekType == null) {
+					if (prefixType == null) {
+						message = "No syntax for '" + commandName + "' with left argument absent.";
+					} else {
+						message = "No syntax for '" + prefixType.getDisplayName() + " " + commandName + "'";
+					}
+				} else {
+					message = "No syntax for '" +
+							(prefixType == null ? "" : prefixType.getDisplayName() + " ")
+							+ commandName + " " + peekType.getDisplayName() + "'";
+				}
+			}
 			return message;
 		}
 
@@ -927,4 +1228,43 @@ public class SQFSyntaxChecker implements SQFSyntaxVisitor<ValueType> {
 			return highlightType;
 		}
 	}
+
+	/**
+	 * Memoized result of {@link #checkStatement(SQFStatement, CommandDescriptorCluster)}
+	 */
+	private static class StatementCheck {
+		private final long stamp;
+		@NotNull
+		private final SQFLocalTypeEnvironment.Bindings bindings;
+		@NotNull
+		private final ValueType type;
+		@NotNull
+		private final StatementProblems problems;
+
+		public StatementCheck(long stamp, @NotNull SQFLocalTypeEnvironment.Bindings bindings, @NotNull ValueType type,
+							  @NotNull StatementProblems problems) {
+			this.stamp = stamp;
+			this.bindings = bindings;
+			this.type = type;
+			this.problems = problems;
+		}
+	}
+
+	/**
+	 * All problems reported while checking one statement (including its nested statements)
+	 */
+	private static class StatementProblems implements SQFProblemReporter {
+		private final List<PotentialProblem> problems = new ArrayList<>(0);
+
+		@Override
+		public void registerProblem(@NotNull PsiElement element, @NotNull String message, @NotNull ProblemHighlightType highlightType) {
+			problems.add(new PotentialProblem(element, message, highlightType));
+		}
+
+		public void replay(@NotNull SQFProblemReporter reporter) {
+			for (PotentialProblem problem : problems) {
+				reporter.registerProblem(problem.getErrorElement(), problem.getMessage(), problem.getHighlightType());
+			}
+		}
+	}
 }
@@ -2,8 +2,14 @@ package com.kaylerrenslow.armaplugin.lang.sqf.psi;
 
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.lang.ASTNode;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.psi.PsiElement;
-import com.kaylerrenslow.armaplugin.lang.PsiUtil;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFCommandDictionary;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFCommandIdSet;
 import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptor;
 import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorCluster;
 import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorPool;
@@ -11,6 +17,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Kayler
@@ -18,15 +26,53 @@ import java.util.*;
  */
 public class SQFSyntaxHelper {
 	private static final SQFSyntaxHelper instance = new SQFSyntaxHelper();
+	/**
+	 * How long {@link #await(Future, String)} waits before checking if the current progress was canceled
+	 */
+	private static final long AWAIT_POLL_MILLIS = 10;
 
 	@NotNull
 	public static SQFSyntaxHelper getInstance() {
 		return instance;
 	}
 
-	private final CommandDescriptorPool pool = new CommandDescriptorPool();
+	@NotNull
+	private final CommandDescriptorPool pool;
+
+	/**
+	 * Shared executor for loading {@link CommandDescriptor} instances that aren't cached yet.
+	 */
+	@NotNull
+	private final ExecutorService executor;
+	@NotNull
+	private final Logger log;
 
 	private SQFSyntaxHelper() {
+		this(new CommandDescriptorPool(), createExecutor(), Logger.getInstance(SQFSyntaxHelper.class));
+	}
+
+	/**
+	 * Used for testing
+	 *
+	 * @param pool     pool to get descriptors from
+	 * @param executor executor to load descriptors that aren't cached on
+	 * @param log      logger for descriptors that couldn't be loaded
+	 */
+	SQFSyntaxHelper(@NotNull CommandDescriptorPool pool, @NotNull ExecutorService executor, @NotNull Logger log) {
+		this.pool = pool;
+		this.executor = executor;
+		this.log = log;
+	}
+
+	@NotNull
+	private static ExecutorService createExecutor() {
+		int threadCount = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+		AtomicInteger threadNumber = new AtomicInteger(0);
+		return Executors.newFixedThreadPool(threadCount, r -> {
+			Thread t = new Thread(r, SQFSyntaxHelper.class.getName() + " - Worker Thread " + threadNumber.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
 	}
 
 	@Nullable
@@ -34,11 +80,35 @@ public class SQFSyntaxHelper {
 		return pool.get(commandName);
 	}
 
+	/**
+	 * Loads the descriptor and keeps it cached for the lifetime of the plugin.
+	 *
+	 * @see CommandDescriptorPool#preload(String)
+	 */
+	@Nullable
+	public CommandDescriptor preloadDescriptor(@NotNull String commandName) {
+		return pool.preload(commandName);
+	}
+
 	public void checkSyntax(@NotNull SQFFile file, @NotNull ProblemsHolder problemsHolder) {
-		CommandDescriptorCluster cluster = getCommandDescriptors(file.getNode());
+		getCheckResult(file).registerAll(problemsHolder);
+	}
 
-		List<SQFStatement> statements = file.getFileScope().getChildStatements();
-		new SQFSyntaxChecker(statements, cluster, problemsHolder).begin();
+	/**
+	 * Type checks the whole file once and caches the result on the file until the file's PSI changes.
+	 *
+	 * @return the cached (or new) result of running {@link SQFSyntaxChecker} over every statement in the file
+	 */
+	@NotNull
+	public SQFSyntaxCheckResult getCheckResult(@NotNull SQFFile file) {
+		return CachedValuesManager.getCachedValue(file, () -> {
+			SQFSyntaxCheckResult result = new SQFSyntaxCheckResult();
+			CommandDescriptorCluster cluster = getCommandDescriptors(file);
+			List<SQFStatement> statements = file.getFileScope().getChildStatements();
+			new SQFSyntaxChecker(statements, cluster, result).begin();
+			result.getProblems(); //sort now so that readers don't have to
+			return CachedValueProvider.Result.create(result, file);
+		});
 	}
 
 	public void checkSyntax(@NotNull SQFStatement statement, @NotNull ProblemsHolder holder,
@@ -57,95 +127,173 @@ public class SQFSyntaxHelper {
 	 */
 	@NotNull
 	public CommandDescriptorCluster getCommandDescriptors(@NotNull ASTNode node) {
-		HashSet<String> commands = new HashSet<>();
-		{ //collect all commands needed to get syntax for
-			PsiUtil.traverseBreadthFirstSearch(node, astNode -> {
-				PsiElement psiElement = astNode.getPsi();
-				if (!(psiElement instanceof SQFCommand)) {
-					return false;
-				}
-				SQFCommand command = (SQFCommand) psiElement;
-				commands.add(command.getCommandName().toLowerCase());
-				//make sure we do commandname.toLowerCase() to guarantee name collisions
+		PsiElement psi = node.getPsi();
+		if (psi instanceof SQFFile) {
+			return getCommandDescriptors((SQFFile) psi);
+		}
+		return getCommandDescriptors(getCommandIds(node));
+	}
 
-				return false;
-			});
+	/**
+	 * Gets a {@link CommandDescriptorCluster} with every command in the given file.
+	 * This resolves the whole file's command set in one call.
+	 *
+	 * @see #getCommandIds(SQFFile)
+	 */
+	@NotNull
+	public CommandDescriptorCluster getCommandDescriptors(@NotNull SQFFile file) {
+		return getCommandDescriptors(getCommandIds(file));
+	}
+
+	/**
+	 * Gets the ids of every command in the file. The set is cached on the file until the file's PSI changes.
+	 *
+	 * @return the cached (or new) set. Don't modify it.
+	 * @see #getCommandIds(ASTNode)
+	 */
+	@NotNull
+	public SQFCommandIdSet getCommandIds(@NotNull SQFFile file) {
+		return CachedValuesManager.getCachedValue(file, () -> {
+			return CachedValueProvider.Result.create(getCommandIds(file.getNode()), file);
+		});
+	}
+
+	/**
+	 * Gets the ids ({@link SQFCommandDictionary}) of every command in the given node. Only the leaves of the tree are
+	 * visited and no PSI elements are created.
+	 *
+	 * @return a new set of command ids
+	 */
+	@NotNull
+	public SQFCommandIdSet getCommandIds(@NotNull ASTNode node) {
+		SQFCommandDictionary dictionary = SQFCommandDictionary.getInstance();
+		SQFCommandIdSet ids = new SQFCommandIdSet(dictionary.getCommandCount());
+		ASTNode current = node;
+		while (current != null) {
+			ASTNode child = current.getFirstChildNode();
+			if (child != null) {
+				current = child;
+				continue;
+			}
+			if (current.getElementType() == SQFTypes.COMMAND_TOKEN) {
+				int id = dictionary.getId(current.getChars());
+				if (id >= 0) {
+					ids.add(id);
+				}
+			}
+			//go to the next leaf without leaving node's subtree
+			while (current != node && current.getTreeNext() == null) {
+				current = current.getTreeParent();
+			}
+			current = current == node ? null : current.getTreeNext();
 		}
+		return ids;
+	}
 
+	/**
+	 * Gets all {@link CommandDescriptor} instances for the given command ids.
+	 *
+	 * @return a cluster of all {@link CommandDescriptor} instances for the given command ids
+	 * @see #getCommandDescriptors(Set)
+	 */
+	@NotNull
+	public CommandDescriptorCluster getCommandDescriptors(@NotNull SQFCommandIdSet commandIds) {
+		SQFCommandDictionary dictionary = SQFCommandDictionary.getInstance();
+		List<String> commands = new ArrayList<>(commandIds.size());
+		for (int id = commandIds.nextId(0); id >= 0; id = commandIds.nextId(id + 1)) {
+			commands.add(dictionary.getCommandName(id));
+		}
 		return getCommandDescriptors(commands);
 	}
 
 	/**
-	 * @return an array of all {@link CommandDescriptor} instances for the given set of command names
+	 * Gets all {@link CommandDescriptor} instances for the given set of command names. If every command is already cached,
+	 * they will be resolved on the calling thread. Otherwise, the commands that aren't cached are loaded on a shared
+	 * bounded executor with help from the calling thread. Waiting for the executor can be canceled through
+	 * {@link ProgressManager#checkCanceled()}.
+	 *
+	 * @return a cluster of all {@link CommandDescriptor} instances for the given set of command names
 	 */
 	@NotNull
 	public CommandDescriptorCluster getCommandDescriptors(@NotNull Set<String> commands) {
-		CommandDescriptor[] descriptors;
+		return getCommandDescriptors((Collection<String>) commands);
+	}
 
+	/**
+	 * @param commands command names with no duplicates (ignoring case)
+	 * @see #getCommandDescriptors(Set)
+	 */
+	@NotNull
+	private CommandDescriptorCluster getCommandDescriptors(@NotNull Collection<String> commands) {
 		if (commands.size() == 0) {
-			descriptors = new CommandDescriptor[0];
-			return new CommandDescriptorCluster(descriptors);
+			return new CommandDescriptorCluster();
 		}
 
-		final String[] first = new String[commands.size() / 2];
-		final String[] second = new String[commands.size() - first.length];
-		{ //split the commands up
-			int i = 0;
-			int j = 0;
-			for (String command : commands) {
-				if (i >= first.length) {
-					second[j] = command;
-					j++;
-				} else {
-					first[i] = command;
+		List<CommandDescriptor> descriptors = new ArrayList<>(commands.size());
+		List<String> notCached = new ArrayList<>();
+		for (String command : commands) {
+			if (pool.isCached(command)) {
+				CommandDescriptor d = getDescriptor(command);
+				if (d != null) {
+					descriptors.add(d);
 				}
-				i++;
+			} else {
+				notCached.add(command);
 			}
 		}
 
-		{//get syntax's concurrently
-			List<CommandDescriptor> finished = Collections.synchronizedList(new ArrayList<>());
-
-			Thread t1 = new Thread(() -> {
-				for (String command : first) {
-					CommandDescriptor d = getDescriptor(command);
-					if (d != null) {
-						finished.add(d);
-					}
-				}
-			}, getClass().getName() + " - Worker Thread 1");
-
-			Thread t2 = new Thread(() -> {
-				for (String command : second) {
-					CommandDescriptor d = getDescriptor(command);
-					if (d != null) {
-						finished.add(d);
-					}
+		if (notCached.size() > 1) {
+			//load all but the last command on the executor and then let this thread load the last one
+			List<Future<CommandDescriptor>> futures = new ArrayList<>(notCached.size() - 1);
+			for (int i = 0; i < notCached.size() - 1; i++) {
+				String command = notCached.get(i);
+				futures.add(executor.submit(() -> getDescriptor(command)));
+			}
+			CommandDescriptor last = getDescriptor(notCached.get(notCached.size() - 1));
+			if (last != null) {
+				descriptors.add(last);
+			}
+			for (int i = 0; i < futures.size(); i++) {
+				CommandDescriptor d = await(futures.get(i), notCached.get(i));
+				if (d != null) {
+					descriptors.add(d);
 				}
-			}, getClass().getName() + " - Worker Thread 2");
-
-			t1.start();
-			t2.start();
-			try {
-				t1.join();
-			} catch (InterruptedException ignore) {
-
 			}
-			try {
-				t2.join();
-			} catch (InterruptedException ignore) {
-
+		} else if (notCached.size() == 1) {
+			CommandDescriptor d = getDescriptor(notCached.get(0));
+			if (d != null) {
+				descriptors.add(d);
 			}
+		}
+
+		return new CommandDescriptorCluster(descriptors.toArray(new CommandDescriptor[descriptors.size()]));
+	}
 
-			//convert them into an array to release some memory and
-			//because we no longer need a synchronized list
-			descriptors = new CommandDescriptor[finished.size()];
-			int i = 0;
-			for (CommandDescriptor d : finished) {
-				descriptors[i++] = d;
+	/**
+	 * Waits for a descriptor that is loading on {@link #executor}. The wait is done in short polls so that
+	 * {@link ProgressManager#checkCanceled()} can cancel the wait (i.e. highlighting inside a read action that is
+	 * canceled because of a write action). A canceled wait doesn't cancel the loading, so the descriptor still gets cached.
+	 *
+	 * @param command the command being loaded
+	 * @return the descriptor, or null if it couldn't be loaded
+	 * @throws ProcessCanceledException if the current progress was canceled
+	 */
+	@Nullable
+	private CommandDescriptor await(@NotNull Future<CommandDescriptor> future, @NotNull String command) {
+		while (true) {
+			ProgressManager.checkCanceled();
+			try {
+				return future.get(AWAIT_POLL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException ignore) {
+				//check for cancellation and wait again
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return getDescriptor(command);
+			} catch (ExecutionException e) {
+				log.warn("Couldn't load command descriptor for " + command, e.getCause());
+				return null;
 			}
 		}
-		return new CommandDescriptorCluster(descriptors);
 	}
 
 }
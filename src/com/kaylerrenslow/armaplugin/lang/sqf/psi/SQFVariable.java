@@ -19,7 +19,6 @@ import com.kaylerrenslow.armaplugin.lang.sqf.psi.reference.SQFVariableReference;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -48,20 +47,11 @@ public class SQFVariable extends ASTWrapperPsiElement implements PsiNameIdentifi
 		if (sqfFile == null) {
 			return PsiReference.EMPTY_ARRAY;
 		}
-		List<SQFVariable> vars = new ArrayList<>();
-		PsiUtil.traverseBreadthFirstSearch(sqfFile.getNode(), astNode -> {
-			PsiElement nodeAsElement = astNode.getPsi();
-			if (nodeAsElement instanceof SQFVariable) {
-				SQFVariable var = (SQFVariable) nodeAsElement;
-				if (var.isLocal()) {
-					return false;
-				}
-				if (SQFVariableName.nameEquals(var.getVarName(), getVarName())) {
-					vars.add(var);
-				}
-			}
-			return false;
-		});
+		if (isLocal()) {
+			List<SQFVariableReference> refs = SQFScope.getVariableReferencesFor(this);
+			return refs.toArray(new PsiReference[refs.size()]);
+		}
+		List<SQFVariable> vars = SQFSymbolTable.get(sqfFile).getVariables(getVarName());
 		if (vars.isEmpty()) {
 			return PsiReference.EMPTY_ARRAY;
 		}
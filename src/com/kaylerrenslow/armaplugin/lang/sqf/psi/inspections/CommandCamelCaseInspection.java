@@ -12,6 +12,7 @@ import com.intellij.psi.PsiFile;
 import com.intellij.psi.SmartPointerManager;
 import com.intellij.psi.SmartPsiElementPointer;
 import com.kaylerrenslow.armaplugin.lang.PsiUtil;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFCommandDictionary;
 import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
 import com.kaylerrenslow.armaplugin.lang.sqf.SQFStatic;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFPsiCommand;
@@ -64,17 +65,17 @@ public class CommandCamelCaseInspection extends LocalInspectionTool {
 		@Override
 		public void visitCommand(@NotNull SQFPsiCommand o) {
 			super.visitCommand(o);
-			for (String command : SQFStatic.LIST_COMMANDS) {
-				if (o.getText().equalsIgnoreCase(command)) {
-					if (!o.getText().equals(command)) {
-						holder.registerProblem(
-								o, SQFStatic.getSQFBundle().getString("Inspections.CommandCamelCase.annotator-problem-description"),
-								ProblemHighlightType.GENERIC_ERROR_OR_WARNING,
-								new CamelCaseFixAction(o)
-						);
-					}
-					break;
-				}
+			String text = o.getText();
+			int id = SQFCommandDictionary.getInstance().getId(text);
+			if (id < 0) {
+				return;
+			}
+			if (!text.equals(SQFCommandDictionary.getInstance().getCommandName(id))) {
+				holder.registerProblem(
+						o, SQFStatic.getSQFBundle().getString("Inspections.CommandCamelCase.annotator-problem-description"),
+						ProblemHighlightType.GENERIC_ERROR_OR_WARNING,
+						new CamelCaseFixAction(o)
+				);
 			}
 		}
 	}
@@ -107,17 +108,16 @@ public class CommandCamelCaseInspection extends LocalInspectionTool {
 					if (commandElement == null) {
 						return;
 					}
-					for (String command : SQFStatic.LIST_COMMANDS) {
-						if (command.equalsIgnoreCase(commandElement.getText())) {
-							SQFPsiCommand c = PsiUtil.createElement(project, command, SQFFileType.INSTANCE, SQFPsiCommand.class);
-							if (c == null) {
-								return;
-							}
-							commandElement.replace(c);
-							return;
-						}
+					int id = SQFCommandDictionary.getInstance().getId(commandElement.getText());
+					if (id < 0) {
+						throw new IllegalStateException("command '" + commandElement.getText() + "' should have been matched");
+					}
+					String command = SQFCommandDictionary.getInstance().getCommandName(id);
+					SQFPsiCommand c = PsiUtil.createElement(project, command, SQFFileType.INSTANCE, SQFPsiCommand.class);
+					if (c == null) {
+						return;
 					}
-					throw new IllegalStateException("command '" + commandElement.getText() + "' should have been matched");
+					commandElement.replace(c);
 
 				}
 			};
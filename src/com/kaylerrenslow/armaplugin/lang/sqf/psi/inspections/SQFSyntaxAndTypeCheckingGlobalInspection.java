@@ -0,0 +1,127 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi.inspections;
+
+import com.intellij.analysis.AnalysisScope;
+import com.intellij.codeInspection.*;
+import com.intellij.codeInspection.reference.RefEntity;
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorBase;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFStatic;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFFile;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFSyntaxCheckResult;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFSyntaxHelper;
+import org.jetbrains.annotations.Nls;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch (Analyze -&gt; Inspect Code) version of {@link SQFSyntaxAndTypeCheckingInspection}. Rather than visiting
+ * statements file by file, every SQF file in the scope is type checked on its own thread under a read action, and the
+ * file's problems are given to the inspection view as soon as that file is done. In the editor,
+ * {@link SQFSyntaxAndTypeCheckingInspection} is still used ({@link #getSharedLocalInspectionTool()}). The platform also
+ * runs the shared local tool during Inspect Code, so its visitor is empty when not on the fly and each problem is only
+ * reported once.
+ * <p>
+ * Both use {@link SQFSyntaxHelper#getCheckResult(SQFFile)}, so a file that was already checked in the editor isn't
+ * checked again.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFSyntaxAndTypeCheckingGlobalInspection extends GlobalInspectionTool {
+
+	@Override
+	public void runInspection(@NotNull AnalysisScope scope, @NotNull InspectionManager manager,
+							  @NotNull GlobalInspectionContext globalContext,
+							  @NotNull ProblemDescriptionsProcessor problemDescriptionsProcessor) {
+		List<VirtualFile> files = new ArrayList<>();
+		scope.accept(new PsiElementVisitor() {
+			@Override
+			public void visitFile(PsiFile file) {
+				if (file instanceof SQFFile && file.getVirtualFile() != null) {
+					files.add(file.getVirtualFile());
+				}
+			}
+		});
+		if (files.isEmpty()) {
+			return;
+		}
+
+		ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+		if (indicator == null) {
+			indicator = new ProgressIndicatorBase();
+		}
+		PsiManager psiManager = PsiManager.getInstance(manager.getProject());
+		JobLauncher.getInstance().invokeConcurrentlyUnderProgress(files, indicator, true, virtualFile -> {
+			ApplicationManager.getApplication().runReadAction(() -> {
+				checkFile(virtualFile, psiManager, manager, globalContext, problemDescriptionsProcessor);
+			});
+			return true;
+		});
+	}
+
+	private static void checkFile(@NotNull VirtualFile virtualFile, @NotNull PsiManager psiManager,
+								  @NotNull InspectionManager manager, @NotNull GlobalInspectionContext globalContext,
+								  @NotNull ProblemDescriptionsProcessor processor) {
+		if (!virtualFile.isValid()) {
+			return;
+		}
+		PsiFile psiFile = psiManager.findFile(virtualFile);
+		if (!(psiFile instanceof SQFFile)) {
+			return;
+		}
+		SQFSyntaxCheckResult result = SQFSyntaxHelper.getInstance().getCheckResult((SQFFile) psiFile);
+		List<SQFSyntaxCheckResult.Problem> problems = result.getProblems();
+		if (problems.isEmpty()) {
+			return;
+		}
+		CommonProblemDescriptor[] descriptors = new CommonProblemDescriptor[problems.size()];
+		for (int i = 0; i < descriptors.length; i++) {
+			SQFSyntaxCheckResult.Problem problem = problems.get(i);
+			descriptors[i] = manager.createProblemDescriptor(problem.getElement(), problem.getMessage(), false,
+					LocalQuickFix.EMPTY_ARRAY, problem.getHighlightType()
+			);
+		}
+		RefEntity refFile = globalContext.getRefManager().getReference(psiFile);
+		if (refFile == null) {
+			return;
+		}
+		//files finish on different threads
+		synchronized (processor) {
+			processor.addProblemElement(refFile, descriptors);
+		}
+	}
+
+	@Override
+	public boolean isGraphNeeded() {
+		return false;
+	}
+
+	@Nullable
+	@Override
+	public LocalInspectionTool getSharedLocalInspectionTool() {
+		return new SQFSyntaxAndTypeCheckingInspection();
+	}
+
+	@Nls
+	@NotNull
+	@Override
+	public String getDisplayName() {
+		return SQFStatic.getSQFBundle().getString("Inspections.SyntaxAndTypeCheck.display-name");
+	}
+
+	@Nullable
+	@Override
+	public String getStaticDescription() {
+		return "<html><body>Checks SQF code to ensure valid syntax and argument types.</body></html>";
+	}
+}
@@ -3,16 +3,17 @@ package com.kaylerrenslow.armaplugin.lang.sqf.psi.inspections;
 import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.psi.PsiElementVisitor;
+import com.intellij.psi.PsiFile;
 import com.kaylerrenslow.armaplugin.lang.sqf.SQFStatic;
-import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFPsiStatement;
-import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFPsiVisitor;
-import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFStatement;
-import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFSyntaxHelper;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.*;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
+ * Editor version of {@link SQFSyntaxAndTypeCheckingGlobalInspection}. When not on the fly (Inspect Code), this does nothing
+ * since the global inspection reports the problems.
+ *
  * @author Kayler
  * @since 11/22/2017
  */
@@ -21,6 +22,10 @@ public class SQFSyntaxAndTypeCheckingInspection extends LocalInspectionTool {
 	@NotNull
 	@Override
 	public PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
+		if (!isOnTheFly) {
+			//Inspect Code reports every problem through SQFSyntaxAndTypeCheckingGlobalInspection
+			return PsiElementVisitor.EMPTY_VISITOR;
+		}
 		return new SQFPsiVisitor() {
 			@Override
 			public void visitStatement(@NotNull SQFPsiStatement o) {
@@ -28,7 +33,16 @@ public class SQFSyntaxAndTypeCheckingInspection extends LocalInspectionTool {
 				if (!(o instanceof SQFStatement)) {
 					return;
 				}
-				SQFSyntaxHelper.getInstance().checkSyntax((SQFStatement) o, holder);
+				//The whole file is checked once (and cached) and then each top level statement registers the
+				//problems inside its range. Nested statements are covered by their top level statement.
+				if (!(o.getParent() instanceof SQFFileScope)) {
+					return;
+				}
+				PsiFile file = o.getContainingFile();
+				if (!(file instanceof SQFFile)) {
+					return;
+				}
+				SQFSyntaxHelper.getInstance().getCheckResult((SQFFile) file).registerProblemsIn(o.getTextRange(), holder);
 			}
 		};
 	}
@@ -1,40 +1,65 @@
 package com.kaylerrenslow.armaplugin.lang.sqf.psi.reference;
 
 import com.intellij.openapi.util.TextRange;
-import com.intellij.psi.PsiElement;
-import com.intellij.psi.PsiElementResolveResult;
-import com.intellij.psi.PsiPolyVariantReference;
-import com.intellij.psi.ResolveResult;
+import com.intellij.psi.*;
+import com.intellij.psi.impl.source.resolve.ResolveCache;
+import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.util.IncorrectOperationException;
+import com.kaylerrenslow.armaplugin.lang.sqf.index.SQFCommandIndex;
 import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFCommand;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFFile;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.List;
 
 /**
+ * A reference from a command to all usages of the same command. The usages are found with {@link SQFCommandIndex} when
+ * the reference is resolved (not when it is created) and are cached until the PSI changes.
+ *
  * @author Kayler
  * @since 09/14/2017
  */
 public class SQFCommandReference implements PsiPolyVariantReference {
+	private static final ResolveCache.PolyVariantResolver<SQFCommandReference> RESOLVER = (ref, incompleteCode) -> {
+		return PsiElementResolveResult.createResults(ref.findTargets());
+	};
+
 	@NotNull
 	private final SQFCommand command;
-	@NotNull
-	private final List<SQFCommand> targets;
-	@NotNull
-	private final ResolveResult[] resolveResults;
+	@Nullable
+	private final GlobalSearchScope scope;
 
-	public SQFCommandReference(@NotNull SQFCommand command, @NotNull List<SQFCommand> targets) {
+	/**
+	 * @param command the command
+	 * @param scope   scope to find usages in, or null to only find usages in the command's file
+	 */
+	public SQFCommandReference(@NotNull SQFCommand command, @Nullable GlobalSearchScope scope) {
 		this.command = command;
-		this.targets = targets;
-
-		resolveResults = PsiElementResolveResult.createResults(targets);
+		this.scope = scope;
 	}
 
 	@NotNull
 	@Override
 	public ResolveResult[] multiResolve(boolean incompleteCode) {
-		return resolveResults;
+		return ResolveCache.getInstance(command.getProject()).resolveWithCaching(this, RESOLVER, false, incompleteCode);
+	}
+
+	@NotNull
+	private List<SQFCommand> findTargets() {
+		int id = command.getCommandId();
+		if (id < 0) {
+			return Collections.singletonList(command);
+		}
+		if (scope != null) {
+			return SQFCommandIndex.findCommands(command.getProject(), id, scope);
+		}
+		PsiFile file = command.getContainingFile();
+		if (!(file instanceof SQFFile)) {
+			return Collections.singletonList(command);
+		}
+		return SQFCommandIndex.findCommands((SQFFile) file, id);
 	}
 
 	@Override
@@ -50,7 +75,8 @@ public class SQFCommandReference implements PsiPolyVariantReference {
 	@Nullable
 	@Override
 	public PsiElement resolve() {
-		return targets.get(0);
+		ResolveResult[] results = multiResolve(false);
+		return results.length == 0 ? null : results[0].getElement();
 	}
 
 	@NotNull
@@ -74,9 +100,6 @@ public class SQFCommandReference implements PsiPolyVariantReference {
 		if (element == command) {
 			return true;
 		}
-		if (targets.contains(element)) {
-			return true;
-		}
 		if (element instanceof SQFCommand) {
 			SQFCommand other = (SQFCommand) element;
 			return this.command.commandNameEquals(other.getCommandName());
@@ -1,6 +1,7 @@
 package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -12,6 +13,11 @@ public class ArrayParam extends Param implements ArrayValueHolder {
 
 	private boolean unboundedParams;
 	private List<Param> params;
+	/**
+	 * The canonical type, set by {@link #internTypes()}. Null until then because the params may still change.
+	 */
+	@Nullable
+	private ValueType internedType;
 
 	public ArrayParam(boolean unboundedParams, @NotNull List<Param> params) {
 		this(unboundedParams, params, false);
@@ -42,9 +48,21 @@ public class ArrayParam extends Param implements ArrayValueHolder {
 		return params;
 	}
 
+	@Override
+	void internTypes() {
+		super.internTypes();
+		for (Param p : params) {
+			p.internTypes();
+		}
+		internedType = ArrayValueHolder.createType(this);
+	}
+
 	@NotNull
 	@Override
 	public ValueType getType() {
+		if (internedType != null) {
+			return internedType;
+		}
 		//cannot inherit from ArrayValueHolder implementation because we are extending Param
 		return ArrayValueHolder.createType(this);
 	}
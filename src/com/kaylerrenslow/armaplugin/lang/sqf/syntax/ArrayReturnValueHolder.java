@@ -1,6 +1,7 @@
 package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
 
@@ -11,6 +12,11 @@ import java.util.List;
 public class ArrayReturnValueHolder extends ReturnValueHolder implements ArrayValueHolder {
 	private List<ReturnValueHolder> values;
 	private boolean unbounded;
+	/**
+	 * The canonical type, set by {@link #internTypes()}. Null until then because the values may still change.
+	 */
+	@Nullable
+	private ValueType internedType;
 
 	public ArrayReturnValueHolder(@NotNull String description, @NotNull List<ReturnValueHolder> values, boolean unbounded) {
 		super(ValueType.BaseType.ARRAY, description);
@@ -27,9 +33,21 @@ public class ArrayReturnValueHolder extends ReturnValueHolder implements ArrayVa
 		return values;
 	}
 
+	@Override
+	void internTypes() {
+		super.internTypes();
+		for (ReturnValueHolder value : values) {
+			value.internTypes();
+		}
+		internedType = ArrayValueHolder.createType(this);
+	}
+
 	@NotNull
 	@Override
 	public ValueType getType() {
+		if (internedType != null) {
+			return internedType;
+		}
 		//cannot inherit from ArrayValueHolder implementation because we are extending ReturnValueHolder
 		return ArrayValueHolder.createType(this);
 	}
@@ -40,6 +40,9 @@ public interface ArrayValueHolder extends ValueHolder {
 	@NotNull
 	List<? extends ValueHolder> getValueHolders();
 
+	/**
+	 * @return the canonical type (see {@link ValueType#intern(ValueType)}) of an array with the given holder's values
+	 */
 	@NotNull
 	static ValueType createType(@NotNull ArrayValueHolder h) {
 		return createType(h.getValueHolders(), h.hasUnboundedParams());
@@ -48,7 +51,7 @@ public interface ArrayValueHolder extends ValueHolder {
 	@NotNull
 	static ValueType createType(@NotNull List<? extends ValueHolder> holders, boolean unbounded) {
 		if (holders.size() == 1 && !unbounded) {
-			return new SingletonArrayExpandedValueType(holders.get(0).getType());
+			return ValueType.intern(new SingletonArrayExpandedValueType(holders.get(0).getType()));
 		}
 		ExpandedValueType t = new ExpandedValueType(unbounded, new ArrayList<>());
 		int numOptional = 0;
@@ -57,6 +60,6 @@ public interface ArrayValueHolder extends ValueHolder {
 			numOptional += childH.isOptional() ? 1 : 0;
 		}
 		t.setNumOptionalValues(numOptional);
-		return t;
+		return ValueType.intern(t);
 	}
 }
@@ -13,7 +13,7 @@ public class BasicValueHolder implements ValueHolder {
 
 	private boolean optional;
 
-	private final ValueType type;
+	private ValueType type;
 	private final String description;
 	private final List<String> literals;
 
@@ -49,4 +49,12 @@ public class BasicValueHolder implements ValueHolder {
 	public List<String> getLiterals() {
 		return literals;
 	}
+
+	/**
+	 * Replaces {@link #getType()} with its canonical instance (see {@link ValueType#intern(ValueType)}).
+	 * Only invoke this after all polymorphic types have been added to {@link #getType()}.
+	 */
+	void internTypes() {
+		type = ValueType.intern(type);
+	}
 }
@@ -23,10 +23,20 @@ public class CodeType extends ValueType {
 
 	private final ValueType returnType;
 	private final ExpandedValueType expandedValueType;
-	private final List<ValueType> polymorphTypes = new ArrayList<>();
+	private final List<ValueType> polymorphTypes;
 
 	public CodeType(@NotNull ValueType returnType) {
+		this(returnType, new ArrayList<>());
+	}
+
+	/**
+	 * Used by {@link ValueTypeInterner}
+	 *
+	 * @param polymorphTypes list to use for {@link #getPolymorphicTypes()}
+	 */
+	CodeType(@NotNull ValueType returnType, @NotNull List<ValueType> polymorphTypes) {
 		this.returnType = returnType;
+		this.polymorphTypes = polymorphTypes;
 		expandedValueType = new ExpandedValueType(false, polymorphTypes, this);
 	}
 
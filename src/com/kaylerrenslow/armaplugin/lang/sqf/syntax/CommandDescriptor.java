@@ -12,12 +12,29 @@ import java.util.List;
  */
 public class CommandDescriptor {
 	/**
+	 * Gets a {@link CommandDescriptor} from the compiled {@link CommandSyntaxBundle}. If the bundle doesn't exist or
+	 * doesn't have the command, the command's syntax xml file will be parsed instead.
+	 *
 	 * @see CommandXMLInputStream#CommandXMLInputStream(String)
 	 */
 	@Nullable
 	public static CommandDescriptor getDescriptorFromFile(@NotNull String commandName) {
+		CommandSyntaxBundle bundle = CommandSyntaxBundle.getInstance();
+		if (bundle != null) {
+			try {
+				CommandDescriptor d = bundle.materialize(commandName);
+				if (d != null) {
+					d.internTypes();
+					return d;
+				}
+			} catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
 		try {
-			return SQFCommandSyntaxXMLLoader.importFromStream(new CommandXMLInputStream(commandName), false);
+			CommandDescriptor d = SQFCommandSyntaxXMLLoader.importFromStream(new CommandXMLInputStream(commandName), false);
+			d.internTypes();
+			return d;
 		} catch (Exception e) {
 			if (e instanceof UnsupportedOperationException) {
 				//command doesn't have a syntax xml file
@@ -38,6 +55,8 @@ public class CommandDescriptor {
 
 	private boolean uncertain = false;
 
+	private volatile CommandSyntaxIndex syntaxIndex;
+
 	public CommandDescriptor(@NotNull String commandName) {
 		this.commandName = commandName;
 		syntaxList = Collections.emptyList();
@@ -62,6 +81,20 @@ public class CommandDescriptor {
 		return syntaxList;
 	}
 
+	/**
+	 * @return an index over {@link #getSyntaxList()} for quickly finding syntaxes that match a prefix type.
+	 * The index is created on first use.
+	 */
+	@NotNull
+	public CommandSyntaxIndex getSyntaxIndex() {
+		CommandSyntaxIndex index = syntaxIndex;
+		if (index == null) {
+			index = new CommandSyntaxIndex(syntaxList);
+			syntaxIndex = index;
+		}
+		return index;
+	}
+
 	/**
 	 * @return the command's case-sensitive name
 	 */
@@ -108,6 +141,25 @@ public class CommandDescriptor {
 		this.uncertain = uncertain;
 	}
 
+	/**
+	 * Replaces every param and return value type with its canonical instance (see {@link ValueType#intern(ValueType)})
+	 * so that type checking against this descriptor can use {@link ValueType#typeEquivalent(ValueType, ValueType)}'s
+	 * cached results. The descriptor's types can't be modified after this.
+	 */
+	void internTypes() {
+		for (CommandSyntax syntax : syntaxList) {
+			Param prefix = syntax.getPrefixParam();
+			if (prefix != null) {
+				prefix.internTypes();
+			}
+			Param postfix = syntax.getPostfixParam();
+			if (postfix != null) {
+				postfix.internTypes();
+			}
+			syntax.getReturnValue().internTypes();
+		}
+	}
+
 	@Override
 	public int hashCode() {
 		return commandName.hashCode();
@@ -1,34 +1,85 @@
 package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
 
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFCommandDictionary;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Different from {@link CommandDescriptorPool} in that this class contains existing {@link CommandDescriptor} instances
  * whereas {@link CommandDescriptorPool} can create them on demand from file.
+ * <p>
+ * Descriptors are stored in an array indexed by command id ({@link SQFCommandDictionary}), so {@link #get(int)} is
+ * just an array access. Descriptors for names that aren't in the dictionary are kept in a separate map.
  *
  * @author Kayler
  * @since 11/14/2017
  */
 public class CommandDescriptorCluster {
-	private final Map<String, CommandDescriptor> map = new HashMap<>();
+	private static final CommandDescriptor[] EMPTY = new CommandDescriptor[0];
+
+	/**
+	 * Command id -> descriptor. Only long enough to hold the largest id in the cluster.
+	 */
+	private final CommandDescriptor[] descriptors;
+	/**
+	 * Lowercase command name -> descriptor, for descriptors that don't have a command id
+	 */
+	private final Map<String, CommandDescriptor> unknownCommands;
 
 	public CommandDescriptorCluster(@NotNull CommandDescriptor... descriptors) {
-		for (CommandDescriptor cd : descriptors) {
-			map.put(cd.getCommandName().toLowerCase(), cd);
+		SQFCommandDictionary dictionary = SQFCommandDictionary.getInstance();
+		int[] ids = new int[descriptors.length];
+		int maxId = -1;
+		Map<String, CommandDescriptor> unknownCommands = null;
+		for (int i = 0; i < descriptors.length; i++) {
+			CommandDescriptor cd = descriptors[i];
+			ids[i] = dictionary.getId(cd.getCommandName());
+			if (ids[i] < 0) {
+				if (unknownCommands == null) {
+					unknownCommands = new HashMap<>();
+				}
+				unknownCommands.put(cd.getCommandName().toLowerCase(), cd);
+			}
+			maxId = Math.max(maxId, ids[i]);
+		}
+		this.descriptors = maxId < 0 ? EMPTY : new CommandDescriptor[maxId + 1];
+		for (int i = 0; i < descriptors.length; i++) {
+			if (ids[i] >= 0) {
+				this.descriptors[ids[i]] = descriptors[i];
+			}
 		}
+		this.unknownCommands = unknownCommands == null ? Collections.emptyMap() : unknownCommands;
 	}
 
-
 	/**
 	 * @return the {@link CommandDescriptor} for the given command name (case-insensitive), or null if couldn't be found
 	 * or doesn't exist in cluster
 	 */
 	@Nullable
 	public CommandDescriptor get(@NotNull String commandName) {
-		return map.get(commandName.toLowerCase());
+		int id = SQFCommandDictionary.getInstance().getId(commandName);
+		if (id >= 0) {
+			return get(id);
+		}
+		if (unknownCommands.isEmpty()) {
+			return null;
+		}
+		return unknownCommands.get(commandName.toLowerCase());
+	}
+
+	/**
+	 * @param commandId id from {@link SQFCommandDictionary}
+	 * @return the {@link CommandDescriptor} for the given command id, or null if it doesn't exist in cluster
+	 */
+	@Nullable
+	public CommandDescriptor get(int commandId) {
+		if (commandId < 0 || commandId >= descriptors.length) {
+			return null;
+		}
+		return descriptors[commandId];
 	}
 }
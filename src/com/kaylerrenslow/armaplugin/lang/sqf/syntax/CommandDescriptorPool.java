@@ -3,96 +3,164 @@ package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 /**
  * Used for caching and loading SQF command syntax's ({@link CommandSyntax}) from their xml files. This class
  * also features concurrent access and XML loading. It is recommend to not have a lot of instances of this class
  * to save memory and get optimal concurrency.
+ * <p>
+ * Retrieving a descriptor never takes a lock. If many threads request the same uncached command at once, only one
+ * thread loads it and the other threads wait for that load to finish (single flight).
+ * The cache is bounded and uses a TinyLFU admission policy: when the cache is full, a newly loaded command only
+ * replaces the oldest cached command if the new command has been requested more often.
+ * <p>
+ * A failed load (no syntax file, or the syntax file couldn't be parsed) is cached like a successful load. The syntax
+ * files are class path resources, so loading the same command again would fail again and only waste time parsing.
  *
  * @author Kayler
  * @since 11/13/2017
  * @see com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFSyntaxHelper#getDescriptor(String)
  */
 public class CommandDescriptorPool {
-	private final DescriptorWrapper[] tallyCache = new DescriptorWrapper[30];
+	/**
+	 * Default value for {@link #getMaximumSize()}
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+	/**
+	 * Commands that are frequently used in SQF. These commands are loaded when the pool is created and are never evicted.
+	 */
+	private static final String[] FREQUENT_COMMANDS = {
+			"addAction",
+			"and",
+			"append",
+			"blufor",
+			"breakOut",
+			"breakTo",
+			"call",
+			"case",
+			"count",
+			"damage",
+			"direction",
+			"do",
+			"driver",
+			"east",
+			"else",
+			"exitWith",
+			"false",
+			"findDisplay",
+			"for",
+			"forEach",
+			"format",
+			"from",
+			"getDir",
+			"group",
+			"hint",
+			"if",
+			"in",
+			"isNil",
+			"isNull",
+			"localize",
+			"nil",
+			"not",
+			"opfor",
+			"or",
+			"player",
+			"position",
+			"private",
+			"select",
+			"set",
+			"setDir",
+			"setPos",
+			"sleep",
+			"spawn",
+			"step",
+			"str",
+			"switch",
+			"then",
+			"to",
+			"true",
+			"typeOf",
+			"uiSleep",
+			"vehicle",
+			"waitUntil",
+			"west",
+			"while",
+	};
+
 	/**
 	 * Cache of commands that are frequently used in SQF. All commands in here should have there syntax XML parsed
-	 * once to save overall time when fetching lots of commands at once.
+	 * once to save overall time when fetching lots of commands at once. This map is never modified after construction.
 	 */
 	private final Map<String, CommandDescriptor> frequentCache = new HashMap<>();
-	private final Random random = new Random();
-	private final LinkedBlockingQueue<ProcessingCommand> processing = new LinkedBlockingQueue<>();
 
-	private final DescriptorWrapper PLACEHOLDER = new DescriptorWrapper(new CommandDescriptor(""));
+	/**
+	 * Commands that were loaded with {@link #preload(String)}. These are never evicted.
+	 */
+	private final ConcurrentHashMap<String, CommandDescriptor> pinnedCache = new ConcurrentHashMap<>();
+
+	/**
+	 * lowercase command name -> cached (or loading) descriptor
+	 */
+	private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+	/**
+	 * Cached entries in the order they were admitted. The head is the next eviction victim.
+	 */
+	private final ConcurrentLinkedQueue<CacheEntry> evictionQueue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger size = new AtomicInteger(0);
+	private final int maximumSize;
+	@NotNull
+	private final FrequencySketch sketch;
+	@NotNull
+	private final Function<String, CommandDescriptor> loader;
+
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final LongAdder loadCount = new LongAdder();
+	private final LongAdder loadFailureCount = new LongAdder();
+	private final LongAdder totalLoadTimeNanos = new LongAdder();
+	private final LongAdder evictionCount = new LongAdder();
 
 	public CommandDescriptorPool() {
-		//fill the array to prevent null pointer exception when sorting array
-		Arrays.fill(tallyCache, PLACEHOLDER);
-
-		String[] frequent = {
-				"addAction",
-				"and",
-				"append",
-				"blufor",
-				"breakOut",
-				"breakTo",
-				"call",
-				"case",
-				"count",
-				"damage",
-				"direction",
-				"do",
-				"driver",
-				"east",
-				"else",
-				"exitWith",
-				"false",
-				"findDisplay",
-				"for",
-				"forEach",
-				"format",
-				"from",
-				"getDir",
-				"group",
-				"hint",
-				"if",
-				"in",
-				"isNil",
-				"isNull",
-				"localize",
-				"nil",
-				"not",
-				"opfor",
-				"or",
-				"player",
-				"position",
-				"private",
-				"select",
-				"set",
-				"setDir",
-				"setPos",
-				"sleep",
-				"spawn",
-				"step",
-				"str",
-				"switch",
-				"then",
-				"to",
-				"true",
-				"typeOf",
-				"uiSleep",
-				"vehicle",
-				"waitUntil",
-				"west",
-				"while",
-		};
-		for (String command : frequent) {
-			frequentCache.put(command.toLowerCase(), CommandDescriptor.getDescriptorFromFile(command));
+		this(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	/**
+	 * @param maximumSize the maximum number of commands to cache (not including the frequently used commands)
+	 * @throws IllegalArgumentException if maximumSize is < 1
+	 */
+	public CommandDescriptorPool(int maximumSize) {
+		this(maximumSize, FREQUENT_COMMANDS, CommandDescriptor::getDescriptorFromFile);
+	}
+
+	/**
+	 * Creates a pool that doesn't read syntax xml files. Used for testing.
+	 *
+	 * @param maximumSize      the maximum number of commands to cache (not including the frequently used commands)
+	 * @param frequentCommands commands that are loaded now and never evicted
+	 * @param loader           creates a {@link CommandDescriptor} from a command name, or returns null if it couldn't
+	 * @throws IllegalArgumentException if maximumSize is < 1
+	 */
+	public CommandDescriptorPool(int maximumSize, @NotNull String[] frequentCommands,
+								 @NotNull Function<String, CommandDescriptor> loader) {
+		if (maximumSize < 1) {
+			throw new IllegalArgumentException("maximumSize must be >= 1");
+		}
+		this.maximumSize = maximumSize;
+		this.sketch = new FrequencySketch(maximumSize);
+		this.loader = loader;
+
+		for (String command : frequentCommands) {
+			frequentCache.put(command.toLowerCase(), loader.apply(command));
 		}
 	}
 
@@ -101,11 +169,12 @@ public class CommandDescriptorPool {
 	 * This method will check a map full of frequently used commands. If the command exists in the frequently used commands,
 	 * the frequently used command will only be parsed once in it's lifetime to speed-up access times.
 	 * <p>
-	 * If the command is not frequently used, it will check an independent tallied cache. If it exists there, it will keep tally
-	 * of how many times it gets used. In theory, commands with a low tally count will not last as long in the cache as high-tallied
-	 * commands. However, the tallied cache can be completely replaced over time.
+	 * If the command is not frequently used, it will check a bounded cache. If the command isn't cached, it is loaded
+	 * by the calling thread, unless another thread is already loading it, in which case this method waits for that load.
+	 * Commands that are requested often will stay in the cache longer than commands that are rarely requested.
 	 * <p>
-	 * This method will return null when a syntax xml file doesn't exist or the XML had an error being parsed.
+	 * This method will return null when a syntax xml file doesn't exist or the XML had an error being parsed. The null
+	 * result is cached, so the command isn't loaded again until it is evicted.
 	 * <p>
 	 * This method will not get any parameter descriptions, return descriptions, or any other type of descriptions.
 	 * If you wish to get these descriptions, you will need to invoke
@@ -117,160 +186,322 @@ public class CommandDescriptorPool {
 	@Nullable
 	public CommandDescriptor get(@NotNull String commandName) {
 		commandName = commandName.toLowerCase();
-		if (frequentCache.containsKey(commandName)) {
-			return frequentCache.get(commandName);
+		CommandDescriptor frequent = frequentCache.get(commandName);
+		if (frequent != null) {
+			hitCount.increment();
+			return frequent;
 		}
 
-		synchronized (tallyCache) {
-			for (DescriptorWrapper w : tallyCache) {
-				if (w == null || w == PLACEHOLDER) {
-					continue;
-				}
-				if (w.descriptor.getCommandName().equalsIgnoreCase(commandName)) {
-					w.requestCount++;
-					return w.descriptor;
-				}
-			}
+		CommandDescriptor pinned = pinnedCache.get(commandName);
+		if (pinned != null) {
+			hitCount.increment();
+			return pinned;
 		}
 
-		ProcessingCommand processingCommand;
+		sketch.increment(commandName);
 
-		synchronized (processing) {
-			ProcessingCommand waitFor = null;
-			for (ProcessingCommand processing : processing) {
-				if (processing.commandName.equalsIgnoreCase(commandName)) {
-					waitFor = processing;
-					break;
-				}
-			}
-			if (waitFor != null) {
-				try {
-					return waitFor.result.get();
-				} catch (Exception e) {
-					e.printStackTrace();
-					return null;
-				}
+		CacheEntry entry = cache.get(commandName);
+		if (entry != null) {
+			hitCount.increment();
+			return entry.get();
+		}
+
+		CacheEntry newEntry = new CacheEntry(commandName);
+		entry = cache.putIfAbsent(commandName, newEntry);
+		if (entry != null) {
+			//another thread is loading the command (or just finished)
+			hitCount.increment();
+			return entry.get();
+		}
+
+		missCount.increment();
+		long start = System.nanoTime();
+		CommandDescriptor d = null;
+		try {
+			d = loader.apply(commandName);
+		} finally {
+			totalLoadTimeNanos.add(System.nanoTime() - start);
+			if (d == null) {
+				loadFailureCount.increment();
 			} else {
-				processingCommand = new ProcessingCommand(commandName);
-				processing.add(processingCommand);
+				loadCount.increment();
 			}
+			newEntry.result.complete(d);
+			admit(newEntry);
 		}
 
-		CommandDescriptor d = CommandDescriptor.getDescriptorFromFile(commandName);
+		return d;
+	}
 
-		if (d == null) {
-			synchronized (processing) {
-				processingCommand.result.put(null);
-				processing.remove(processingCommand);
-			}
-			return null;
-		}
-		DescriptorWrapper ret = new DescriptorWrapper(d);
-
-		synchronized (tallyCache) {
-			Arrays.sort(tallyCache);
-
-			/*
-			* Instead of replacing the least recently used command in the cache, we are replacing a randomly
-			* selected command in the lower third of the cache. The reason we are doing this is because
-			* if we only replaced the least recently used, the least recently used command
-			* would constantly be swapped out; also, it would be hard for the rest of the commands to get
-			* replaced in the cache.
-			*/
-			int replaceInd = random.nextInt(tallyCache.length / 3);
-			tallyCache[replaceInd] = ret;
-
-			synchronized (processing) {
-				processingCommand.result.put(ret.descriptor);
-				processing.remove(processingCommand);
-			}
+	/**
+	 * Loads the command (or waits for a load that is already in progress) and keeps it in the pool forever, regardless of
+	 * {@link #getMaximumSize()}. This is used for warming up the pool.
+	 *
+	 * @param commandName the name of command (case sensitivity doesn't matter).
+	 * @return {@link #get(String)}
+	 */
+	@Nullable
+	public CommandDescriptor preload(@NotNull String commandName) {
+		commandName = commandName.toLowerCase();
+		CommandDescriptor d = get(commandName);
+		if (d == null || frequentCache.containsKey(commandName)) {
+			return d;
 		}
+		pinnedCache.put(commandName, d);
+		//no need to keep it in the bounded cache anymore
+		CacheEntry entry = cache.get(commandName);
+		if (entry != null && entry.result.isDone() && cache.remove(commandName, entry)) {
+			size.decrementAndGet();
+		}
+		return d;
+	}
 
+	/**
+	 * @return true if the command is in the frequently used commands or has been loaded and is still in the cache
+	 */
+	public boolean isCached(@NotNull String commandName) {
+		commandName = commandName.toLowerCase();
+		if (frequentCache.containsKey(commandName) || pinnedCache.containsKey(commandName)) {
+			return true;
+		}
+		CacheEntry entry = cache.get(commandName);
+		return entry != null && entry.result.isDone();
+	}
 
-		return ret.descriptor;
+	/**
+	 * @return the maximum number of commands this pool will cache (not including the frequently used commands)
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
 	}
 
-	private class DescriptorWrapper implements Comparable<DescriptorWrapper> {
+	/**
+	 * @return a snapshot of the pool's statistics
+	 */
+	@NotNull
+	public Stats getStats() {
+		return new Stats(hitCount.sum(), missCount.sum(), loadCount.sum(), loadFailureCount.sum(),
+				totalLoadTimeNanos.sum(), evictionCount.sum(), size.get()
+		);
+	}
+
+	/**
+	 * Adds the (loaded) entry to the eviction queue and evicts entries until the cache is no larger than {@link #maximumSize}.
+	 * The head of the eviction queue is the victim. The victim is only evicted if the new entry is estimated to be requested
+	 * more often than the victim. Otherwise, the new entry is evicted and the victim gets another chance at the back of the queue.
+	 */
+	private void admit(@NotNull CacheEntry candidate) {
+		evictionQueue.add(candidate);
+		if (size.incrementAndGet() <= maximumSize) {
+			return;
+		}
+		int candidateFrequency = sketch.frequency(candidate.commandName);
+		while (size.get() > maximumSize) {
+			CacheEntry victim = evictionQueue.poll();
+			if (victim == null) {
+				return;
+			}
+			if (victim != candidate && cache.get(victim.commandName) == victim
+					&& sketch.frequency(victim.commandName) >= candidateFrequency) {
+				//victim is requested at least as often. keep it and evict the candidate instead
+				evictionQueue.add(victim);
+				victim = candidate;
+			}
+			if (cache.remove(victim.commandName, victim)) {
+				size.decrementAndGet();
+				evictionCount.increment();
+			}
+			if (victim == candidate) {
+				return;
+			}
+		}
+	}
 
+	private static class CacheEntry {
 		@NotNull
-		private final CommandDescriptor descriptor;
-		private int requestCount = 0;
+		private final String commandName;
+		private final CompletableFuture<CommandDescriptor> result = new CompletableFuture<>();
 
-		public DescriptorWrapper(@NotNull CommandDescriptor descriptor) {
-			this.descriptor = descriptor;
+		public CacheEntry(@NotNull String commandName) {
+			this.commandName = commandName;
 		}
 
-		@Override
-		public int compareTo(@NotNull DescriptorWrapper o) {
-			//sort from -infinity to +infinity (A to Z)
-			return this.requestCount - o.requestCount;
+		@Nullable
+		public CommandDescriptor get() {
+			CommandDescriptor d = result.getNow(null);
+			if (d != null || result.isDone()) {
+				return d;
+			}
+			try {
+				return result.join();
+			} catch (Exception e) {
+				e.printStackTrace();
+				return null;
+			}
 		}
 
 		@Override
 		public String toString() {
-			return "DescriptorWrapper{name=" + descriptor.getCommandName() + ", reqCount=" + requestCount + "}";
+			return "CacheEntry{name=" + commandName + ", done=" + result.isDone() + "}";
 		}
 	}
 
-	private class ProcessingCommand {
-		@NotNull
-		private final String commandName;
-		private FutureImpl<CommandDescriptor> result = new FutureImpl<>();
+	/**
+	 * A count-min sketch of 4 rows that estimates how often a command has been requested. Counters saturate at 15 and all
+	 * counters are halved after a sample of requests so that old popularity fades away (TinyLFU aging).
+	 */
+	private static class FrequencySketch {
+		private static final int MAX_COUNT = 15;
+		private static final int[] SEEDS = {0x97cb3127, 0x0ba5b89b, 0x7f4a7c15, 0x2545f491};
+
+		private final AtomicIntegerArray table;
+		private final int mask;
+		private final int sampleSize;
+		private final AtomicInteger additions = new AtomicInteger(0);
+
+		FrequencySketch(int maximumSize) {
+			int width = 16;
+			while (width < maximumSize * 4) {
+				width <<= 1;
+			}
+			table = new AtomicIntegerArray(width);
+			mask = width - 1;
+			sampleSize = maximumSize * 10;
+		}
 
-		public ProcessingCommand(@NotNull String commandName) {
-			this.commandName = commandName;
+		void increment(@NotNull String key) {
+			int hash = spread(key.hashCode());
+			boolean added = false;
+			for (int seed : SEEDS) {
+				int index = indexOf(hash, seed);
+				int count = table.get(index);
+				if (count < MAX_COUNT && table.compareAndSet(index, count, count + 1)) {
+					added = true;
+				}
+			}
+			if (added && additions.incrementAndGet() >= sampleSize) {
+				reset();
+			}
 		}
 
-		@Override
-		public boolean equals(Object o) {
-			if (o == this) {
-				return true;
+		int frequency(@NotNull String key) {
+			int hash = spread(key.hashCode());
+			int min = MAX_COUNT;
+			for (int seed : SEEDS) {
+				min = Math.min(min, table.get(indexOf(hash, seed)));
 			}
-			if (o instanceof ProcessingCommand) {
-				return this.commandName.equalsIgnoreCase(((ProcessingCommand) o).commandName);
+			return min;
+		}
+
+		private void reset() {
+			additions.set(0);
+			for (int i = 0; i < table.length(); i++) {
+				int count;
+				do {
+					count = table.get(i);
+				} while (!table.compareAndSet(i, count, count >>> 1));
 			}
-			return false;
+		}
+
+		private int indexOf(int hash, int seed) {
+			int h = hash * seed;
+			return (h ^ (h >>> 16)) & mask;
+		}
+
+		private static int spread(int h) {
+			h ^= h >>> 16;
+			h *= 0x45d9f3b;
+			return h ^ (h >>> 16);
 		}
 	}
 
-	private class FutureImpl<T> implements Future<T> {
-		private final CountDownLatch latch = new CountDownLatch(1);
-		private volatile T value;
+	/**
+	 * Snapshot of {@link CommandDescriptorPool} statistics. Hits include requests that waited for another thread's load.
+	 */
+	public static class Stats {
+		private final long hitCount;
+		private final long missCount;
+		private final long loadCount;
+		private final long loadFailureCount;
+		private final long totalLoadTimeNanos;
+		private final long evictionCount;
+		private final int size;
+
+		private Stats(long hitCount, long missCount, long loadCount, long loadFailureCount, long totalLoadTimeNanos,
+					  long evictionCount, int size) {
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.loadCount = loadCount;
+			this.loadFailureCount = loadFailureCount;
+			this.totalLoadTimeNanos = totalLoadTimeNanos;
+			this.evictionCount = evictionCount;
+			this.size = size;
+		}
 
-		@Override
-		public boolean cancel(boolean mayInterruptIfRunning) {
-			return false;
+		public long getHitCount() {
+			return hitCount;
 		}
 
-		@Override
-		public boolean isCancelled() {
-			return false;
+		public long getMissCount() {
+			return missCount;
 		}
 
-		@Override
-		public boolean isDone() {
-			return latch.getCount() == 0;
+		/**
+		 * @return number of loads that created a {@link CommandDescriptor}
+		 */
+		public long getLoadCount() {
+			return loadCount;
 		}
 
-		@Override
-		public T get() throws InterruptedException {
-			latch.await();
-			return value;
+		/**
+		 * @return number of loads that didn't create a {@link CommandDescriptor} (no syntax file or bad syntax file)
+		 */
+		public long getLoadFailureCount() {
+			return loadFailureCount;
 		}
 
-		@Override
-		public T get(long timeout, TimeUnit unit) throws InterruptedException, TimeoutException {
-			if (latch.await(timeout, unit)) {
-				return value;
-			} else {
-				throw new TimeoutException();
-			}
+		public long getTotalLoadTimeNanos() {
+			return totalLoadTimeNanos;
+		}
+
+		/**
+		 * @return average time of a load in nanoseconds, or 0 if nothing has been loaded
+		 */
+		public double getAverageLoadTimeNanos() {
+			long loads = loadCount + loadFailureCount;
+			return loads == 0 ? 0 : (double) totalLoadTimeNanos / loads;
+		}
+
+		public long getEvictionCount() {
+			return evictionCount;
 		}
 
-		// calling this more than once doesn't make sense, and won't work properly in this implementation. so: don't.
-		public void put(T result) {
-			value = result;
-			latch.countDown();
+		/**
+		 * @return number of cached commands (not including the frequently used commands)
+		 */
+		public int getSize() {
+			return size;
+		}
+
+		/**
+		 * @return hits / (hits + misses), or 1 if there were no requests
+		 */
+		public double getHitRate() {
+			long requests = hitCount + missCount;
+			return requests == 0 ? 1 : (double) hitCount / requests;
+		}
+
+		@Override
+		public String toString() {
+			return "CommandDescriptorPool.Stats{" +
+					"hits=" + hitCount +
+					", misses=" + missCount +
+					", loads=" + loadCount +
+					", loadFailures=" + loadFailureCount +
+					", avgLoadTimeMs=" + getAverageLoadTimeNanos() / 1_000_000.0 +
+					", evictions=" + evictionCount +
+					", size=" + size +
+					'}';
 		}
 	}
 }
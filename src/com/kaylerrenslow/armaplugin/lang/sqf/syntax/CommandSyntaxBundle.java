@@ -0,0 +1,312 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * All command syntax's compiled into one binary file by <code>CommandSyntaxBundleCompiler</code> (a development tool in
+ * the tests source root, see syntax/README.md). The bundle is read once and then any {@link CommandDescriptor} can be
+ * created from it without parsing XML.
+ * <p>
+ * File layout (all numbers are big endian):
+ * <pre>
+ * int magic, int version
+ * string pool:  u2 count, (u2 byteLength, utf8 bytes)*
+ * type table:   u2 count, (u1 tag, u2 value)*   tag TYPE_BASE: value=string index of {@link ValueType.BaseType} name
+ *                                                tag TYPE_CODE: value=type index of {@link CodeType#getReturnType()}
+ * command table: u2 count, (u2 key string index, int body offset)*
+ * command bodies
+ * </pre>
+ * A command body is the command name, game version, game link prefix, flags, and then the syntax list. Params and return
+ * values reference the string pool and type table by index, so every type name is stored once. {@link CodeType}s are
+ * copied for each value holder when materializing (see {@link #newType(int)}).
+ * <p>
+ * Descriptions are never stored in the bundle. If you need descriptions, use
+ * {@link SQFCommandSyntaxXMLLoader#importFromStream(CommandXMLInputStream, boolean)}
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+class CommandSyntaxBundle {
+	/**
+	 * Class path location of the compiled bundle
+	 */
+	static final String BUNDLE_RESOURCE = "/com/kaylerrenslow/armaplugin/lang/sqf/syntax/syntax.bundle";
+
+	static final int MAGIC = 0x53514653; //SQFS
+	static final int VERSION = 1;
+
+	static final byte TYPE_BASE = 0;
+	static final byte TYPE_CODE = 1;
+
+	static final byte HOLDER_NONE = 0;
+	static final byte HOLDER_VALUE = 1;
+	static final byte HOLDER_ARRAY = 2;
+
+	static final byte FLAG_DEPRECATED = 1;
+	static final byte FLAG_UNCERTAIN = 1 << 1;
+
+	private static volatile CommandSyntaxBundle instance;
+	private static volatile boolean loaded = false;
+
+	/**
+	 * @return the bundle on the class path, or null if there isn't one (or it couldn't be read)
+	 */
+	@Nullable
+	static CommandSyntaxBundle getInstance() {
+		if (!loaded) {
+			synchronized (CommandSyntaxBundle.class) {
+				if (!loaded) {
+					InputStream is = CommandSyntaxBundle.class.getResourceAsStream(BUNDLE_RESOURCE);
+					if (is != null) {
+						try {
+							instance = new CommandSyntaxBundle(readFully(is));
+						} catch (Exception e) {
+							e.printStackTrace();
+						}
+					}
+					loaded = true;
+				}
+			}
+		}
+		return instance;
+	}
+
+	@NotNull
+	private final byte[] data;
+	@NotNull
+	private final String[] strings;
+	@NotNull
+	private final ValueType[] types;
+	/**
+	 * Lowercase command name (or operators/name) -> command body offset
+	 */
+	private final Map<String, Integer> commandOffsets;
+
+	CommandSyntaxBundle(@NotNull byte[] data) {
+		this.data = data;
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		if (buffer.getInt() != MAGIC) {
+			throw new IllegalArgumentException("not a command syntax bundle");
+		}
+		int version = buffer.getInt();
+		if (version != VERSION) {
+			throw new IllegalArgumentException("unsupported command syntax bundle version " + version);
+		}
+
+		strings = new String[u2(buffer)];
+		for (int i = 0; i < strings.length; i++) {
+			int length = u2(buffer);
+			strings[i] = new String(data, buffer.position(), length, StandardCharsets.UTF_8);
+			buffer.position(buffer.position() + length);
+		}
+
+		types = new ValueType[u2(buffer)];
+		for (int i = 0; i < types.length; i++) {
+			byte tag = buffer.get();
+			int value = u2(buffer);
+			switch (tag) {
+				case TYPE_BASE: {
+					ValueType t = ValueType.BaseType.valueOf(strings[value]);
+					types[i] = t == null ? ValueType.BaseType._ERROR : t;
+					break;
+				}
+				case TYPE_CODE: {
+					//the compiler always writes a code type's return type before the code type
+					types[i] = new CodeType(types[value]);
+					break;
+				}
+				default: {
+					throw new IllegalArgumentException("unknown type tag " + tag);
+				}
+			}
+		}
+
+		int commandCount = u2(buffer);
+		commandOffsets = new HashMap<>(commandCount * 2);
+		for (int i = 0; i < commandCount; i++) {
+			commandOffsets.put(strings[u2(buffer)], buffer.getInt());
+		}
+	}
+
+	/**
+	 * @param commandName command name (case doesn't matter). Operators are prefixed with operators/ (see {@link CommandXMLInputStream})
+	 * @return true if the bundle has a syntax for the command, false otherwise
+	 */
+	boolean contains(@NotNull String commandName) {
+		return commandOffsets.containsKey(commandName.toLowerCase());
+	}
+
+	/**
+	 * @return all command keys (lowercase) in the bundle
+	 */
+	@NotNull
+	Iterable<String> getCommandKeys() {
+		return commandOffsets.keySet();
+	}
+
+	/**
+	 * Creates a new {@link CommandDescriptor} from the bundle. The returned descriptor is equivalent to
+	 * {@link SQFCommandSyntaxXMLLoader#importFromStream(CommandXMLInputStream, boolean)} with getCommandDescriptions=false.
+	 *
+	 * @param commandName command name (case doesn't matter). Operators are prefixed with operators/ (see {@link CommandXMLInputStream})
+	 * @return the descriptor, or null if the bundle doesn't contain the command
+	 */
+	@Nullable
+	CommandDescriptor materialize(@NotNull String commandName) {
+		Integer offset = commandOffsets.get(commandName.toLowerCase());
+		if (offset == null) {
+			return null;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(data); //new view so that this is thread safe
+		buffer.position(offset);
+
+		String name = strings[u2(buffer)];
+		String gameVersion = strings[u2(buffer)];
+		String gameLinkPrefix = strings[u2(buffer)];
+		byte flags = buffer.get();
+
+		int syntaxCount = u2(buffer);
+		List<CommandSyntax> syntaxList = new ArrayList<>(syntaxCount);
+		for (int i = 0; i < syntaxCount; i++) {
+			Param prefix = readParam(buffer);
+			Param postfix = readParam(buffer);
+			ReturnValueHolder returnValue = readReturnValue(buffer);
+			if (returnValue == null) {
+				throw new IllegalStateException("no return value for command " + name);
+			}
+			syntaxList.add(new CommandSyntax(prefix, postfix, returnValue));
+		}
+
+		CommandDescriptor d = new CommandDescriptor(name, syntaxList, gameVersion,
+				GameNameMap.getInstance().getGame(GameNameMap.LookupType.LINK_PREFIX, gameLinkPrefix)
+		);
+		d.setDeprecated((flags & FLAG_DEPRECATED) != 0);
+		d.setUncertain((flags & FLAG_UNCERTAIN) != 0);
+		return d;
+	}
+
+	@Nullable
+	private Param readParam(@NotNull ByteBuffer buffer) {
+		byte kind = buffer.get();
+		switch (kind) {
+			case HOLDER_NONE: {
+				return null;
+			}
+			case HOLDER_VALUE: {
+				String paramName = strings[u2(buffer)];
+				ValueType type = newType(u2(buffer));
+				boolean optional = buffer.get() != 0;
+				Param p = new Param(paramName, type, "", optional);
+				readAltTypes(buffer, p.getType().getPolymorphicTypes());
+				readLiterals(buffer, p.getLiterals());
+				return p;
+			}
+			case HOLDER_ARRAY: {
+				boolean unbounded = buffer.get() != 0;
+				boolean optional = buffer.get() != 0;
+				int count = u2(buffer);
+				List<Param> params = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					params.add(readParam(buffer));
+				}
+				return new ArrayParam(unbounded, params, optional);
+			}
+			default: {
+				throw new IllegalStateException("unknown param kind " + kind);
+			}
+		}
+	}
+
+	@Nullable
+	private ReturnValueHolder readReturnValue(@NotNull ByteBuffer buffer) {
+		byte kind = buffer.get();
+		switch (kind) {
+			case HOLDER_NONE: {
+				return null;
+			}
+			case HOLDER_VALUE: {
+				ReturnValueHolder returnValue = new ReturnValueHolder(newType(u2(buffer)), "");
+				readAltTypes(buffer, returnValue.getType().getPolymorphicTypes());
+				readLiterals(buffer, returnValue.getLiterals());
+				return returnValue;
+			}
+			case HOLDER_ARRAY: {
+				boolean unbounded = buffer.get() != 0;
+				int count = u2(buffer);
+				List<ReturnValueHolder> values = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					values.add(readReturnValue(buffer));
+				}
+				return new ArrayReturnValueHolder("", values, unbounded);
+			}
+			default: {
+				throw new IllegalStateException("unknown return value kind " + kind);
+			}
+		}
+	}
+
+	private void readAltTypes(@NotNull ByteBuffer buffer, @NotNull List<ValueType> altTypes) {
+		int count = u2(buffer);
+		for (int i = 0; i < count; i++) {
+			altTypes.add(newType(u2(buffer)));
+		}
+	}
+
+	/**
+	 * {@link CodeType} has a mutable {@link CodeType#getPolymorphicTypes()}, so the instances in the type table are only
+	 * templates. Every value holder gets its own copy, like {@link SQFCommandSyntaxXMLLoader} creates a new {@link CodeType}
+	 * for each element. {@link ValueType.BaseType} instances are immutable and are returned as is.
+	 *
+	 * @param index type table index
+	 * @return a {@link ValueType} that isn't shared with any other value holder
+	 */
+	@NotNull
+	private ValueType newType(int index) {
+		return copyType(types[index]);
+	}
+
+	@NotNull
+	private static ValueType copyType(@NotNull ValueType type) {
+		if (type instanceof CodeType) {
+			return new CodeType(copyType(((CodeType) type).getReturnType()));
+		}
+		return type;
+	}
+
+	private void readLiterals(@NotNull ByteBuffer buffer, @NotNull List<String> literals) {
+		int count = u2(buffer);
+		for (int i = 0; i < count; i++) {
+			literals.add(strings[u2(buffer)]);
+		}
+	}
+
+	private static int u2(@NotNull ByteBuffer buffer) {
+		return buffer.getShort() & 0xFFFF;
+	}
+
+	@NotNull
+	private static byte[] readFully(@NotNull InputStream is) throws IOException {
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(is.available(), 1024));
+			byte[] buf = new byte[8192];
+			int read;
+			while ((read = is.read(buf)) != -1) {
+				out.write(buf, 0, read);
+			}
+			return out.toByteArray();
+		} finally {
+			is.close();
+		}
+	}
+}
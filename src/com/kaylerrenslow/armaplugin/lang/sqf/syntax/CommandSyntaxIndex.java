@@ -0,0 +1,161 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Index over a {@link CommandDescriptor}'s {@link CommandDescriptor#getSyntaxList()} so that matching a prefix type
+ * to syntaxes doesn't need to check every syntax's prefix param. Candidate syntaxes are given as a bitset where bit i
+ * is syntax i of the syntax list.
+ * <p>
+ * For a null prefix type or a canonical prefix type ({@link ValueType#isCanonical()}, which includes every
+ * {@link ValueType.BaseType}), the candidates are exactly the syntaxes whose prefix param accepts the prefix type, so
+ * {@link Param#containsType(ValueType)} doesn't need to be invoked again. Masks for canonical types are computed once
+ * and then cached. For any other prefix type, the candidates are all syntaxes that have a prefix param.
+ * <p>
+ * The index assumes the syntax list and its params don't change after the index is created.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class CommandSyntaxIndex {
+	private static final int MAX_CACHED_PREFIX_TYPES = 64;
+
+	private final List<CommandSyntax> syntaxList;
+	private final boolean hasPostfixSyntax;
+	/**
+	 * Syntaxes that have no prefix param or an optional prefix param
+	 */
+	private final long[] noPrefixCandidates;
+	/**
+	 * Syntaxes that have a prefix param
+	 */
+	private final long[] prefixCandidates;
+	/**
+	 * Canonical prefix type -> syntaxes that accept it. Copied on write so that reads don't need a lock.
+	 */
+	private volatile IdentityHashMap<ValueType, long[]> canonicalCandidates = new IdentityHashMap<>();
+
+	CommandSyntaxIndex(@NotNull List<CommandSyntax> syntaxList) {
+		this.syntaxList = syntaxList;
+		int words = (syntaxList.size() + 63) >>> 6;
+		noPrefixCandidates = new long[words];
+		prefixCandidates = new long[words];
+		boolean hasPostfixSyntax = false;
+		int i = 0;
+		for (CommandSyntax syntax : syntaxList) {
+			Param prefixParam = syntax.getPrefixParam();
+			if (prefixParam == null || prefixParam.isOptional()) {
+				set(noPrefixCandidates, i);
+			}
+			if (prefixParam != null) {
+				set(prefixCandidates, i);
+			}
+			if (syntax.getPostfixParam() != null) {
+				hasPostfixSyntax = true;
+			}
+			i++;
+		}
+		this.hasPostfixSyntax = hasPostfixSyntax;
+	}
+
+	/**
+	 * @return true if at least 1 syntax has a postfix param
+	 */
+	public boolean hasPostfixSyntax() {
+		return hasPostfixSyntax;
+	}
+
+	/**
+	 * @param prefixType the type left of the command, or null if there is nothing left of the command
+	 * @return true if {@link #getCandidates(ValueType)} returns exactly the syntaxes that accept prefixType.
+	 * If false, {@link Param#containsType(ValueType)} still needs to be checked for each candidate.
+	 */
+	public boolean isExact(@Nullable ValueType prefixType) {
+		return prefixType == null || prefixType.isCanonical();
+	}
+
+	/**
+	 * Get the syntaxes that can match the given prefix type. Iterate them with {@link #nextCandidate(long[], int)}.
+	 * The returned array must not be modified.
+	 *
+	 * @param prefixType the type left of the command, or null if there is nothing left of the command
+	 * @return a bitset of candidate syntaxes
+	 * @see #isExact(ValueType)
+	 */
+	@NotNull
+	public long[] getCandidates(@Nullable ValueType prefixType) {
+		if (prefixType == null) {
+			return noPrefixCandidates;
+		}
+		if (!prefixType.isCanonical()) {
+			return prefixCandidates;
+		}
+		IdentityHashMap<ValueType, long[]> cached = canonicalCandidates;
+		long[] candidates = cached.get(prefixType);
+		if (candidates != null) {
+			return candidates;
+		}
+		candidates = new long[prefixCandidates.length];
+		for (int i = nextCandidate(prefixCandidates, 0); i >= 0; i = nextCandidate(prefixCandidates, i + 1)) {
+			Param prefixParam = syntaxList.get(i).getPrefixParam();
+			if (prefixParam != null && prefixParam.containsType(prefixType)) {
+				set(candidates, i);
+			}
+		}
+		if (cached.size() < MAX_CACHED_PREFIX_TYPES) {
+			synchronized (this) {
+				IdentityHashMap<ValueType, long[]> copy = new IdentityHashMap<>(canonicalCandidates);
+				copy.put(prefixType, candidates);
+				canonicalCandidates = copy;
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * @return true if at least 1 syntax has a prefix param that accepts the given type
+	 */
+	public boolean anyPrefixAccepts(@NotNull ValueType type) {
+		long[] candidates = getCandidates(type);
+		if (isExact(type)) {
+			return nextCandidate(candidates, 0) >= 0;
+		}
+		for (int i = nextCandidate(candidates, 0); i >= 0; i = nextCandidate(candidates, i + 1)) {
+			Param prefixParam = syntaxList.get(i).getPrefixParam();
+			if (prefixParam != null && prefixParam.containsType(type)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @param candidates bitset from {@link #getCandidates(ValueType)}
+	 * @param fromIndex  syntax index to start at (inclusive)
+	 * @return the index of the next candidate syntax, or -1 if there are no more candidates
+	 */
+	public static int nextCandidate(@NotNull long[] candidates, int fromIndex) {
+		int wordIndex = fromIndex >>> 6;
+		if (wordIndex >= candidates.length) {
+			return -1;
+		}
+		long word = candidates[wordIndex] & (-1L << fromIndex);
+		while (true) {
+			if (word != 0) {
+				return (wordIndex << 6) + Long.numberOfTrailingZeros(word);
+			}
+			if (++wordIndex == candidates.length) {
+				return -1;
+			}
+			word = candidates[wordIndex];
+		}
+	}
+
+	private static void set(@NotNull long[] bits, int index) {
+		bits[index >>> 6] |= 1L << index;
+	}
+}
@@ -35,6 +35,17 @@ public class CommandXMLInputStream extends InputStream {
 		this.commandName = commandName;
 	}
 
+	/**
+	 * Creates a stream for syntax xml that was already opened (for instance, from a file rather than the class path).
+	 *
+	 * @param commandName the command name
+	 * @param is          stream that reads the command's syntax xml
+	 */
+	CommandXMLInputStream(@NotNull String commandName, @NotNull InputStream is) {
+		this.is = is;
+		this.commandName = commandName;
+	}
+
 	@NotNull
 	public String getCommandName() {
 		return commandName;
@@ -127,7 +127,7 @@ public class ExpandedValueType extends ValueType {
 	}
 
 	/**
-	 * @return mutable list containing value types
+	 * @return mutable list containing value types (immutable if {@link #isCanonical()})
 	 */
 	@NotNull
 	public List<ValueType> getValueTypes() {
@@ -154,18 +154,27 @@ public class ExpandedValueType extends ValueType {
 	 *
 	 * @param numOptionalValues the new amount of optional value count
 	 * @throws IllegalArgumentException when numOptionalValues < 0
+	 * @throws IllegalStateException when this type is canonical ({@link #isCanonical()})
 	 */
 	public void setNumOptionalValues(int numOptionalValues) {
 		if (numOptionalValues < 0) {
 			throw new IllegalStateException("numOptionalValues is <0");
 		}
+		if (isCanonical()) {
+			throw new IllegalStateException("can't modify a canonical type");
+		}
 		this.numOptionalValues = numOptionalValues;
 	}
 
 	/**
 	 * Adds a {@link ValueType} to {@link #getValueTypes()}
+	 *
+	 * @throws IllegalStateException when this type is canonical ({@link #isCanonical()})
 	 */
 	public void addValueType(@NotNull ValueType type) {
+		if (isCanonical()) {
+			throw new IllegalStateException("can't modify a canonical type");
+		}
 		valueTypes.add(type);
 	}
 
@@ -15,11 +15,21 @@ import java.util.List;
 public class PolymorphicWrapperValueType extends ValueType {
 	@NotNull
 	private final ValueType valueType;
-	private final List<ValueType> polymorphicTypes = new ArrayList<>();
+	private final List<ValueType> polymorphicTypes;
 	private final ExpandedValueType expandedValueType;
 
 	public PolymorphicWrapperValueType(@NotNull ValueType valueType) {
+		this(valueType, new ArrayList<>());
+	}
+
+	/**
+	 * Used by {@link ValueTypeInterner}
+	 *
+	 * @param polymorphicTypes list to use for {@link #getPolymorphicTypes()}
+	 */
+	PolymorphicWrapperValueType(@NotNull ValueType valueType, @NotNull List<ValueType> polymorphicTypes) {
 		this.valueType = valueType;
+		this.polymorphicTypes = polymorphicTypes;
 		expandedValueType = new ExpandedValueType(valueType.getExpanded(), polymorphicTypes);
 	}
 
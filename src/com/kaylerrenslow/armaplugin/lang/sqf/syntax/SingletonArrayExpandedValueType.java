@@ -18,6 +18,15 @@ public class SingletonArrayExpandedValueType extends ExpandedValueType {
 		super(false, Collections.singletonList(valueType));
 	}
 
+	/**
+	 * Used by {@link ValueTypeInterner}
+	 *
+	 * @param polymorphicTypes polymorphic types to use for {@link #getPolymorphicTypes()}
+	 */
+	SingletonArrayExpandedValueType(@NotNull ValueType valueType, @NotNull List<ValueType> polymorphicTypes) {
+		super(false, Collections.singletonList(valueType), polymorphicTypes);
+	}
+
 	/**
 	 * @return always true
 	 */
@@ -4,8 +4,12 @@ import com.kaylerrenslow.armaplugin.util.EmptyList;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
 
 /**
@@ -32,6 +36,23 @@ public abstract class ValueType {
 	 * @see #equivalentByPolymorphicTypes(ValueType, ValueType)
 	 */
 	public static boolean typeEquivalent(@NotNull ValueType type1, @NotNull ValueType type2) {
+		if (type1 == type2) {
+			return true;
+		}
+		if (type1.canonical && type2.canonical) {
+			ValueTypeInterner interner = ValueTypeInterner.getInstance();
+			Boolean cached = interner.getEquivalence(type1, type2);
+			if (cached != null) {
+				return cached;
+			}
+			boolean equivalent = computeTypeEquivalent(type1, type2);
+			interner.putEquivalence(type1, type2, equivalent);
+			return equivalent;
+		}
+		return computeTypeEquivalent(type1, type2);
+	}
+
+	private static boolean computeTypeEquivalent(@NotNull ValueType type1, @NotNull ValueType type2) {
 		final boolean type1IsPoly = type1 instanceof PolymorphicWrapperValueType;
 		final boolean type2IsPoly = type2 instanceof PolymorphicWrapperValueType;
 
@@ -156,6 +177,21 @@ public abstract class ValueType {
 		return true;
 	}
 
+	/**
+	 * Gets the canonical instance of the given type. The canonical instance is immutable and structurally equal to type,
+	 * so it can be used anywhere type is used. Structurally equal types share the same canonical instance, which lets
+	 * {@link #typeEquivalent(ValueType, ValueType)} compare them by identity and cache its result for them.
+	 * <p>
+	 * Don't intern a type that you still need to modify. The returned instance's lists can't be modified.
+	 *
+	 * @return the canonical instance, or type if it is already canonical (i.e. {@link BaseType}) or can't be interned
+	 * @see #isCanonical()
+	 */
+	@NotNull
+	public static ValueType intern(@NotNull ValueType type) {
+		return ValueTypeInterner.getInstance().intern(type);
+	}
+
 	public static boolean isAnythingOrVariable(@NotNull ValueType type1, @NotNull ValueType type2) {
 		return type1.isAnythingOrVariable() || type2.isAnythingOrVariable();
 	}
@@ -218,6 +254,32 @@ public abstract class ValueType {
 
 	}
 
+	private boolean canonical;
+	private int structuralHash;
+
+	/**
+	 * @return true if this instance was created by {@link #intern(ValueType)} or is a {@link BaseType}. A canonical
+	 * type is immutable and only references other canonical types.
+	 */
+	public final boolean isCanonical() {
+		return canonical;
+	}
+
+	/**
+	 * @return a hash of this type's structure. Only set for canonical types ({@link #isCanonical()}), otherwise 0
+	 */
+	final int getStructuralHash() {
+		return structuralHash;
+	}
+
+	/**
+	 * Marks this type as canonical. Only invoke this before this instance is visible to other threads.
+	 */
+	final void setCanonical(int structuralHash) {
+		this.structuralHash = structuralHash;
+		this.canonical = true;
+	}
+
 	@NotNull
 	public abstract String getDisplayName();
 
@@ -468,18 +530,21 @@ public abstract class ValueType {
 			this.displayName = displayName;
 			this.expandedValueType = new ExpandedValueType(this);
 			this.type = type;
+			setCanonical(type.hashCode());
 		}
 
 		BaseType(String type, String displayName, Function<Void, ExpandedValueType> getExpandedFunc) {
 			this.displayName = displayName;
 			this.getExpandedFunc = getExpandedFunc;
 			this.type = type;
+			setCanonical(type.hashCode());
 		}
 
 		BaseType(String type, String displayName, ExpandedValueType expandedValueType) {
 			this.type = type;
 			this.displayName = displayName;
 			this.expandedValueType = expandedValueType;
+			setCanonical(type.hashCode());
 		}
 
 		@Override
@@ -526,13 +591,33 @@ public abstract class ValueType {
 			return type;
 		}
 
+		/**
+		 * Field name -> BaseType. Created on first use of {@link #valueOf(String)} so that reflection is only used once.
+		 */
+		private static volatile Map<String, BaseType> valueOfMap;
+
+		/**
+		 * @param type the name of the {@link BaseType} field (i.e. "NUMBER")
+		 * @return the {@link BaseType} for the field name, or null if there is no such {@link BaseType}
+		 */
 		@Nullable
 		public static ValueType valueOf(@NotNull String type) {
-			try {
-				return (ValueType) BaseType.class.getField(type).get(null);
-			} catch (Exception e) {
-				return null;
+			Map<String, BaseType> map = valueOfMap;
+			if (map == null) {
+				map = new HashMap<>();
+				for (Field field : BaseType.class.getFields()) {
+					if (!Modifier.isStatic(field.getModifiers()) || field.getType() != BaseType.class) {
+						continue;
+					}
+					try {
+						map.put(field.getName(), (BaseType) field.get(null));
+					} catch (IllegalAccessException ignore) {
+
+					}
+				}
+				valueOfMap = map;
 			}
+			return map.get(type);
 		}
 
 		@Override
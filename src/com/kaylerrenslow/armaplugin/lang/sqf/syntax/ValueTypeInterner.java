@@ -0,0 +1,247 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash conses {@link ExpandedValueType}, {@link SingletonArrayExpandedValueType}, {@link CodeType} and
+ * {@link PolymorphicWrapperValueType} instances into canonical nodes. A canonical node is immutable, only references
+ * other canonical nodes, and has a precomputed structural hash (see {@link ValueType#isCanonical()}). Two structurally
+ * equal types are interned into the same instance, so {@link ValueType#typeEquivalent(ValueType, ValueType)} can
+ * short circuit on identity and cache its result for a pair of canonical nodes.
+ * <p>
+ * Both the node table and the equivalence cache are cleared when they get too big. Clearing them only loses sharing;
+ * nodes that were already interned stay canonical and cached results for them are still correct.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+class ValueTypeInterner {
+	private static final ValueTypeInterner instance = new ValueTypeInterner();
+
+	@NotNull
+	static ValueTypeInterner getInstance() {
+		return instance;
+	}
+
+	private static final int MAX_NODES = 1 << 16;
+	private static final int MAX_EQUIVALENCE_RESULTS = 1 << 16;
+
+	private static final byte KIND_EXPANDED = 0;
+	private static final byte KIND_SINGLETON_ARRAY = 1;
+	private static final byte KIND_CODE = 2;
+	private static final byte KIND_POLYMORPHIC_WRAPPER = 3;
+
+	private final ConcurrentHashMap<Shape, ValueType> nodes = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<Pair, Boolean> equivalenceResults = new ConcurrentHashMap<>();
+
+	private ValueTypeInterner() {
+	}
+
+	/**
+	 * @return the canonical node that is structurally equal to type, or type if it is already canonical or can't be
+	 * interned (an unknown subclass of {@link ValueType})
+	 */
+	@NotNull
+	ValueType intern(@NotNull ValueType type) {
+		if (type.isCanonical()) {
+			return type;
+		}
+		Class<?> c = type.getClass();
+		if (c == PolymorphicWrapperValueType.class) {
+			PolymorphicWrapperValueType wrapper = (PolymorphicWrapperValueType) type;
+			ValueType[] children = {intern(wrapper.getWrappedValueType())};
+			return lookup(new Shape(KIND_POLYMORPHIC_WRAPPER, 0, children, internAll(wrapper.getPolymorphicTypes())));
+		}
+		if (c == CodeType.class) {
+			CodeType codeType = (CodeType) type;
+			ValueType[] children = {intern(codeType.getReturnType())};
+			return lookup(new Shape(KIND_CODE, 0, children, internAll(codeType.getPolymorphicTypes())));
+		}
+		if (c == SingletonArrayExpandedValueType.class) {
+			ExpandedValueType singleton = (ExpandedValueType) type;
+			ValueType[] children = {intern(singleton.getValueTypes().get(0))};
+			return lookup(new Shape(KIND_SINGLETON_ARRAY, 0, children, internAll(singleton.getPolymorphicTypes())));
+		}
+		if (c == ExpandedValueType.class) {
+			ExpandedValueType expanded = (ExpandedValueType) type;
+			//numOptionalValues is never negative, so the unbounded flag can be the sign bit
+			int flags = expanded.getNumOptionalValues() | (expanded.isUnbounded() ? Integer.MIN_VALUE : 0);
+			return lookup(new Shape(KIND_EXPANDED, flags, internAll(expanded.getValueTypes()),
+					internAll(expanded.getPolymorphicTypes()))
+			);
+		}
+		return type;
+	}
+
+	/**
+	 * @return the cached result of {@link ValueType#typeEquivalent(ValueType, ValueType)} for the two canonical nodes,
+	 * or null if there is no cached result
+	 */
+	@Nullable
+	Boolean getEquivalence(@NotNull ValueType type1, @NotNull ValueType type2) {
+		return equivalenceResults.get(new Pair(type1, type2));
+	}
+
+	/**
+	 * Caches a result of {@link ValueType#typeEquivalent(ValueType, ValueType)} for two canonical nodes
+	 */
+	void putEquivalence(@NotNull ValueType type1, @NotNull ValueType type2, boolean equivalent) {
+		if (equivalenceResults.size() >= MAX_EQUIVALENCE_RESULTS) {
+			equivalenceResults.clear();
+		}
+		equivalenceResults.put(new Pair(type1, type2), equivalent);
+	}
+
+	@NotNull
+	private ValueType[] internAll(@NotNull List<ValueType> types) {
+		ValueType[] interned = new ValueType[types.size()];
+		int i = 0;
+		for (ValueType t : types) {
+			interned[i++] = intern(t);
+		}
+		return interned;
+	}
+
+	@NotNull
+	private ValueType lookup(@NotNull Shape shape) {
+		ValueType node = nodes.get(shape);
+		if (node != null) {
+			return node;
+		}
+		if (nodes.size() >= MAX_NODES) {
+			nodes.clear();
+		}
+		node = createNode(shape);
+		node.setCanonical(shape.hash);
+		ValueType existing = nodes.putIfAbsent(shape, node);
+		return existing == null ? node : existing;
+	}
+
+	@NotNull
+	private static ValueType createNode(@NotNull Shape shape) {
+		List<ValueType> polymorphicTypes = immutableList(shape.polymorphicTypes);
+		switch (shape.kind) {
+			case KIND_POLYMORPHIC_WRAPPER: {
+				return new PolymorphicWrapperValueType(shape.children[0], polymorphicTypes);
+			}
+			case KIND_CODE: {
+				return new CodeType(shape.children[0], polymorphicTypes);
+			}
+			case KIND_SINGLETON_ARRAY: {
+				return new SingletonArrayExpandedValueType(shape.children[0], polymorphicTypes);
+			}
+			case KIND_EXPANDED: {
+				ExpandedValueType t = new ExpandedValueType(shape.flags < 0, immutableList(shape.children), polymorphicTypes);
+				t.setNumOptionalValues(shape.flags & Integer.MAX_VALUE);
+				return t;
+			}
+			default: {
+				throw new IllegalStateException("unknown kind " + shape.kind);
+			}
+		}
+	}
+
+	@NotNull
+	private static List<ValueType> immutableList(@NotNull ValueType[] types) {
+		if (types.length == 0) {
+			return Collections.emptyList();
+		}
+		List<ValueType> list = new ArrayList<>(types.length);
+		Collections.addAll(list, types);
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * Structure of a node, where every child is already canonical. Children are compared by identity.
+	 */
+	private static class Shape {
+		private final byte kind;
+		private final int flags;
+		private final ValueType[] children;
+		private final ValueType[] polymorphicTypes;
+		private final int hash;
+
+		Shape(byte kind, int flags, @NotNull ValueType[] children, @NotNull ValueType[] polymorphicTypes) {
+			this.kind = kind;
+			this.flags = flags;
+			this.children = children;
+			this.polymorphicTypes = polymorphicTypes;
+
+			int h = 31 * kind + flags;
+			for (ValueType child : children) {
+				h = 31 * h + child.getStructuralHash();
+			}
+			h = 31 * h + polymorphicTypes.length;
+			for (ValueType t : polymorphicTypes) {
+				h = 31 * h + t.getStructuralHash();
+			}
+			this.hash = h;
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof Shape)) {
+				return false;
+			}
+			Shape other = (Shape) o;
+			return kind == other.kind
+					&& flags == other.flags
+					&& hash == other.hash
+					&& sameElements(children, other.children)
+					&& sameElements(polymorphicTypes, other.polymorphicTypes);
+		}
+
+		private static boolean sameElements(@NotNull ValueType[] a, @NotNull ValueType[] b) {
+			if (a.length != b.length) {
+				return false;
+			}
+			for (int i = 0; i < a.length; i++) {
+				if (a[i] != b[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Ordered pair of canonical nodes, compared by identity
+	 */
+	private static class Pair {
+		private final ValueType type1;
+		private final ValueType type2;
+
+		Pair(@NotNull ValueType type1, @NotNull ValueType type2) {
+			this.type1 = type1;
+			this.type2 = type2;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * type1.getStructuralHash() + type2.getStructuralHash();
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Pair)) {
+				return false;
+			}
+			Pair other = (Pair) o;
+			return type1 == other.type1 && type2 == other.type2;
+		}
+	}
+}
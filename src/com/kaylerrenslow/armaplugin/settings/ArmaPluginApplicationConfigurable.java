@@ -30,6 +30,7 @@ public class ArmaPluginApplicationConfigurable implements SearchableConfigurable
 	public JComponent createComponent() {
 		File a3ToolsDir = ArmaPluginUserData.getInstance().getArmaToolsDirectory();
 		form.initArma3ToolsDirectory(a3ToolsDir == null ? "" : a3ToolsDir.getAbsolutePath());
+		form.initWarmUpCommandSyntaxes(ArmaPluginApplicationSettings.getInstance().getState().warmUpCommandSyntaxes);
 		return form.getPanelRoot();
 	}
 
@@ -44,12 +45,16 @@ public class ArmaPluginApplicationConfigurable implements SearchableConfigurable
 			//if modified, that means the files aren't equal
 			modified = !FileUtil.filesEqual(new File(enteredDir), ArmaPluginUserData.getInstance().getArmaToolsDirectory());
 		}
+		if (form.isWarmUpCommandSyntaxes() != ArmaPluginApplicationSettings.getInstance().getState().warmUpCommandSyntaxes) {
+			modified = true;
+		}
 		return modified;
 	}
 
 	@Override
 	public void apply() throws ConfigurationException {
 		ArmaPluginApplicationSettings.getInstance().getState().armaToolsDirectory = form.getArmaToolsDirectoryPath();
+		ArmaPluginApplicationSettings.getInstance().getState().warmUpCommandSyntaxes = form.isWarmUpCommandSyntaxes();
 	}
 
 	@NotNull
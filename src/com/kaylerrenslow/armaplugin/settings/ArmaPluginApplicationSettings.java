@@ -36,5 +36,9 @@ public class ArmaPluginApplicationSettings implements PersistentStateComponent<A
 	public static class State {
 		@Nullable
 		public String armaToolsDirectory;
+		/**
+		 * If true, all command syntaxes will be loaded in the background when a project is opened.
+		 */
+		public boolean warmUpCommandSyntaxes = false;
 	}
 }
@@ -20,6 +20,7 @@ public class ArmaPluginSettingsForm {
 	private JButton btnTestDir;
 	private JPanel panelForTfArmaToolsDir;
 	private JTextField tfArmaToolsDir;
+	private JCheckBox cbWarmUpCommandSyntaxes;
 
 	public ArmaPluginSettingsForm() {
 		btnTestDir.addActionListener(e -> {
@@ -63,6 +64,14 @@ public class ArmaPluginSettingsForm {
 		tfArmaToolsDir.setText(path);
 	}
 
+	public boolean isWarmUpCommandSyntaxes() {
+		return cbWarmUpCommandSyntaxes.isSelected();
+	}
+
+	public void initWarmUpCommandSyntaxes(boolean warmUp) {
+		cbWarmUpCommandSyntaxes.setSelected(warmUp);
+	}
+
 	private ResourceBundle getBundle() {
 		return ResourceBundle.getBundle("com.kaylerrenslow.armaplugin.ApplicationSettingsBundle");
 	}
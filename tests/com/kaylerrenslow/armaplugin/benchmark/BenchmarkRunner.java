@@ -0,0 +1,239 @@
+package com.kaylerrenslow.armaplugin.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Small benchmark harness for the hot path benchmarks. Each benchmark runs warm up iterations (not measured) and then
+ * measured iterations, and the median and best time per operation are reported.
+ * <p>
+ * Benchmarks only run when the system property <code>armaplugin.benchmark</code> is true ({@link #isEnabled()}), so
+ * that normal test runs don't spend time on them or write results.
+ * <p>
+ * {@link #save()} appends the results to {@link #RESULTS_FILE} (relative to the project root) together with the plugin
+ * version, and prints how each result changed compared to the most recent result of a different version. The file is
+ * committed, so the results of the last release are the baseline that a regression shows up against. The system
+ * property <code>armaplugin.benchmark.results</code> writes to a different file instead. The version is the system
+ * property <code>armaplugin.benchmark.version</code>, or the version in META-INF/plugin.xml.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class BenchmarkRunner {
+	private static final String ENABLED_PROPERTY = "armaplugin.benchmark";
+	private static final String RESULTS_FILE_PROPERTY = "armaplugin.benchmark.results";
+	private static final String VERSION_PROPERTY = "armaplugin.benchmark.version";
+	private static final String RESULTS_FILE = "benchmark/results.csv";
+	private static final String PLUGIN_XML = "META-INF/plugin.xml";
+	private static final String CSV_HEADER = "version,timestamp,benchmark,median_ns_per_op,best_ns_per_op";
+
+	/**
+	 * Results of operations are added to this so that the JIT can't remove the operations
+	 */
+	private static volatile long blackHole;
+
+	@NotNull
+	private final String suiteName;
+	private final List<Result> results = new ArrayList<>();
+
+	/**
+	 * @param suiteName prefix of every benchmark name in this runner
+	 */
+	public BenchmarkRunner(@NotNull String suiteName) {
+		this.suiteName = suiteName;
+	}
+
+	/**
+	 * @return true if benchmarks should run (system property <code>armaplugin.benchmark</code> is true)
+	 */
+	public static boolean isEnabled() {
+		return Boolean.getBoolean(ENABLED_PROPERTY);
+	}
+
+	/**
+	 * Runs a benchmark.
+	 *
+	 * @param name                   name of the benchmark (unique inside the suite)
+	 * @param warmUpIterations       number of iterations to run before measuring
+	 * @param measuredIterations     number of measured iterations
+	 * @param operationsPerIteration number of operations that one call to iteration does
+	 * @param iteration              the code to measure. The returned value is only used to keep the JIT from
+	 *                               removing the code.
+	 * @return the result
+	 */
+	@NotNull
+	public Result measure(@NotNull String name, int warmUpIterations, int measuredIterations, int operationsPerIteration,
+						  @NotNull Iteration iteration) throws Exception {
+		return measure(name, warmUpIterations, measuredIterations, operationsPerIteration, () -> {
+		}, iteration);
+	}
+
+	/**
+	 * Runs a benchmark like {@link #measure(String, int, int, int, Iteration)}, but runs setup (not measured) before
+	 * every iteration. Use this when an iteration would otherwise reuse what the previous iteration cached.
+	 */
+	@NotNull
+	public Result measure(@NotNull String name, int warmUpIterations, int measuredIterations, int operationsPerIteration,
+						  @NotNull Setup setup, @NotNull Iteration iteration) throws Exception {
+		long sink = 0;
+		for (int i = 0; i < warmUpIterations; i++) {
+			setup.run();
+			sink += iteration.run();
+		}
+		double[] nanosPerOp = new double[measuredIterations];
+		for (int i = 0; i < measuredIterations; i++) {
+			setup.run();
+			long start = System.nanoTime();
+			sink += iteration.run();
+			nanosPerOp[i] = (System.nanoTime() - start) / (double) operationsPerIteration;
+		}
+		blackHole += sink;
+
+		Arrays.sort(nanosPerOp);
+		Result result = new Result(suiteName + "." + name, nanosPerOp[nanosPerOp.length / 2], nanosPerOp[0]);
+		results.add(result);
+		System.out.println(String.format(Locale.ROOT, "%-50s %14.1f ns/op (best %.1f)",
+				result.getName(), result.getMedianNanosPerOp(), result.getBestNanosPerOp()
+		));
+		return result;
+	}
+
+	/**
+	 * Appends every result of this runner to the results file and prints the change from the most recent result of a
+	 * different version
+	 */
+	public void save() throws IOException {
+		File projectRoot = getProjectRoot();
+		String resultsFile = System.getProperty(RESULTS_FILE_PROPERTY);
+		File file = resultsFile != null ? new File(resultsFile) : new File(projectRoot, RESULTS_FILE);
+		String version = getVersion(projectRoot);
+		Map<String, Result> previous = readPreviousResults(file, version);
+
+		boolean writeHeader = !file.exists() || file.length() == 0;
+		try (Writer w = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8))) {
+			if (writeHeader) {
+				w.write(CSV_HEADER + "\n");
+			}
+			long timestamp = System.currentTimeMillis();
+			for (Result result : results) {
+				w.write(String.format(Locale.ROOT, "%s,%d,%s,%.1f,%.1f\n", version, timestamp, result.getName(),
+						result.getMedianNanosPerOp(), result.getBestNanosPerOp()
+				));
+			}
+		}
+
+		for (Result result : results) {
+			Result old = previous.get(result.getName());
+			if (old == null) {
+				continue;
+			}
+			double change = (result.getMedianNanosPerOp() / old.getMedianNanosPerOp() - 1) * 100;
+			System.out.println(String.format(Locale.ROOT, "%-50s %+.1f%% vs %s", result.getName(), change, old.version));
+		}
+	}
+
+	/**
+	 * @return benchmark name -> most recent result from a version other than currentVersion
+	 */
+	@NotNull
+	private static Map<String, Result> readPreviousResults(@NotNull File file, @NotNull String currentVersion) throws IOException {
+		Map<String, Result> previous = new HashMap<>();
+		if (!file.exists()) {
+			return previous;
+		}
+		for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+			String[] columns = line.split(",");
+			if (columns.length != 5 || line.equals(CSV_HEADER) || columns[0].equals(currentVersion)) {
+				continue;
+			}
+			try {
+				Result result = new Result(columns[2], Double.parseDouble(columns[3]), Double.parseDouble(columns[4]));
+				result.version = columns[0];
+				previous.put(result.getName(), result); //later lines are more recent
+			} catch (NumberFormatException ignore) {
+			}
+		}
+		return previous;
+	}
+
+	@NotNull
+	private static String getVersion(@NotNull File projectRoot) {
+		String version = System.getProperty(VERSION_PROPERTY);
+		if (version != null) {
+			return version;
+		}
+		try {
+			String text = new String(Files.readAllBytes(new File(projectRoot, PLUGIN_XML).toPath()), StandardCharsets.UTF_8);
+			Matcher m = Pattern.compile("<version>([^<]+)</version>").matcher(text);
+			if (m.find()) {
+				return m.group(1).trim();
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+		return "unknown";
+	}
+
+	/**
+	 * @return the closest directory, starting at the working directory and going up, that has META-INF/plugin.xml
+	 * @throws FileNotFoundException if there is no such directory
+	 */
+	@NotNull
+	private static File getProjectRoot() throws FileNotFoundException {
+		File dir = new File("").getAbsoluteFile();
+		while (dir != null) {
+			if (new File(dir, PLUGIN_XML).isFile()) {
+				return dir;
+			}
+			dir = dir.getParentFile();
+		}
+		throw new FileNotFoundException("couldn't find the project root (a directory with " + PLUGIN_XML + ") from "
+				+ new File("").getAbsolutePath());
+	}
+
+	public interface Setup {
+		void run() throws Exception;
+	}
+
+	public interface Iteration {
+		/**
+		 * @return any value computed by the iteration (used to keep the JIT from removing the code)
+		 */
+		long run() throws Exception;
+	}
+
+	public static class Result {
+		@NotNull
+		private final String name;
+		private final double medianNanosPerOp;
+		private final double bestNanosPerOp;
+		@Nullable
+		private String version;
+
+		Result(@NotNull String name, double medianNanosPerOp, double bestNanosPerOp) {
+			this.name = name;
+			this.medianNanosPerOp = medianNanosPerOp;
+			this.bestNanosPerOp = bestNanosPerOp;
+		}
+
+		@NotNull
+		public String getName() {
+			return name;
+		}
+
+		public double getMedianNanosPerOp() {
+			return medianNanosPerOp;
+		}
+
+		public double getBestNanosPerOp() {
+			return bestNanosPerOp;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package com.kaylerrenslow.armaplugin.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * SQF code used by the benchmarks
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFBenchmarkSources {
+	/**
+	 * A function like the ones found in missions: params, control structures, arrays, strings and a variety of commands.
+	 * %1$d is replaced with a number so that every copy has different variable names.
+	 */
+	private static final String FUNCTION_TEMPLATE = "" +
+			"tag_fnc_function%1$d = {\n" +
+			"\tparams [\"_unit\", [\"_radius\", 50], [\"_markers\", []]];\n" +
+			"\tprivate _pos = getPos _unit;\n" +
+			"\tprivate _count%1$d = 0;\n" +
+			"\tif (!alive _unit) exitWith {false};\n" +
+			"\t{\n" +
+			"\t\tif ((_x distance _pos) < _radius && {side _x == east}) then {\n" +
+			"\t\t\t_count%1$d = _count%1$d + 1;\n" +
+			"\t\t\t_markers pushBack format [\"marker_%%1_%%2\", _forEachIndex, name _x];\n" +
+			"\t\t} else {\n" +
+			"\t\t\thint str (_x getVariable [\"tag_state\", 0]);\n" +
+			"\t\t};\n" +
+			"\t} forEach (allUnits select {alive _x});\n" +
+			"\tfor \"_i\" from 0 to (count _markers - 1) do {\n" +
+			"\t\t_marker = createMarker [_markers select _i, _pos vectorAdd [_i * 10, 0, 0]];\n" +
+			"\t\t_marker setMarkerColor \"ColorRed\";\n" +
+			"\t};\n" +
+			"\tswitch (true) do {\n" +
+			"\t\tcase (_count%1$d > 10): {systemChat \"many\"};\n" +
+			"\t\tcase (_count%1$d > 0): {systemChat \"some\"};\n" +
+			"\t\tdefault {systemChat \"none\"};\n" +
+			"\t};\n" +
+			"\twhile {_count%1$d > 0} do {\n" +
+			"\t\t_count%1$d = _count%1$d - 1;\n" +
+			"\t\tsleep 0.1;\n" +
+			"\t};\n" +
+			"\t[_unit, _count%1$d] call BIS_fnc_log;\n" +
+			"\ttrue\n" +
+			"};\n";
+
+	/**
+	 * @param functionCount number of functions in the file
+	 * @return SQF code with the given number of functions
+	 */
+	@NotNull
+	public static String createFile(int functionCount) {
+		StringBuilder sb = new StringBuilder(functionCount * FUNCTION_TEMPLATE.length());
+		for (int i = 0; i < functionCount; i++) {
+			sb.append(String.format(FUNCTION_TEMPLATE, i));
+		}
+		return sb.toString();
+	}
+}
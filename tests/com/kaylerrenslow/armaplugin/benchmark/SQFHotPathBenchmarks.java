@@ -0,0 +1,166 @@
+package com.kaylerrenslow.armaplugin.benchmark;
+
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFLexer;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFStatic;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.*;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType.BaseType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Benchmarks for the hot paths that don't need a PSI tree: lexing, type equivalence, descriptor pool lookups and
+ * syntax xml loading. See {@link SQFPsiHotPathBenchmarks} for parsing and type checking.
+ * Results are stored by {@link BenchmarkRunner#save()}. Only runs when {@link BenchmarkRunner#isEnabled()}.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFHotPathBenchmarks {
+	private static final int WARM_UP_ITERATIONS = 5;
+	private static final int MEASURED_ITERATIONS = 10;
+
+	@Before
+	public void assumeEnabled() {
+		Assume.assumeTrue(BenchmarkRunner.isEnabled());
+	}
+
+	@Test
+	public void lexer() throws Exception {
+		String text = SQFBenchmarkSources.createFile(200);
+		BenchmarkRunner runner = new BenchmarkRunner("lexer");
+		SQFLexer lexer = new SQFLexer(null);
+		runner.measure("tokenize_" + text.length() + "_chars", WARM_UP_ITERATIONS, MEASURED_ITERATIONS, text.length(), () -> {
+			lexer.reset(text, 0, text.length(), 0);
+			long tokens = 0;
+			while (lexer.advance() != null) {
+				tokens++;
+			}
+			return tokens;
+		});
+		runner.save();
+	}
+
+	@Test
+	public void typeEquivalent() throws Exception {
+		List<ValueType[]> pairs = new ArrayList<>();
+		pairs.add(new ValueType[]{BaseType.NUMBER, BaseType.NUMBER});
+		pairs.add(new ValueType[]{BaseType.NUMBER, BaseType.STRING});
+		pairs.add(new ValueType[]{BaseType.ARRAY, BaseType.POSITION_3D});
+		pairs.add(new ValueType[]{BaseType.POSITION, new ExpandedValueType(BaseType.NUMBER, BaseType.NUMBER, BaseType.NUMBER)});
+		pairs.add(new ValueType[]{BaseType.CODE, new CodeType(BaseType.NUMBER)});
+		pairs.add(new ValueType[]{BaseType._VARIABLE, BaseType.OBJECT});
+		pairs.add(new ValueType[]{new ExpandedValueType(true, BaseType.OBJECT), new ExpandedValueType(BaseType.OBJECT, BaseType.OBJECT)});
+		pairs.add(new ValueType[]{BaseType.COLOR, new ExpandedValueType(BaseType.NUMBER, BaseType.NUMBER, BaseType.NUMBER, BaseType.NUMBER)});
+
+		List<ValueType[]> internedPairs = new ArrayList<>(pairs.size());
+		for (ValueType[] pair : pairs) {
+			internedPairs.add(new ValueType[]{ValueType.intern(pair[0]), ValueType.intern(pair[1])});
+		}
+
+		int repeat = 10_000;
+		BenchmarkRunner runner = new BenchmarkRunner("typeEquivalent");
+		runner.measure("common_pairs", WARM_UP_ITERATIONS, MEASURED_ITERATIONS, repeat * pairs.size() * 2, () -> {
+			return typeEquivalentAll(pairs, repeat);
+		});
+		runner.measure("common_pairs_interned", WARM_UP_ITERATIONS, MEASURED_ITERATIONS, repeat * pairs.size() * 2, () -> {
+			return typeEquivalentAll(internedPairs, repeat);
+		});
+		runner.save();
+	}
+
+	private static long typeEquivalentAll(@NotNull List<ValueType[]> pairs, int repeat) {
+		long equivalent = 0;
+		for (int i = 0; i < repeat; i++) {
+			for (ValueType[] pair : pairs) {
+				equivalent += ValueType.typeEquivalent(pair[0], pair[1]) ? 1 : 0;
+				equivalent += ValueType.typeEquivalent(pair[1], pair[0]) ? 1 : 0;
+			}
+		}
+		return equivalent;
+	}
+
+	@Test
+	public void commandDescriptorPoolContention() throws Exception {
+		CommandDescriptorPool pool = new CommandDescriptorPool();
+		//fewer commands than the pool can hold so that this measures lookups and not loading
+		List<String> commands = getCommandsWithSyntax(pool.getMaximumSize() / 2);
+		for (String command : commands) {
+			pool.get(command);
+		}
+
+		int threadCount = Math.max(2, Runtime.getRuntime().availableProcessors());
+		int lookupsPerThread = 100_000;
+		ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			BenchmarkRunner runner = new BenchmarkRunner("CommandDescriptorPool");
+			runner.measure("get_" + threadCount + "_threads", WARM_UP_ITERATIONS, MEASURED_ITERATIONS,
+					threadCount * lookupsPerThread, () -> {
+						CountDownLatch start = new CountDownLatch(1);
+						List<Future<Long>> futures = new ArrayList<>(threadCount);
+						for (int t = 0; t < threadCount; t++) {
+							int offset = t;
+							futures.add(executor.submit(() -> {
+								start.await();
+								long found = 0;
+								for (int i = 0; i < lookupsPerThread; i++) {
+									found += pool.get(commands.get((i + offset) % commands.size())) != null ? 1 : 0;
+								}
+								return found;
+							}));
+						}
+						start.countDown();
+						long found = 0;
+						for (Future<Long> future : futures) {
+							found += future.get();
+						}
+						return found;
+					}
+			);
+			runner.save();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void syntaxXmlLoader() throws Exception {
+		List<String> commands = getCommandsWithSyntax(50);
+		BenchmarkRunner runner = new BenchmarkRunner("SQFCommandSyntaxXMLLoader");
+		runner.measure("importFromStream", WARM_UP_ITERATIONS, MEASURED_ITERATIONS, commands.size(), () -> {
+			long syntaxes = 0;
+			for (String command : commands) {
+				try (CommandXMLInputStream is = new CommandXMLInputStream(command)) {
+					syntaxes += SQFCommandSyntaxXMLLoader.importFromStream(is, false).getSyntaxList().size();
+				}
+			}
+			return syntaxes;
+		});
+		runner.save();
+	}
+
+	/**
+	 * @return up to max commands (in {@link SQFStatic#LIST_COMMANDS} order) that have a syntax xml file
+	 */
+	@NotNull
+	private static List<String> getCommandsWithSyntax(int max) {
+		List<String> commands = new ArrayList<>(max);
+		for (String command : SQFStatic.LIST_COMMANDS) {
+			if (commands.size() >= max) {
+				break;
+			}
+			if (CommandXMLInputStream.class.getResource("/com/kaylerrenslow/armaplugin/lang/sqf/syntax/" + command.toLowerCase() + ".xml") != null) {
+				commands.add(command);
+			}
+		}
+		return commands;
+	}
+}
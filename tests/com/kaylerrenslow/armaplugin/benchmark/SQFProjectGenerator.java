@@ -0,0 +1,325 @@
+package com.kaylerrenslow.armaplugin.benchmark;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates a synthetic mission for scaling tests and benchmarks. The mission contains:
+ * <ul>
+ * <li>description.ext with every function in CfgFunctions</li>
+ * <li>a function file (functions/category/fn_name.sqf) for every function. Functions read and write global variables
+ * shared by all files, call other functions, and localize stringtable keys.</li>
+ * <li>stringtable.xml with the stringtable keys</li>
+ * </ul>
+ * The same settings and seed always generate the same mission.
+ * <p>
+ * Can also be run from the command line:
+ * <code>SQFProjectGenerator &lt;output directory&gt; [function count] [statements per function] [nesting depth]
+ * [stringtable keys] [global variables]</code>
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFProjectGenerator {
+	public static final String TAG = "gen";
+	private static final int FUNCTIONS_PER_CATEGORY = 50;
+
+	private int functionCount = 10;
+	private int statementsPerFunction = 20;
+	private int nestingDepth = 2;
+	private int stringTableKeyCount = 100;
+	private int globalVariableCount = 50;
+	private long seed = 0;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1) {
+			System.err.println("Usage: SQFProjectGenerator <output directory> [function count] [statements per function] "
+					+ "[nesting depth] [stringtable keys] [global variables]");
+			System.exit(1);
+			return;
+		}
+		SQFProjectGenerator generator = new SQFProjectGenerator();
+		if (args.length > 1) {
+			generator.setFunctionCount(Integer.parseInt(args[1]));
+		}
+		if (args.length > 2) {
+			generator.setStatementsPerFunction(Integer.parseInt(args[2]));
+		}
+		if (args.length > 3) {
+			generator.setNestingDepth(Integer.parseInt(args[3]));
+		}
+		if (args.length > 4) {
+			generator.setStringTableKeyCount(Integer.parseInt(args[4]));
+		}
+		if (args.length > 5) {
+			generator.setGlobalVariableCount(Integer.parseInt(args[5]));
+		}
+		File dir = new File(args[0]);
+		generator.writeTo(dir);
+		System.out.println("Generated " + generator.functionCount + " functions into " + dir.getAbsolutePath());
+	}
+
+	@NotNull
+	public SQFProjectGenerator setFunctionCount(int functionCount) {
+		this.functionCount = functionCount;
+		return this;
+	}
+
+	/**
+	 * @param statementsPerFunction number of top level statements in each function
+	 */
+	@NotNull
+	public SQFProjectGenerator setStatementsPerFunction(int statementsPerFunction) {
+		this.statementsPerFunction = statementsPerFunction;
+		return this;
+	}
+
+	/**
+	 * @param nestingDepth how deep code blocks (if, forEach, while, etc) can be nested inside each function
+	 */
+	@NotNull
+	public SQFProjectGenerator setNestingDepth(int nestingDepth) {
+		this.nestingDepth = nestingDepth;
+		return this;
+	}
+
+	@NotNull
+	public SQFProjectGenerator setStringTableKeyCount(int stringTableKeyCount) {
+		this.stringTableKeyCount = stringTableKeyCount;
+		return this;
+	}
+
+	/**
+	 * @param globalVariableCount number of global variables shared across all function files
+	 */
+	@NotNull
+	public SQFProjectGenerator setGlobalVariableCount(int globalVariableCount) {
+		this.globalVariableCount = globalVariableCount;
+		return this;
+	}
+
+	@NotNull
+	public SQFProjectGenerator setSeed(long seed) {
+		this.seed = seed;
+		return this;
+	}
+
+	/**
+	 * @return name of a function as it is called in SQF (i.e. gen_fnc_function0)
+	 */
+	@NotNull
+	public static String getFunctionName(int function) {
+		return TAG + "_fnc_function" + function;
+	}
+
+	/**
+	 * @return name of a global variable that is shared across function files
+	 */
+	@NotNull
+	public static String getGlobalVariableName(int variable) {
+		return TAG + "_global" + variable;
+	}
+
+	/**
+	 * @return relative path (with / separators) of the function's file
+	 */
+	@NotNull
+	public static String getFunctionPath(int function) {
+		return "functions/" + getCategory(function) + "/fn_function" + function + ".sqf";
+	}
+
+	/**
+	 * Generates the mission in memory.
+	 *
+	 * @return relative path (with / separators) -> file content, description.ext first, then stringtable.xml, then
+	 * function files in order
+	 */
+	@NotNull
+	public Map<String, String> generate() {
+		Map<String, String> files = new LinkedHashMap<>();
+		files.put("description.ext", generateDescriptionExt());
+		files.put("stringtable.xml", generateStringTable());
+		for (int i = 0; i < functionCount; i++) {
+			files.put(getFunctionPath(i), generateFunction(i));
+		}
+		return files;
+	}
+
+	/**
+	 * Generates the mission into the given directory
+	 */
+	public void writeTo(@NotNull File directory) throws IOException {
+		for (Map.Entry<String, String> file : generate().entrySet()) {
+			File f = new File(directory, file.getKey());
+			File parent = f.getParentFile();
+			if (!parent.exists() && !parent.mkdirs()) {
+				throw new IOException("couldn't create directory " + parent.getAbsolutePath());
+			}
+			try (Writer w = new OutputStreamWriter(new FileOutputStream(f), StandardCharsets.UTF_8)) {
+				w.write(file.getValue());
+			}
+		}
+	}
+
+	@NotNull
+	private String generateDescriptionExt() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("onLoadName = \"Generated Mission\";\n");
+		sb.append("class CfgFunctions {\n");
+		sb.append("\tclass ").append(TAG).append(" {\n");
+		for (int category = 0; category * FUNCTIONS_PER_CATEGORY < functionCount; category++) {
+			sb.append("\t\tclass category").append(category).append(" {\n");
+			sb.append("\t\t\tfile = \"functions\\category").append(category).append("\";\n");
+			int end = Math.min(functionCount, (category + 1) * FUNCTIONS_PER_CATEGORY);
+			for (int function = category * FUNCTIONS_PER_CATEGORY; function < end; function++) {
+				sb.append("\t\t\tclass function").append(function).append(" {};\n");
+			}
+			sb.append("\t\t};\n");
+		}
+		sb.append("\t};\n");
+		sb.append("};\n");
+		return sb.toString();
+	}
+
+	@NotNull
+	private String generateStringTable() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
+		sb.append("<Project name=\"Generated Mission\">\n");
+		sb.append("\t<Package name=\"Generated\">\n");
+		sb.append("\t\t<Container name=\"Keys\">\n");
+		for (int i = 0; i < stringTableKeyCount; i++) {
+			sb.append("\t\t\t<Key ID=\"").append(getStringTableKey(i)).append("\">\n");
+			sb.append("\t\t\t\t<Original>Generated text ").append(i).append("</Original>\n");
+			sb.append("\t\t\t\t<English>Generated text ").append(i).append("</English>\n");
+			sb.append("\t\t\t</Key>\n");
+		}
+		sb.append("\t\t</Container>\n");
+		sb.append("\t</Package>\n");
+		sb.append("</Project>\n");
+		return sb.toString();
+	}
+
+	@NotNull
+	private String generateFunction(int function) {
+		//seeded per function so that each function is generated independently of the others
+		Random random = new Random(seed * 31 + function);
+		StringBuilder sb = new StringBuilder();
+		sb.append("/*\n\tGenerated function ").append(function).append("\n*/\n");
+		sb.append("params [\"_unit\", [\"_amount\", ").append(function).append("]];\n");
+		sb.append("private _result = 0;\n");
+		sb.append("private _text = \"\";\n");
+		for (int i = 0; i < statementsPerFunction; i++) {
+			appendStatement(sb, random, 0);
+		}
+		sb.append("_result\n");
+		return sb.toString();
+	}
+
+	private void appendStatement(@NotNull StringBuilder sb, @NotNull Random random, int depth) {
+		indent(sb, depth);
+		int kind = random.nextInt(depth < nestingDepth ? 10 : 6);
+		switch (kind) {
+			case 0: {
+				sb.append("_result = _result + ").append(random.nextInt(100)).append(" * _amount;\n");
+				break;
+			}
+			case 1: {
+				sb.append(getGlobalVariableName(randomGlobal(random))).append(" = _result;\n");
+				break;
+			}
+			case 2: {
+				sb.append("_result = _result + ").append(getGlobalVariableName(randomGlobal(random))).append(";\n");
+				break;
+			}
+			case 3: {
+				if (functionCount > 0) {
+					sb.append("_result = [_unit, _result] call ").append(getFunctionName(random.nextInt(functionCount))).append(";\n");
+				} else {
+					sb.append("_result = _result + 1;\n");
+				}
+				break;
+			}
+			case 4: {
+				if (stringTableKeyCount > 0) {
+					sb.append("_text = _text + localize \"").append(getStringTableKey(random.nextInt(stringTableKeyCount))).append("\";\n");
+				} else {
+					sb.append("_text = _text + \"text\";\n");
+				}
+				break;
+			}
+			case 5: {
+				sb.append("hint format [\"%1 %2\", _text, getPos _unit];\n");
+				break;
+			}
+			case 6: {
+				sb.append("if (_result > ").append(random.nextInt(1000)).append(") then {\n");
+				appendBlock(sb, random, depth + 1);
+				indent(sb, depth);
+				sb.append("} else {\n");
+				appendBlock(sb, random, depth + 1);
+				indent(sb, depth);
+				sb.append("};\n");
+				break;
+			}
+			case 7: {
+				sb.append("{\n");
+				appendBlock(sb, random, depth + 1);
+				indent(sb, depth);
+				sb.append("} forEach (allUnits select {alive _x});\n");
+				break;
+			}
+			case 8: {
+				sb.append("for \"_i").append(depth).append("\" from 0 to ").append(random.nextInt(10)).append(" do {\n");
+				appendBlock(sb, random, depth + 1);
+				indent(sb, depth);
+				sb.append("};\n");
+				break;
+			}
+			case 9: {
+				sb.append("while {_result < ").append(random.nextInt(1000)).append("} do {\n");
+				indent(sb, depth + 1);
+				sb.append("_result = _result + 1;\n");
+				appendBlock(sb, random, depth + 1);
+				indent(sb, depth);
+				sb.append("};\n");
+				break;
+			}
+			default: {
+				throw new IllegalStateException("unknown statement kind " + kind);
+			}
+		}
+	}
+
+	private void appendBlock(@NotNull StringBuilder sb, @NotNull Random random, int depth) {
+		int statements = 1 + random.nextInt(3);
+		for (int i = 0; i < statements; i++) {
+			appendStatement(sb, random, depth);
+		}
+	}
+
+	private int randomGlobal(@NotNull Random random) {
+		return globalVariableCount > 0 ? random.nextInt(globalVariableCount) : 0;
+	}
+
+	@NotNull
+	private static String getStringTableKey(int key) {
+		return "STR_" + TAG + "_key" + key;
+	}
+
+	@NotNull
+	private static String getCategory(int function) {
+		return "category" + function / FUNCTIONS_PER_CATEGORY;
+	}
+
+	private static void indent(@NotNull StringBuilder sb, int depth) {
+		for (int i = 0; i < depth; i++) {
+			sb.append('\t');
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.kaylerrenslow.armaplugin.benchmark;
+
+import com.intellij.codeInsight.lookup.LookupManager;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.PsiUtil;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFFile;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFSyntaxHelper;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFVariable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how type checking, highlighting, find usages and completion scale with the number of files in a mission
+ * generated by {@link SQFProjectGenerator}. By default, missions of 10, 100 and 1,000 files are measured. Set the
+ * system property <code>armaplugin.benchmark.maxFiles</code> to go higher (i.e. 10000).
+ * Results are stored by {@link BenchmarkRunner#save()}. Only runs when {@link BenchmarkRunner#isEnabled()}.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFProjectScalingBenchmarks extends LightCodeInsightFixtureTestCase {
+	private static final String MAX_FILES_PROPERTY = "armaplugin.benchmark.maxFiles";
+	private static final int WARM_UP_ITERATIONS = 2;
+	private static final int MEASURED_ITERATIONS = 5;
+
+	@Override
+	protected boolean shouldRunTest() {
+		return BenchmarkRunner.isEnabled() && super.shouldRunTest();
+	}
+
+	public void testScaling() throws Exception {
+		int maxFiles = Integer.getInteger(MAX_FILES_PROPERTY, 1000);
+		BenchmarkRunner runner = new BenchmarkRunner("missionScaling");
+		for (int fileCount = 10; fileCount <= maxFiles; fileCount *= 10) {
+			measure(runner, fileCount);
+		}
+		runner.save();
+	}
+
+	private void measure(@NotNull BenchmarkRunner runner, int fileCount) throws Exception {
+		//each mission goes in its own directory so that missions from smaller file counts don't get in the way
+		String root = "mission" + fileCount + "/";
+		Map<String, String> files = new SQFProjectGenerator().setFunctionCount(fileCount).generate();
+		List<SQFFile> sqfFiles = new ArrayList<>(fileCount);
+		for (Map.Entry<String, String> file : files.entrySet()) {
+			PsiFile psiFile = myFixture.addFileToProject(root + file.getKey(), file.getValue());
+			if (psiFile instanceof SQFFile) {
+				sqfFiles.add((SQFFile) psiFile);
+			}
+		}
+
+		//the check result is cached on the file, so every iteration checks new copies of the files
+		List<SQFFile> copies = new ArrayList<>(sqfFiles.size());
+		runner.measure("typeCheck_" + fileCount + "_files", WARM_UP_ITERATIONS, MEASURED_ITERATIONS, fileCount, () -> {
+			copies.clear();
+			for (SQFFile file : sqfFiles) {
+				copies.add(PsiUtil.createFile(getProject(), file.getText(), SQFFileType.INSTANCE));
+			}
+		}, () -> {
+			long problems = 0;
+			for (SQFFile file : copies) {
+				problems += SQFSyntaxHelper.getInstance().getCheckResult(file).getProblems().size();
+			}
+			return problems;
+		});
+
+		SQFFile first = sqfFiles.get(0);
+		myFixture.configureFromExistingVirtualFile(first.getVirtualFile());
+		//highlighting after an edit, like while typing. Otherwise everything after the first iteration is cached.
+		runner.measure("highlighting_" + fileCount + "_files", WARM_UP_ITERATIONS, MEASURED_ITERATIONS, 1, () -> {
+			WriteCommandAction.runWriteCommandAction(getProject(), () -> {
+				myFixture.getEditor().getDocument().insertString(0, " ");
+			});
+			PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+		}, () -> {
+			return myFixture.doHighlighting().size();
+		});
+
+		SQFVariable global = findGlobalVariable(sqfFiles);
+		if (global != null) {
+			runner.measure("findUsages_" + fileCount + "_files", WARM_UP_ITERATIONS, MEASURED_ITERATIONS, 1, () -> {
+				//resolve results are cached until the PSI changes
+				PsiManager.getInstance(getProject()).dropPsiCaches();
+			}, () -> {
+				return myFixture.findUsages(global).size();
+			});
+		}
+
+		myFixture.getEditor().getCaretModel().moveToOffset(myFixture.getEditor().getDocument().getTextLength());
+		runner.measure("completion_" + fileCount + "_files", WARM_UP_ITERATIONS, MEASURED_ITERATIONS, 1, () -> {
+			LookupManager.getInstance(getProject()).hideActiveLookup();
+			myFixture.type("\n_r");
+		}, () -> {
+			return myFixture.completeBasic() == null ? 0 : 1;
+		});
+	}
+
+	/**
+	 * @return a global variable shared across files ({@link SQFProjectGenerator#getGlobalVariableName(int)})
+	 */
+	@Nullable
+	private static SQFVariable findGlobalVariable(@NotNull List<SQFFile> files) {
+		String prefix = SQFProjectGenerator.getGlobalVariableName(0);
+		prefix = prefix.substring(0, prefix.length() - 1);
+		for (SQFFile file : files) {
+			for (SQFVariable var : PsiUtil.findDescendantElementsOfInstance(file, SQFVariable.class, null, null)) {
+				if (var.getVarName().startsWith(prefix)) {
+					return var;
+				}
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,65 @@
+package com.kaylerrenslow.armaplugin.benchmark;
+
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.PsiUtil;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFFile;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFSyntaxCheckResult;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFSyntaxChecker;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFSyntaxHelper;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorCluster;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Benchmarks for parsing and type checking SQF files. Results are stored by {@link BenchmarkRunner#save()}.
+ * Only runs when {@link BenchmarkRunner#isEnabled()}.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFPsiHotPathBenchmarks extends LightCodeInsightFixtureTestCase {
+	private static final int WARM_UP_ITERATIONS = 3;
+	private static final int MEASURED_ITERATIONS = 10;
+	private static final int FUNCTIONS_PER_FILE = 50;
+
+	@Override
+	protected boolean shouldRunTest() {
+		return BenchmarkRunner.isEnabled() && super.shouldRunTest();
+	}
+
+	public void testParser() throws Exception {
+		String text = SQFBenchmarkSources.createFile(FUNCTIONS_PER_FILE);
+		BenchmarkRunner runner = new BenchmarkRunner("parser");
+		runner.measure("parse_" + FUNCTIONS_PER_FILE + "_functions", WARM_UP_ITERATIONS, MEASURED_ITERATIONS, 1, () -> {
+			SQFFile file = createFile(text);
+			//the file is parsed lazily, so get the tree to parse it
+			return file.getNode().getLastChildNode().getStartOffset();
+		});
+		runner.save();
+	}
+
+	public void testSyntaxChecker() throws Exception {
+		String text = SQFBenchmarkSources.createFile(FUNCTIONS_PER_FILE);
+		//a new file for every iteration so that results memoized on statements aren't reused
+		SQFFile[] files = new SQFFile[WARM_UP_ITERATIONS + MEASURED_ITERATIONS];
+		CommandDescriptorCluster[] clusters = new CommandDescriptorCluster[files.length];
+		for (int i = 0; i < files.length; i++) {
+			files[i] = createFile(text);
+			clusters[i] = SQFSyntaxHelper.getInstance().getCommandDescriptors(files[i]);
+		}
+		int[] iteration = {0};
+		BenchmarkRunner runner = new BenchmarkRunner("SQFSyntaxChecker");
+		runner.measure("begin_" + FUNCTIONS_PER_FILE + "_functions", WARM_UP_ITERATIONS, MEASURED_ITERATIONS, 1, () -> {
+			int i = iteration[0]++;
+			SQFSyntaxCheckResult result = new SQFSyntaxCheckResult();
+			new SQFSyntaxChecker(files[i].getFileScope().getChildStatements(), clusters[i], result).begin();
+			return result.getProblems().size();
+		});
+		runner.save();
+	}
+
+	@NotNull
+	private SQFFile createFile(@NotNull String text) {
+		return PsiUtil.createFile(getProject(), text, SQFFileType.INSTANCE);
+	}
+}
@@ -0,0 +1,46 @@
+package com.kaylerrenslow.armaplugin.lang;
+
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.intellij.usages.impl.rules.UsageType;
+import com.kaylerrenslow.armaplugin.ArmaPlugin;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFVariable;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Tests for {@link ArmaUsageTypeProvider}
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class ArmaUsageTypeProviderTest extends LightCodeInsightFixtureTestCase {
+
+	public void testReturnStatement() {
+		assertUsageType("return_statement", "f = {_a = 1; _a};", 2);
+		assertUsageType("return_statement", "f = {_a = 1; (_a)};", 2);
+	}
+
+	public void testLastStatementInFileIsNotReturn() {
+		assertUsageType("unknown_sqf", "_a = 1; _a", 1);
+	}
+
+	public void testLastStatementNotOnlyVariable() {
+		assertUsageType("function_call", "f = {_x call _fnc};", 2);
+		assertUsageType("function_param", "f = {[_a] spawn _fnc};", 1);
+		assertUsageType("function_call", "_x call _fnc;", 1);
+		assertUsageType("function_spawn", "[_a] spawn _fnc", 1);
+	}
+
+	/**
+	 * @param expectedKey   key in the plugin bundle without the "UsageTypeProvider.UsageType." prefix
+	 * @param variableIndex index of the variable in the text, in text order
+	 */
+	private void assertUsageType(@NotNull String expectedKey, @NotNull String text, int variableIndex) {
+		myFixture.configureByText(SQFFileType.INSTANCE, text);
+		SQFVariable[] variables = PsiTreeUtil.collectElementsOfType(myFixture.getFile(), SQFVariable.class).toArray(new SQFVariable[0]);
+		UsageType type = new ArmaUsageTypeProvider().getUsageType(variables[variableIndex]);
+		assertNotNull(type);
+		assertEquals(ArmaPlugin.getPluginBundle().getString("UsageTypeProvider.UsageType." + expectedKey), type.toString());
+	}
+}
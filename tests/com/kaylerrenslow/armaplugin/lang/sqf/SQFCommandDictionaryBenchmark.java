@@ -0,0 +1,84 @@
+package com.kaylerrenslow.armaplugin.lang.sqf;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the speed of {@link SQFCommandDictionary#isCommand(CharSequence)} to the linear search over
+ * {@link SQFStatic#LIST_COMMANDS} that {@link SQFLexer} used before. Both lookups get the same identifiers
+ * ({@link SQFCommandDictionaryTest#getIdentifiers()}), and the median and best time per lookup of each, and the speedup,
+ * are printed.
+ * <p>
+ * Only runs when the system property <code>armaplugin.benchmark</code> is true, so that normal test runs don't spend
+ * time on it.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFCommandDictionaryBenchmark {
+	private static final int WARM_UP_ITERATIONS = 5;
+	private static final int MEASURED_ITERATIONS = 10;
+
+	/**
+	 * Results of lookups are added to this so that the JIT can't remove the lookups
+	 */
+	private static volatile long blackHole;
+
+	@Before
+	public void assumeEnabled() {
+		Assume.assumeTrue(Boolean.getBoolean("armaplugin.benchmark"));
+	}
+
+	@Test
+	public void isCommand() throws Exception {
+		List<String> identifiers = SQFCommandDictionaryTest.getIdentifiers();
+		SQFCommandDictionary dictionary = SQFCommandDictionary.getInstance();
+
+		double[] linear = measure(identifiers, SQFCommandDictionaryTest::linearIsCommand);
+		double[] hashed = measure(identifiers, dictionary::isCommand);
+		assertEquals(count(identifiers, SQFCommandDictionaryTest::linearIsCommand), count(identifiers, dictionary::isCommand));
+
+		print("SQFCommandDictionary.linearSearch (baseline)", linear);
+		print("SQFCommandDictionary.isCommand", hashed);
+		System.out.println(String.format(Locale.ROOT, "%-50s %14.1fx", "SQFCommandDictionary.speedup", linear[0] / hashed[0]));
+	}
+
+	/**
+	 * @return median and best time per lookup in nanoseconds
+	 */
+	@NotNull
+	private static double[] measure(@NotNull List<String> identifiers, @NotNull Predicate<String> isCommand) {
+		for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+			blackHole += count(identifiers, isCommand);
+		}
+		double[] nanosPerLookup = new double[MEASURED_ITERATIONS];
+		for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+			long start = System.nanoTime();
+			blackHole += count(identifiers, isCommand);
+			nanosPerLookup[i] = (System.nanoTime() - start) / (double) identifiers.size();
+		}
+		Arrays.sort(nanosPerLookup);
+		return new double[]{nanosPerLookup[nanosPerLookup.length / 2], nanosPerLookup[0]};
+	}
+
+	private static long count(@NotNull List<String> identifiers, @NotNull Predicate<String> isCommand) {
+		long commands = 0;
+		for (String identifier : identifiers) {
+			commands += isCommand.test(identifier) ? 1 : 0;
+		}
+		return commands;
+	}
+
+	private static void print(@NotNull String name, @NotNull double[] result) {
+		System.out.println(String.format(Locale.ROOT, "%-50s %14.1f ns/op (best %.1f)", name, result[0], result[1]));
+	}
+}
@@ -0,0 +1,94 @@
+package com.kaylerrenslow.armaplugin.lang.sqf;
+
+import com.intellij.psi.tree.IElementType;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFTypes;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Makes sure {@link SQFCommandDictionary} and {@link SQFLexer} classify identifiers exactly like the old linear search
+ * over {@link SQFStatic#LIST_COMMANDS}. Lookup speed is measured by {@link SQFCommandDictionaryBenchmark} instead.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFCommandDictionaryTest {
+	private static final int IDENTIFIER_COUNT = 50_000;
+
+	@Test
+	public void dictionaryMatchesLinearSearch() throws Exception {
+		for (String identifier : getIdentifiers()) {
+			assertEquals(identifier, linearIsCommand(identifier), SQFCommandDictionary.getInstance().isCommand(identifier));
+		}
+	}
+
+	@Test
+	public void commandIdsRoundTrip() throws Exception {
+		SQFCommandDictionary dictionary = SQFCommandDictionary.getInstance();
+		for (String command : SQFStatic.LIST_COMMANDS) {
+			int id = dictionary.getId(command.toUpperCase());
+			assertTrue(command, id >= 0);
+			assertTrue(command, dictionary.getCommandName(id).equalsIgnoreCase(command));
+		}
+	}
+
+	@Test
+	public void lexerClassifiesIdentifiers() throws Exception {
+		List<String> identifiers = getIdentifiers();
+		String text = String.join(" ", identifiers);
+		SQFLexer lexer = new SQFLexer(null);
+		lexer.reset(text, 0, text.length(), 0);
+
+		int identifierIndex = 0;
+		IElementType type;
+		while ((type = lexer.advance()) != null) {
+			if (type != SQFTypes.COMMAND_TOKEN && type != SQFTypes.GLOBAL_VAR) {
+				continue;
+			}
+			String identifier = identifiers.get(identifierIndex++);
+			assertEquals(identifier, linearIsCommand(identifier), type == SQFTypes.COMMAND_TOKEN);
+		}
+		assertEquals(identifiers.size(), identifierIndex);
+	}
+
+	/**
+	 * The old way of classifying identifiers inside {@link SQFLexer}
+	 */
+	static boolean linearIsCommand(String identifier) {
+		for (String command : SQFStatic.LIST_COMMANDS) {
+			if (command.equalsIgnoreCase(identifier)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return a mix of commands (in random case) and global variables that aren't commands
+	 */
+	static List<String> getIdentifiers() {
+		List<String> commands = new ArrayList<>();
+		for (String command : SQFStatic.LIST_COMMANDS) {
+			if (command.matches("[a-zA-Z][a-zA-Z_0-9]*")) { //only commands that get lexed as identifiers
+				commands.add(command);
+			}
+		}
+		Random random = new Random(0);
+		List<String> identifiers = new ArrayList<>(IDENTIFIER_COUNT);
+		for (int i = 0; i < IDENTIFIER_COUNT; i++) {
+			if (random.nextBoolean()) {
+				String command = commands.get(random.nextInt(commands.size()));
+				identifiers.add(random.nextBoolean() ? command.toUpperCase() : command);
+			} else {
+				identifiers.add("tag_globalVar" + random.nextInt(1000));
+			}
+		}
+		return identifiers;
+	}
+}
@@ -0,0 +1,49 @@
+package com.kaylerrenslow.armaplugin.lang.sqf;
+
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFVariable;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Tests for {@link SQFReferencesSearcher}
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFReferencesSearcherTest extends LightCodeInsightFixtureTestCase {
+
+	public void testLocalVariableDifferentCase() {
+		myFixture.configureByText(SQFFileType.INSTANCE, "_myVar = 1; hint str _MYVAR; _myvar = _MyVar + 1;");
+		SQFVariable var = PsiTreeUtil.findChildOfType(myFixture.getFile(), SQFVariable.class);
+		assertNotNull(var);
+		Set<String> found = findReferenceTexts(var);
+		assertTrue(found.contains("_MYVAR"));
+		assertTrue(found.contains("_myvar"));
+		assertTrue(found.contains("_MyVar"));
+	}
+
+	public void testGlobalVariableDifferentCase() {
+		myFixture.configureByText(SQFFileType.INSTANCE, "tag_var = 1; hint str TAG_VAR; Tag_Var = 2;");
+		SQFVariable var = PsiTreeUtil.findChildOfType(myFixture.getFile(), SQFVariable.class);
+		assertNotNull(var);
+		Set<String> found = findReferenceTexts(var);
+		assertTrue(found.contains("TAG_VAR"));
+		assertTrue(found.contains("Tag_Var"));
+	}
+
+	@NotNull
+	private Set<String> findReferenceTexts(@NotNull SQFVariable var) {
+		Set<String> texts = new HashSet<>();
+		for (PsiReference reference : ReferencesSearch.search(var, GlobalSearchScope.fileScope(myFixture.getFile())).findAll()) {
+			texts.add(reference.getElement().getText());
+		}
+		return texts;
+	}
+}
@@ -0,0 +1,58 @@
+package com.kaylerrenslow.armaplugin.lang.sqf;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link SQFWordsScanner}
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFWordsScannerTest {
+
+	@Test
+	public void codeWordsAreLowercase() throws Exception {
+		assertEquals(
+				list("CODE:tag_var", "CODE:hint", "CODE:str", "CODE:_local"),
+				scan("TAG_Var = 1; HINT str _Local;")
+		);
+	}
+
+	@Test
+	public void stringAndCommentWords() throws Exception {
+		assertEquals(
+				list("CODE:params", "LITERALS:_a", "LITERALS:_b", "COMMENTS:my", "COMMENTS:comment"),
+				scan("params [\"_A\", [\"_b\", 0]]; //My comment")
+		);
+		assertEquals(
+				list("CODE:hint", "LITERALS:hello", "LITERALS:world_1"),
+				scan("hint \"Hello, World_1!\";")
+		);
+	}
+
+	@NotNull
+	private static List<String> scan(@NotNull String text) {
+		List<String> words = new ArrayList<>();
+		new SQFWordsScanner().processWords(text, occurrence -> {
+			CharSequence word = occurrence.getBaseText().subSequence(occurrence.getStart(), occurrence.getEnd());
+			words.add(occurrence.getKind() + ":" + word);
+			return true;
+		});
+		return words;
+	}
+
+	@NotNull
+	private static List<String> list(@NotNull String... words) {
+		List<String> list = new ArrayList<>(words.length);
+		for (String word : words) {
+			list.add(word);
+		}
+		return list;
+	}
+}
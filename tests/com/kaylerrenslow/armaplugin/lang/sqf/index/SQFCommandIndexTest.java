@@ -0,0 +1,70 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.index;
+
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiPolyVariantReference;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.VfsTestUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFCommandDictionary;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFCommand;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFFile;
+
+import java.util.List;
+
+/**
+ * Tests for {@link SQFCommandIndex}
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFCommandIndexTest extends LightCodeInsightFixtureTestCase {
+	private static final int HINT = SQFCommandDictionary.getInstance().getId("hint");
+
+	public void testFindCommands() {
+		myFixture.addFileToProject("a.sqf", "hint \"a\"; HINT \"b\";");
+		myFixture.addFileToProject("b.sqf", "hint str 1;");
+		myFixture.addFileToProject("c.sqf", "systemChat \"hint\";");
+
+		List<SQFCommand> commands = SQFCommandIndex.findCommands(getProject(), HINT, GlobalSearchScope.allScope(getProject()));
+		assertEquals(3, commands.size());
+		for (SQFCommand command : commands) {
+			assertTrue(command.commandNameEquals("hint"));
+		}
+	}
+
+	public void testFindCommands_file() {
+		myFixture.addFileToProject("b.sqf", "hint str 1;");
+		SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, "hint \"a\"; systemChat \"b\"; hint \"c\";");
+		assertEquals(2, SQFCommandIndex.findCommands(file, HINT).size());
+	}
+
+	public void testFindCommands_fileOutsideContent() {
+		VirtualFile sourceRoot = myFixture.getTempDirFixture().getFile("");
+		assertNotNull(sourceRoot);
+		VirtualFile virtualFile = VfsTestUtil.createFile(sourceRoot.getParent(), "outside.sqf", "hint \"a\"; systemChat \"b\"; hint \"c\";");
+		try {
+			assertFalse(ProjectFileIndex.SERVICE.getInstance(getProject()).isInContent(virtualFile));
+			SQFFile file = (SQFFile) PsiManager.getInstance(getProject()).findFile(virtualFile);
+			assertNotNull(file);
+			assertEquals(2, SQFCommandIndex.findCommands(file, HINT).size());
+		} finally {
+			VfsTestUtil.deleteFile(virtualFile);
+		}
+	}
+
+	public void testCommandReference() {
+		myFixture.addFileToProject("b.sqf", "hint str 1;");
+		myFixture.configureByText(SQFFileType.INSTANCE, "hint \"a\"; systemChat \"b\"; hint \"c\";");
+		SQFCommand command = PsiTreeUtil.findChildOfType(myFixture.getFile(), SQFCommand.class);
+		assertNotNull(command);
+		PsiPolyVariantReference reference = (PsiPolyVariantReference) command.getReference();
+		assertNotNull(reference);
+		//only usages in the same file
+		assertEquals(2, reference.multiResolve(false).length);
+		assertSame(reference, command.getReference());
+	}
+}
@@ -0,0 +1,39 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.index;
+
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFVariable;
+
+import java.util.List;
+
+/**
+ * Tests for {@link SQFGlobalVariableIndex}
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFGlobalVariableIndexTest extends LightCodeInsightFixtureTestCase {
+
+	public void testFindGlobalVariables() {
+		myFixture.addFileToProject("a.sqf", "tag_var = 1; hint str TAG_VAR;");
+		myFixture.addFileToProject("b.sqf", "_x = tag_Var + 1; other = 2;");
+		myFixture.addFileToProject("c.sqf", "other = \"tag_var\";");
+
+		List<SQFVariable> vars = SQFGlobalVariableIndex.findGlobalVariables(getProject(), "Tag_Var", GlobalSearchScope.allScope(getProject()));
+		assertEquals(3, vars.size());
+		for (SQFVariable var : vars) {
+			assertTrue(var.getVarName().equalsIgnoreCase("tag_var"));
+			assertFalse("c.sqf".equals(var.getContainingFile().getName()));
+		}
+	}
+
+	public void testFindGlobalVariables_local() {
+		myFixture.addFileToProject("a.sqf", "_var = 1;");
+		assertEmpty(SQFGlobalVariableIndex.findGlobalVariables(getProject(), "_var", GlobalSearchScope.allScope(getProject())));
+	}
+
+	public void testFindGlobalVariables_notInScope() {
+		myFixture.addFileToProject("a.sqf", "tag_var = 1;");
+		assertEmpty(SQFGlobalVariableIndex.findGlobalVariables(getProject(), "tag_var", GlobalSearchScope.EMPTY_SCOPE));
+	}
+}
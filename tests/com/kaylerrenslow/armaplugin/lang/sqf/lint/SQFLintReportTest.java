@@ -0,0 +1,74 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.lint;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for the JSON and checkstyle output of {@link SQFLintReport}
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFLintReportTest {
+	private static SQFLintReport createReport() {
+		return new SQFLintReport(Arrays.asList(
+				new SQFLintFileResult("a.sqf", Collections.singletonList(
+						new SQFLintFileResult.Problem(2, 5, SQFLintFileResult.Severity.ERROR, "Type \"Number\" <expected>", "sqf.type")
+				)),
+				new SQFLintFileResult("dir\\b.sqf", Collections.emptyList())
+		), 2_000_000_000L);
+	}
+
+	@Test
+	public void json() throws Exception {
+		StringWriter w = new StringWriter();
+		createReport().writeJson(w);
+		assertEquals("{\n" +
+				"  \"fileCount\": 2,\n" +
+				"  \"problemCount\": 1,\n" +
+				"  \"seconds\": 2.000,\n" +
+				"  \"filesPerSecond\": 1.0,\n" +
+				"  \"files\": [\n" +
+				"    {\"path\": \"a.sqf\", \"problems\": [\n" +
+				"      {\"line\": 2, \"column\": 5, \"severity\": \"error\", \"source\": \"sqf.type\", \"message\": \"Type \\\"Number\\\" <expected>\"}\n" +
+				"    ]},\n" +
+				"    {\"path\": \"dir\\\\b.sqf\", \"problems\": []}\n" +
+				"  ]\n" +
+				"}\n", w.toString()
+		);
+	}
+
+	@Test
+	public void checkstyle() throws Exception {
+		StringWriter w = new StringWriter();
+		createReport().writeCheckstyle(w);
+		assertEquals("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+				"<checkstyle version=\"4.3\">\n" +
+				"\t<file name=\"a.sqf\">\n" +
+				"\t\t<error line=\"2\" column=\"5\" severity=\"error\" message=\"Type &quot;Number&quot; &lt;expected&gt;\" source=\"sqf.type\"/>\n" +
+				"\t</file>\n" +
+				"\t<file name=\"dir\\b.sqf\">\n" +
+				"\t</file>\n" +
+				"</checkstyle>\n", w.toString()
+		);
+	}
+
+	@Test
+	public void emptyJson() throws Exception {
+		StringWriter w = new StringWriter();
+		new SQFLintReport(Collections.emptyList(), 0).writeJson(w);
+		assertEquals("{\n" +
+				"  \"fileCount\": 0,\n" +
+				"  \"problemCount\": 0,\n" +
+				"  \"seconds\": 0.000,\n" +
+				"  \"filesPerSecond\": 0.0,\n" +
+				"  \"files\": []\n" +
+				"}\n", w.toString()
+		);
+	}
+}
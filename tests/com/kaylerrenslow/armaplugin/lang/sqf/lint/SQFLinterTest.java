@@ -0,0 +1,76 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.lint;
+
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Tests for {@link SQFLinter}. Lints files on disk and checks the line and column of each reported problem.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFLinterTest extends LightCodeInsightFixtureTestCase {
+	private File directory;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		directory = FileUtil.createTempDirectory("sqflint", null);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		try {
+			FileUtil.delete(directory);
+		} finally {
+			super.tearDown();
+		}
+	}
+
+	public void testLineAndColumn() throws Exception {
+		//parser error on the first line and type error on the last line
+		writeFile("crlf.sqf", "_a = ;\r\n_b = 1;\r\n\r\n_c = 1 + '';");
+		writeFile("lf.sqf", "_a = ;\n_b = 1;\n\n_c = 1 + '';");
+		writeFile("sub/ok.sqf", "_a = 1;\r\n_b = _a + 1;\r\n");
+
+		List<File> files = SQFLinter.findSQFFiles(directory);
+		assertEquals(3, files.size());
+		SQFLintReport report = new SQFLinter(getProject(), 2).lint(files);
+		List<SQFLintFileResult> results = report.getResults();
+		assertEquals(3, results.size());
+
+		for (int i = 0; i < 2; i++) {
+			SQFLintFileResult result = results.get(i);
+			String path = result.getPath();
+			assertNotNull(path, findProblem(result, 1, 6, "sqf.syntax"));
+			assertNotNull(path, findProblem(result, 4, 8, "sqf.type"));
+			for (SQFLintFileResult.Problem problem : result.getProblems()) {
+				assertTrue(path + " " + problem, problem.getLine() == 1 || problem.getLine() == 4);
+			}
+		}
+		assertEquals(0, results.get(2).getProblems().size());
+	}
+
+	@Nullable
+	private static SQFLintFileResult.Problem findProblem(@NotNull SQFLintFileResult result, int line, int column,
+														 @NotNull String source) {
+		for (SQFLintFileResult.Problem problem : result.getProblems()) {
+			if (problem.getLine() == line && problem.getColumn() == column && problem.getSource().equals(source)) {
+				return problem;
+			}
+		}
+		return null;
+	}
+
+	private void writeFile(@NotNull String path, @NotNull String text) throws IOException {
+		File file = new File(directory, path);
+		FileUtil.createParentDirs(file);
+		FileUtil.writeToFile(file, text);
+	}
+}
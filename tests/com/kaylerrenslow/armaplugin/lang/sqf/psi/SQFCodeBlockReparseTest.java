@@ -0,0 +1,79 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.impl.DebugUtil;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFLanguage;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.intellij.psi.tree.IErrorCounterReparseableElementType.FATAL_ERROR;
+import static com.intellij.psi.tree.IErrorCounterReparseableElementType.NO_ERRORS;
+
+/**
+ * Tests for {@link SQFCodeBlockElementType}
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFCodeBlockReparseTest extends LightCodeInsightFixtureTestCase {
+
+	public void testErrorsCount_balanced() {
+		assertEquals(NO_ERRORS, errorsCount("{}"));
+		assertEquals(NO_ERRORS, errorsCount("{a = 1; {b = 2;}}"));
+		assertEquals(NO_ERRORS, errorsCount("{hint \"}\";}"));
+		assertEquals(NO_ERRORS, errorsCount("{/*}*/}"));
+	}
+
+	public void testErrorsCount_notSingleBlock() {
+		assertEquals(FATAL_ERROR, errorsCount("{a"));
+		assertEquals(FATAL_ERROR, errorsCount("{a}}"));
+		assertEquals(FATAL_ERROR, errorsCount("{a} {b}"));
+		assertEquals(FATAL_ERROR, errorsCount("a = {b}"));
+		assertEquals(FATAL_ERROR, errorsCount(""));
+	}
+
+	public void testEditInsideCodeBlock() {
+		myFixture.configureByText(SQFFileType.INSTANCE, "" +
+				"switch (_a) do {\n" +
+				"\tcase 1: {_x = 1;<caret>};\n" +
+				"\tcase 2: {_y = 2;};\n" +
+				"};"
+		);
+		List<SQFCodeBlock> before = getCodeBlocks();
+		SQFCodeBlock caseTwo = before.get(2);
+
+		myFixture.type(" _z = 3;");
+		PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+		//only the edited code block should have been reparsed
+		assertTrue(caseTwo.isValid());
+		assertSame(caseTwo, getCodeBlocks().get(2));
+		assertEquals(myFixture.getEditor().getDocument().getText(), myFixture.getFile().getText());
+		assertEquals("{_x = 1; _z = 3;}", getCodeBlocks().get(1).getText());
+		assertFalse(DebugUtil.psiToString(myFixture.getFile(), false).contains("PsiErrorElement"));
+	}
+
+	public void testEditUnbalancesCodeBlock() {
+		myFixture.configureByText(SQFFileType.INSTANCE, "_a = {_x = 1;<caret>}; _b = {_y = 2;};");
+		myFixture.type("}; _c = {");
+		PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+		assertEquals(myFixture.getEditor().getDocument().getText(), myFixture.getFile().getText());
+		assertEquals(3, getCodeBlocks().size());
+	}
+
+	@NotNull
+	private List<SQFCodeBlock> getCodeBlocks() {
+		return new ArrayList<>(PsiTreeUtil.findChildrenOfType(myFixture.getFile(), SQFCodeBlock.class));
+	}
+
+	private int errorsCount(@NotNull String text) {
+		SQFCodeBlockElementType type = (SQFCodeBlockElementType) SQFTypes.CODE_BLOCK;
+		return type.getErrorsCount(text, SQFLanguage.INSTANCE, getProject());
+	}
+}
@@ -0,0 +1,76 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFCommandDictionary;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptor;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorCluster;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Checks that looking up {@link CommandDescriptor} instances by {@link SQFCommand#getCommandId()} gives the same
+ * descriptors as looking them up by command name
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFCommandDescriptorLookupTest extends LightCodeInsightFixtureTestCase {
+
+	public void testIdLookupMatchesNameLookup() {
+		SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, "" +
+				"_a = HINT str 1;\n" +
+				"_f = { if (true) then { hint format ['%1', _a]; } else { systemChat 'x'; }; };\n" +
+				"player setPos getPos player;"
+		);
+		Collection<SQFCommand> commands = PsiTreeUtil.findChildrenOfType(file, SQFCommand.class);
+		Set<String> names = new HashSet<>();
+		for (SQFCommand command : commands) {
+			names.add(command.getCommandName().toLowerCase());
+		}
+		CommandDescriptorCluster byId = SQFSyntaxHelper.getInstance().getCommandDescriptors(file);
+		CommandDescriptorCluster byName = SQFSyntaxHelper.getInstance().getCommandDescriptors(names);
+
+		SQFCommandDictionary dictionary = SQFCommandDictionary.getInstance();
+		for (SQFCommand command : commands) {
+			String name = command.getCommandName();
+			int id = command.getCommandId();
+			assertEquals(name, dictionary.getId(name), id);
+			CommandDescriptor descriptor = byName.get(name);
+			assertNotNull(name, descriptor);
+			assertSame(name, descriptor, byId.get(id));
+			assertSame(name, descriptor, byId.get(name));
+			assertSame(name, descriptor, byId.get(name.toUpperCase()));
+		}
+	}
+
+	public void testUnknownCommandLookup() {
+		CommandDescriptor unknown = new CommandDescriptor("notACommand");
+		CommandDescriptor hint = new CommandDescriptor("hint");
+		CommandDescriptorCluster cluster = new CommandDescriptorCluster(unknown, hint);
+		assertSame(unknown, cluster.get("NOTACOMMAND"));
+		assertSame(hint, cluster.get("Hint"));
+		assertSame(hint, cluster.get(SQFCommandDictionary.getInstance().getId("hint")));
+		assertNull(cluster.get(-1));
+		assertNull(cluster.get("str"));
+	}
+
+	public void testCommandIdFollowsEdit() {
+		SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, "hint<caret> 'a';");
+		SQFCommand command = PsiTreeUtil.findChildOfType(file, SQFCommand.class);
+		assertNotNull(command);
+		assertEquals(SQFCommandDictionary.getInstance().getId("hint"), command.getCommandId());
+
+		myFixture.type("Silent");
+		PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+		command = PsiTreeUtil.findChildOfType(file, SQFCommand.class);
+		assertNotNull(command);
+		assertEquals("hintSilent", command.getCommandName());
+		assertEquals(SQFCommandDictionary.getInstance().getId("hintSilent"), command.getCommandId());
+	}
+}
@@ -0,0 +1,79 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.lang.ASTNode;
+import com.intellij.psi.PsiElement;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.PsiUtil;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFCommandDictionary;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFCommandIdSet;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Checks that {@link SQFSyntaxHelper#getCommandIds(ASTNode)} finds the same commands as searching the PSI for
+ * {@link SQFCommand} elements
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFCommandIdsTest extends LightCodeInsightFixtureTestCase {
+	private static final String TEXT = "" +
+			"_a = HINT str 1;\n" +
+			"_f = {\n" +
+			"\tif (true) then { hint format ['%1', _a]; } else { systemChat 'x'; };\n" +
+			"};\n" +
+			"player setPos getPos player;";
+
+	public void testFileMatchesPsiSearch() {
+		SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, TEXT);
+		Set<String> commands = getCommandNames(SQFSyntaxHelper.getInstance().getCommandIds(file));
+		assertEquals(searchCommandNames(file.getNode()), commands);
+		assertEquals(
+				new HashSet<>(Arrays.asList("hint", "str", "if", "then", "format", "else", "systemchat", "player", "setpos", "getpos")),
+				commands
+		);
+	}
+
+	public void testSubtreeMatchesPsiSearch() {
+		SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, TEXT);
+		for (SQFStatement statement : file.getFileScope().getChildStatements()) {
+			ASTNode node = statement.getNode();
+			assertEquals(statement.getText(), searchCommandNames(node), getCommandNames(SQFSyntaxHelper.getInstance().getCommandIds(node)));
+		}
+	}
+
+	/**
+	 * @return lowercase names of the commands in the set
+	 */
+	@NotNull
+	private static Set<String> getCommandNames(@NotNull SQFCommandIdSet ids) {
+		SQFCommandDictionary dictionary = SQFCommandDictionary.getInstance();
+		Set<String> names = new HashSet<>();
+		for (int id = ids.nextId(0); id >= 0; id = ids.nextId(id + 1)) {
+			names.add(dictionary.getCommandName(id).toLowerCase());
+		}
+		return names;
+	}
+
+	/**
+	 * Collects the commands like {@link SQFSyntaxHelper} did before command ids were used
+	 *
+	 * @return lowercase names of the commands in node
+	 */
+	@NotNull
+	private static Set<String> searchCommandNames(@NotNull ASTNode node) {
+		Set<String> names = new HashSet<>();
+		PsiUtil.traverseBreadthFirstSearch(node, astNode -> {
+			PsiElement psiElement = astNode.getPsi();
+			if (psiElement instanceof SQFCommand) {
+				names.add(((SQFCommand) psiElement).getCommandName().toLowerCase());
+			}
+			return false;
+		});
+		return names;
+	}
+}
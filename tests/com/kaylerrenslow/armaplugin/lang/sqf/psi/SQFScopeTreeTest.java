@@ -0,0 +1,105 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.psi.PsiPolyVariantReference;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tests for {@link SQFScopeTree}
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFScopeTreeTest extends LightCodeInsightFixtureTestCase {
+
+	public void testPrivateInCodeBlock() {
+		SQFScopeTree tree = tree("_a = 1; {private _a = 2; hint str _a;} forEach []; hint str _a;");
+		List<SQFVariable> a = vars("_a");
+		assertSame(tree.getDeclaration(a.get(0)), tree.getDeclaration(a.get(3)));
+		assertSame(tree.getDeclaration(a.get(1)), tree.getDeclaration(a.get(2)));
+		assertNotSame(tree.getDeclaration(a.get(0)), tree.getDeclaration(a.get(1)));
+		assertEquals(2, tree.getDeclaration(a.get(0)).getVariables().size());
+	}
+
+	public void testAssignmentInCodeBlockUsesOuterVariable() {
+		SQFScopeTree tree = tree("_a = 1; if (true) then {_a = 2;}; hint str _A;");
+		List<SQFVariable> a = vars("_a");
+		assertSame(tree.getDeclaration(a.get(0)), tree.getDeclaration(a.get(1)));
+		assertSame(tree.getDeclaration(a.get(0)), tree.getDeclaration(a.get(2)));
+		assertSame(a.get(0), tree.getDeclaration(a.get(0)).getDeclaringElement());
+	}
+
+	public void testSiblingCodeBlocks() {
+		SQFScopeTree tree = tree("if (true) then {_b = 1; _b} else {_b = 2; _b};");
+		List<SQFVariable> b = vars("_b");
+		assertSame(tree.getDeclaration(b.get(0)), tree.getDeclaration(b.get(1)));
+		assertSame(tree.getDeclaration(b.get(2)), tree.getDeclaration(b.get(3)));
+		assertNotSame(tree.getDeclaration(b.get(0)), tree.getDeclaration(b.get(2)));
+	}
+
+	public void testPrivateAssignmentExpressionUsesOuterVariable() {
+		SQFScopeTree tree = tree("private _c = 1; {private _c = _c + 1;} forEach [];");
+		List<SQFVariable> c = vars("_c");
+		assertSame(tree.getDeclaration(c.get(0)), tree.getDeclaration(c.get(2)));
+		assertNotSame(tree.getDeclaration(c.get(0)), tree.getDeclaration(c.get(1)));
+	}
+
+	public void testParamsAndPrivateStrings() {
+		SQFScopeTree tree = tree("params [\"_d\", [\"_e\", 0]]; private [\"_f\"]; _f = _d + _e;");
+		SQFScopeTree.Declaration d = tree.getDeclaration(vars("_d").get(0));
+		SQFScopeTree.Declaration e = tree.getDeclaration(vars("_e").get(0));
+		SQFScopeTree.Declaration f = tree.getDeclaration(vars("_f").get(0));
+		assertNotNull(d);
+		assertNotNull(e);
+		assertNotNull(f);
+		assertEquals("\"_d\"", d.getStrings().get(0).getText());
+		assertEquals("\"_e\"", e.getStrings().get(0).getText());
+		assertEquals("\"_f\"", f.getStrings().get(0).getText());
+		assertSame(d, tree.getDeclaration(d.getStrings().get(0)));
+		assertSame(d.getStrings().get(0), d.getDeclaringElement());
+	}
+
+	public void testUndeclared() {
+		SQFScopeTree tree = tree("hint str _this; {hint str _THIS} forEach [];");
+		List<SQFVariable> vars = vars("_this");
+		SQFScopeTree.Declaration declaration = tree.getDeclaration(vars.get(0));
+		assertNotNull(declaration);
+		assertFalse(declaration.isDeclared());
+		assertSame(declaration, tree.getDeclaration(vars.get(1)));
+	}
+
+	public void testVariableReferences() {
+		tree("_a = 1; {private _a = 2; hint str _a;} forEach []; hint str _a;");
+		SQFVariable inner = vars("_a").get(1);
+		PsiReference[] refs = inner.getReferences();
+		assertEquals(1, refs.length);
+		assertEquals(2, ((PsiPolyVariantReference) refs[0]).multiResolve(false).length);
+		assertTrue(refs[0].isReferenceTo(vars("_a").get(2)));
+		assertFalse(refs[0].isReferenceTo(vars("_a").get(0)));
+	}
+
+	@NotNull
+	private SQFScopeTree tree(@NotNull String text) {
+		return SQFScopeTree.get((SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, text));
+	}
+
+	/**
+	 * @return every variable with the given name (case insensitive) in text order
+	 */
+	@NotNull
+	private List<SQFVariable> vars(@NotNull String name) {
+		List<SQFVariable> vars = new ArrayList<>();
+		for (SQFVariable var : PsiTreeUtil.findChildrenOfType(myFixture.getFile(), SQFVariable.class)) {
+			if (var.getVarName().equalsIgnoreCase(name)) {
+				vars.add(var);
+			}
+		}
+		return vars;
+	}
+}
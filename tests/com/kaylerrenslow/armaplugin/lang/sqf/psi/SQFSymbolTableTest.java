@@ -0,0 +1,54 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiPolyVariantReference;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.reference.SQFVariableReference;
+
+import java.util.List;
+
+/**
+ * Tests for {@link SQFSymbolTable}
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFSymbolTableTest extends LightCodeInsightFixtureTestCase {
+
+	public void testLookups() {
+		SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE,
+				"tag_a = 1; TAG_A = \"_b\"; _b = {hint \"tag_a\"; _B};"
+		);
+		SQFSymbolTable table = SQFSymbolTable.get(file);
+		assertEquals(2, table.getVariables("Tag_A").size());
+		assertEquals(2, table.getVariables("_b").size());
+		assertEquals(1, table.getStrings("tag_a").size());
+		assertEquals(1, table.getStrings("_B").size());
+		assertEmpty(table.getVariables("other"));
+		assertEmpty(table.getStrings("other"));
+	}
+
+	public void testCachedUntilModified() {
+		SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, "tag_a = 1;<caret>");
+		SQFSymbolTable table = SQFSymbolTable.get(file);
+		assertSame(table, SQFSymbolTable.get(file));
+
+		myFixture.type(" tag_a = 2;");
+		PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+		SQFSymbolTable modified = SQFSymbolTable.get(file);
+		assertNotSame(table, modified);
+		assertEquals(2, modified.getVariables("tag_a").size());
+	}
+
+	public void testVariableReferences() {
+		myFixture.configureByText(SQFFileType.INSTANCE, "tag_b = 1; hint \"tag_b\"; tag_b = TAG_B + 1;");
+		SQFVariable var = PsiTreeUtil.findChildOfType(myFixture.getFile(), SQFVariable.class);
+		assertNotNull(var);
+		List<SQFVariableReference> refs = SQFScope.getVariableReferencesFor(var);
+		assertEquals(2, refs.size());
+		assertEquals(3, ((PsiPolyVariantReference) refs.get(0)).multiResolve(false).length);
+		assertEquals(1, ((PsiPolyVariantReference) refs.get(1)).multiResolve(false).length);
+	}
+}
@@ -0,0 +1,56 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.codeInsight.daemon.impl.HighlightInfo;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.inspections.SQFSyntaxAndTypeCheckingInspection;
+
+import java.util.List;
+
+/**
+ * Tests for {@link SQFSyntaxHelper#getCheckResult(SQFFile)} and how {@link SQFSyntaxAndTypeCheckingInspection}
+ * reports the {@link SQFSyntaxCheckResult} in the editor
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFSyntaxCheckResultTest extends LightCodeInsightFixtureTestCase {
+
+	public void testCachedUntilModified() {
+		SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, "_a = 1;<caret>\n_b = 2;");
+		SQFSyntaxCheckResult result = SQFSyntaxHelper.getInstance().getCheckResult(file);
+		assertEquals(0, result.getProblems().size());
+		assertSame(result, SQFSyntaxHelper.getInstance().getCheckResult(file));
+
+		myFixture.type(" _c = 1+'';");
+		PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+		SQFSyntaxCheckResult edited = SQFSyntaxHelper.getInstance().getCheckResult(file);
+		assertNotSame(result, edited);
+		assertTrue(edited.getProblems().size() > 0);
+	}
+
+	public void testEditorReportsEachProblemOnce() {
+		SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, "" +
+				"_f = {\n" +
+				"\t_g = {_x = 1+'';};\n" +
+				"};\n" +
+				"_y = 1+'';"
+		);
+		myFixture.enableInspections(SQFSyntaxAndTypeCheckingInspection.class);
+		List<HighlightInfo> highlights = myFixture.doHighlighting();
+
+		List<SQFSyntaxCheckResult.Problem> problems = SQFSyntaxHelper.getInstance().getCheckResult(file).getProblems();
+		assertTrue(problems.size() >= 2);
+		for (SQFSyntaxCheckResult.Problem problem : problems) {
+			int count = 0;
+			for (HighlightInfo highlight : highlights) {
+				if (highlight.getStartOffset() == problem.getStartOffset() && problem.getMessage().equals(highlight.getDescription())) {
+					count++;
+				}
+			}
+			assertEquals(problem.toString(), 1, count);
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.codeInspection.ProblemsHolder;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorCluster;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.IntFunction;
+
+import static com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType.BaseType;
+
+/**
+ * Checks {@link SQFSyntaxChecker} on pathological command chains (up to 200 operators) to make sure that the amount of
+ * work ({@link SQFSyntaxChecker#getStepCount()}) grows with the length of the chain and not with the number of peeks.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFSyntaxCheckerChainTest extends SQFSyntaxCheckerTestHelper {
+	private static final int[] CHAIN_LENGTHS = {25, 50, 100, 200};
+	/**
+	 * Maximum allowed ratio of steps between a 200 operator chain and a 50 operator chain.
+	 * Linear growth is 4, quadratic is 16. Exponential growth in the amount of peeks is way over this.
+	 */
+	private static final double MAX_GROWTH = 8;
+
+	public void testArithmeticChain() {
+		assertLinear("arithmetic", operators -> {
+			StringBuilder sb = new StringBuilder("1");
+			String[] ops = {"+", "*", "-", "/"};
+			for (int i = 0; i < operators; i++) {
+				sb.append(' ').append(ops[i % ops.length]).append(' ').append(i + 2);
+			}
+			return sb.toString();
+		}, BaseType.NUMBER);
+	}
+
+	public void testUnaryCommandChain() {
+		assertLinear("unary", operators -> {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < operators; i++) {
+				sb.append("str ");
+			}
+			sb.append("1");
+			return sb.toString();
+		}, BaseType.STRING);
+	}
+
+	public void testMixedUnaryAndBinaryChain() {
+		assertLinear("mixed", operators -> {
+			StringBuilder sb = new StringBuilder("count []");
+			for (int i = 1; i < operators; i += 2) {
+				sb.append(" + count []");
+			}
+			return sb.toString();
+		}, BaseType.NUMBER);
+	}
+
+	public void testForwardLookingChain() {
+		assertLinear("forward looking", operators -> {
+			StringBuilder sb = new StringBuilder("1 < 2");
+			for (int i = 1; i < operators; i += 2) {
+				sb.append(i % 4 == 1 ? " || " : " && ").append(i).append(" < 2");
+			}
+			return sb.toString();
+		}, BaseType.BOOLEAN);
+	}
+
+	private void assertLinear(@NotNull String name, @NotNull IntFunction<String> chainCreator, @NotNull ValueType expectedType) {
+		int[] steps = new int[CHAIN_LENGTHS.length];
+		for (int i = 0; i < CHAIN_LENGTHS.length; i++) {
+			SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, chainCreator.apply(CHAIN_LENGTHS[i]));
+			ProblemsHolder problems = getProblemsHolder(file);
+			CommandDescriptorCluster cluster = SQFSyntaxHelper.getInstance().getCommandDescriptors(file.getNode());
+			SQFSyntaxChecker checker = new SQFSyntaxChecker(file.getFileScope().getChildStatements(), cluster, problems);
+
+			ValueType ret = checker.begin();
+			steps[i] = checker.getStepCount();
+
+			assertEquals("Expected no problems, got " + problems.getResults(), 0, problems.getResultCount());
+			assertEquals(expectedType, ret);
+		}
+
+		double growth = steps[CHAIN_LENGTHS.length - 1] / (double) steps[1];
+		assertTrue(name + ": checking work grew " + growth + "x from " + CHAIN_LENGTHS[1] + " to "
+				+ CHAIN_LENGTHS[CHAIN_LENGTHS.length - 1] + " operators", growth < MAX_GROWTH);
+	}
+}
@@ -0,0 +1,54 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.psi.PsiDocumentManager;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorCluster;
+
+/**
+ * Checks that {@link SQFSyntaxChecker} reuses the memoized type and problems of statements that haven't changed
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFSyntaxCheckerMemoTest extends SQFSyntaxCheckerTestHelper {
+	private static final int STATEMENT_COUNT = 50;
+
+	public void testOnlyEditedStatementIsChecked() {
+		StringBuilder sb = new StringBuilder("_e = 1+'';\n");
+		for (int i = 0; i < STATEMENT_COUNT; i++) {
+			sb.append("_v").append(i).append(" = [1, 2, ").append(i).append("] + [4];\n");
+		}
+		sb.append("_f = {_x = 1;<caret>};");
+		SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, sb.toString());
+
+		SQFSyntaxCheckResult first = new SQFSyntaxCheckResult();
+		int firstSteps = check(file, first);
+		assertTrue(firstSteps > 0);
+		assertEquals(1, first.getProblems().size());
+
+		//nothing changed, so every statement is a memo hit and its problems are replayed
+		SQFSyntaxCheckResult second = new SQFSyntaxCheckResult();
+		assertEquals(0, check(file, second));
+		assertEquals(1, second.getProblems().size());
+		assertSame(first.getProblems().get(0).getElement(), second.getProblems().get(0).getElement());
+
+		myFixture.type(" _y = 1+'';");
+		PsiDocumentManager.getInstance(getProject()).commitAllDocuments();
+
+		SQFSyntaxCheckResult edited = new SQFSyntaxCheckResult();
+		int editedSteps = check(file, edited);
+		assertTrue(editedSteps > 0);
+		assertTrue("edited: " + editedSteps + ", first: " + firstSteps, editedSteps * 10 < firstSteps);
+		assertEquals(2, edited.getProblems().size());
+	}
+
+	/**
+	 * @return {@link SQFSyntaxChecker#getStepCount()}
+	 */
+	private static int check(SQFFile file, SQFSyntaxCheckResult result) {
+		CommandDescriptorCluster cluster = SQFSyntaxHelper.getInstance().getCommandDescriptors(file);
+		SQFSyntaxChecker checker = new SQFSyntaxChecker(file.getFileScope().getChildStatements(), cluster, result);
+		checker.begin();
+		return checker.getStepCount();
+	}
+}
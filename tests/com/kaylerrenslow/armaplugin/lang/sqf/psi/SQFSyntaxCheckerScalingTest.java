@@ -0,0 +1,95 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.codeInspection.ProblemsHolder;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorCluster;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.IntFunction;
+
+/**
+ * Checks that {@link SQFSyntaxChecker} scales linearly on generated SQF with 50k term expressions.
+ * <p>
+ * The SQF parser stops nesting command expressions at its recursion limit, so a single 50k term command chain is a parse
+ * error. Long concatenations are split into statements of {@link #TERMS_PER_CONCAT_STATEMENT} terms instead, which is
+ * what generated SQF has to do anyways.
+ * <p>
+ * This test doesn't cover a single command chain longer than {@link #TERMS_PER_CONCAT_STATEMENT} terms. Any longer
+ * chain (parenthesized or not) runs into the parser's recursion limit before it reaches the checker.
+ * {@link SQFSyntaxCheckerChainTest} checks how the work for one chain grows up to that limit.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFSyntaxCheckerScalingTest extends SQFSyntaxCheckerTestHelper {
+	private static final int[] TERM_COUNTS = {12_500, 25_000, 50_000};
+	private static final int TERMS_PER_CONCAT_STATEMENT = 200;
+	/**
+	 * Maximum allowed ratio of {@link SQFSyntaxChecker#getStepCount()} between 50k terms and 12.5k terms.
+	 * Linear growth is 4, quadratic is 16.
+	 */
+	private static final double MAX_GROWTH = 5;
+
+	public void testDataTable() {
+		assertLinear("data table", terms -> {
+			StringBuilder sb = new StringBuilder("_table = [");
+			for (int i = 0; i < terms / 2; i++) {
+				if (i > 0) {
+					sb.append(',');
+				}
+				sb.append("[\"key").append(i).append("\",").append(i).append(']');
+			}
+			sb.append("];");
+			return sb.toString();
+		});
+	}
+
+	public void testConcatenation() {
+		assertLinear("concatenation", terms -> {
+			StringBuilder sb = new StringBuilder("_s = \"\";\n");
+			for (int i = 0; i < terms; i += TERMS_PER_CONCAT_STATEMENT) {
+				sb.append("_s = _s");
+				for (int j = 0; j < TERMS_PER_CONCAT_STATEMENT - 1; j++) {
+					sb.append(" + \"t").append(i + j).append('"');
+				}
+				sb.append(";\n");
+			}
+			return sb.toString();
+		});
+	}
+
+	public void testArithmetic() {
+		assertLinear("arithmetic", terms -> {
+			StringBuilder sb = new StringBuilder("_n = 0;\n");
+			String[] ops = {"+", "*", "-", "/"};
+			for (int i = 0; i < terms; i += TERMS_PER_CONCAT_STATEMENT) {
+				sb.append("_n = _n");
+				for (int j = 0; j < TERMS_PER_CONCAT_STATEMENT - 1; j++) {
+					sb.append(' ').append(ops[j % ops.length]).append(' ').append(j + 1);
+				}
+				sb.append(";\n");
+			}
+			return sb.toString();
+		});
+	}
+
+	private void assertLinear(@NotNull String name, @NotNull IntFunction<String> textCreator) {
+		int[] steps = new int[TERM_COUNTS.length];
+		for (int i = 0; i < TERM_COUNTS.length; i++) {
+			SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, textCreator.apply(TERM_COUNTS[i]));
+			ProblemsHolder problems = getProblemsHolder(file);
+			CommandDescriptorCluster cluster = SQFSyntaxHelper.getInstance().getCommandDescriptors(file.getNode());
+			SQFSyntaxChecker checker = new SQFSyntaxChecker(file.getFileScope().getChildStatements(), cluster, problems);
+
+			checker.begin();
+			steps[i] = checker.getStepCount();
+
+			assertEquals("Expected no problems, got " + problems.getResults(), 0, problems.getResultCount());
+		}
+
+		assertTrue(name + ": no work was counted", steps[0] > 0);
+		double growth = steps[TERM_COUNTS.length - 1] / (double) steps[0];
+		assertTrue(name + ": checking work grew " + growth + "x from " + TERM_COUNTS[0] + " to "
+				+ TERM_COUNTS[TERM_COUNTS.length - 1] + " terms", growth < MAX_GROWTH);
+	}
+}
@@ -544,6 +544,44 @@ public class SQFSyntaxCheckerTest extends SQFSyntaxCheckerTestHelper {
 	}
 	//----END assignment statement----
 
+	//----START local variable types----
+	public void testLocalVariableTypes() {
+		assertHasProblems("_a = 1; _a + \"s\";");
+		assertNoProblems("_s = \"\"; _s = _s + \"a\"; _s + \"b\";");
+		assertEquals(BaseType.NUMBER, getExitTypeForText("_a = 1; _a"));
+
+		//mentioned after assignment, so the type isn't known anymore
+		assertNoProblems("_a = 1; _a = _b; _a + \"s\";");
+		assertNoProblems("_a = 1; params [\"_a\"]; _a + \"s\";");
+		assertNoProblems("_a = 1; {_a = \"\"} forEach []; _a + \"s\";");
+		assertNoProblems("_a = 1; call _fnc; _a + \"s\";");
+
+		//code that isn't written in the statement can assign _a
+		assertNoProblems("_a = 1; _list apply _fnc; _a + \"s\";");
+		assertNoProblems("_a = 1; _fnc forEach _list; _a + \"s\";");
+		assertNoProblems("_a = 1; _fnc count _list; _a + \"s\";");
+		assertNoProblems("_a = 1; _list select _fnc; _a + \"s\";");
+		assertNoProblems("_a = 1; _list findIf _fnc; _a + \"s\";");
+		assertNoProblems("_a = 1; if (true) then _fnc; _a + \"s\";");
+		assertNoProblems("_a = 1; if (true) then [_fnc, {}]; _a + \"s\";");
+		assertNoProblems("_a = 1; if (true) then {} else _fnc; _a + \"s\";");
+		assertNoProblems("_a = 1; while {true} do _fnc; _a + \"s\";");
+		assertNoProblems("_a = 1; if (true) exitWith _fnc; _a + \"s\";");
+		assertNoProblems("_a = 1; isNil _fnc; _a + \"s\";");
+		assertNoProblems("_a = 1; waitUntil _fnc; _a + \"s\";");
+
+		//code blocks written in the statement don't assign _a, so its type is still known
+		assertHasProblems("_a = 1; _list apply {_x + 1}; _a + \"s\";");
+		assertHasProblems("_a = 1; {hint str _x} forEach _list; _a + \"s\";");
+		assertHasProblems("_a = 1; _list select 0; _a + \"s\";");
+		assertHasProblems("_a = 1; count _list; _a + \"s\";");
+		assertHasProblems("_a = 1; if (true) then {hint \"\"} else {}; _a + \"s\";");
+
+		//arrays can be changed by reference
+		assertNoProblems("_a = []; _a pushBack 1; _a + 1;");
+	}
+	//----END local variable types----
+
 	//----START quest statement----
 	public void testQuestStatement_valid() {
 		assertNoProblems("? true : false;");
@@ -0,0 +1,155 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi;
+
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorBase;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptor;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorCluster;
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandDescriptorPool;
+import org.apache.log4j.Level;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Tests for loading a batch of command descriptors with {@link SQFSyntaxHelper#getCommandDescriptors(Set)}. The helpers
+ * here use a {@link CommandDescriptorPool} that creates descriptors without syntax xml files.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFSyntaxHelperTest extends LightCodeInsightFixtureTestCase {
+	private ExecutorService executor;
+	private ExecutorService callers;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		executor = Executors.newFixedThreadPool(2);
+		callers = Executors.newSingleThreadExecutor();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		try {
+			executor.shutdownNow();
+			callers.shutdownNow();
+		} finally {
+			super.tearDown();
+		}
+	}
+
+	public void testCanceledLoadStopsEarly() throws Exception {
+		CountDownLatch slowStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CommandDescriptorPool pool = new CommandDescriptorPool(16, new String[0], commandName -> {
+			if (commandName.equals("slow")) {
+				slowStarted.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					throw new RuntimeException(e);
+				}
+			}
+			return new CommandDescriptor(commandName);
+		});
+		SQFSyntaxHelper helper = new SQFSyntaxHelper(pool, executor, new RecordingLogger());
+
+		ProgressIndicatorBase indicator = new ProgressIndicatorBase();
+		//the last command is loaded by the calling thread and the others on the executor
+		Future<?> call = callers.submit(() -> {
+			ProgressManager.getInstance().runProcess(() -> {
+				helper.getCommandDescriptors(new LinkedHashSet<>(Arrays.asList("slow", "fast")));
+			}, indicator);
+		});
+		assertTrue(slowStarted.await(10, TimeUnit.SECONDS));
+		indicator.cancel();
+		try {
+			call.get(10, TimeUnit.SECONDS);
+			fail("expected the wait to be canceled");
+		} catch (ExecutionException e) {
+			assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof ProcessCanceledException);
+		}
+		//the caller stopped waiting while the load is still going
+		assertTrue(pool.isCached("fast"));
+		assertFalse(pool.isCached("slow"));
+
+		//the load isn't canceled, so the descriptor still gets cached
+		release.countDown();
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!pool.isCached("slow")) {
+			assertTrue("slow was never cached", System.currentTimeMillis() < deadline);
+			Thread.sleep(1);
+		}
+	}
+
+	public void testFailedLoadIsLogged() throws Exception {
+		CommandDescriptorPool pool = new CommandDescriptorPool(16, new String[0], commandName -> {
+			if (commandName.equals("bad")) {
+				throw new IllegalStateException("bad syntax file");
+			}
+			return new CommandDescriptor(commandName);
+		});
+		RecordingLogger log = new RecordingLogger();
+		SQFSyntaxHelper helper = new SQFSyntaxHelper(pool, executor, log);
+
+		CommandDescriptorCluster cluster = helper.getCommandDescriptors(new LinkedHashSet<>(Arrays.asList("a", "bad", "b", "c")));
+		assertNotNull(cluster.get("a"));
+		assertNotNull(cluster.get("b"));
+		assertNotNull(cluster.get("c"));
+		assertNull(cluster.get("bad"));
+
+		assertEquals(1, log.warnings.size());
+		assertTrue(log.warnings.get(0), log.warnings.get(0).contains("bad"));
+	}
+
+	/**
+	 * Keeps the warnings in memory
+	 */
+	private static class RecordingLogger extends Logger {
+		private final List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public boolean isDebugEnabled() {
+			return false;
+		}
+
+		@Override
+		public void debug(String message) {
+		}
+
+		@Override
+		public void debug(@Nullable Throwable t) {
+		}
+
+		@Override
+		public void debug(String message, @Nullable Throwable t) {
+		}
+
+		@Override
+		public void info(String message) {
+		}
+
+		@Override
+		public void info(String message, @Nullable Throwable t) {
+		}
+
+		@Override
+		public void warn(String message, @Nullable Throwable t) {
+			warnings.add(message);
+		}
+
+		@Override
+		public void error(String message, @Nullable Throwable t, @NotNull String... details) {
+			throw new AssertionError(message, t);
+		}
+
+		@Override
+		public void setLevel(Level level) {
+		}
+	}
+}
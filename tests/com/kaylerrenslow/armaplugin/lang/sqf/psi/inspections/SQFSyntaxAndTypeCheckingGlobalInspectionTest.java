@@ -0,0 +1,41 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.psi.inspections;
+
+import com.intellij.analysis.AnalysisScope;
+import com.intellij.codeInspection.CommonProblemDescriptor;
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.ex.GlobalInspectionContextForTests;
+import com.intellij.codeInspection.ex.GlobalInspectionToolWrapper;
+import com.intellij.codeInspection.ex.InspectionManagerEx;
+import com.intellij.testFramework.InspectionTestUtil;
+import com.intellij.testFramework.fixtures.LightCodeInsightFixtureTestCase;
+import com.intellij.testFramework.fixtures.impl.CodeInsightTestFixtureImpl;
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFFileType;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFFile;
+import com.kaylerrenslow.armaplugin.lang.sqf.psi.SQFSyntaxHelper;
+
+import java.util.Collection;
+
+/**
+ * Tests for {@link SQFSyntaxAndTypeCheckingGlobalInspection}
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class SQFSyntaxAndTypeCheckingGlobalInspectionTest extends LightCodeInsightFixtureTestCase {
+
+	public void testProblemsReportedOnce() {
+		SQFFile file = (SQFFile) myFixture.configureByText(SQFFileType.INSTANCE, "_a = 1;\n_b = 1+'';\n_c = 2;");
+		int problemCount = SQFSyntaxHelper.getInstance().getCheckResult(file).getProblems().size();
+		assertTrue(problemCount > 0);
+
+		GlobalInspectionToolWrapper wrapper = new GlobalInspectionToolWrapper(new SQFSyntaxAndTypeCheckingGlobalInspection());
+		AnalysisScope scope = new AnalysisScope(file);
+		GlobalInspectionContextForTests context = CodeInsightTestFixtureImpl.createGlobalContextForTool(scope, getProject(),
+				(InspectionManagerEx) InspectionManager.getInstance(getProject()), wrapper
+		);
+		InspectionTestUtil.runTool(wrapper, scope, context);
+
+		Collection<CommonProblemDescriptor> descriptors = context.getPresentation(wrapper).getProblemDescriptors();
+		assertEquals(problemCount, descriptors.size());
+	}
+}
@@ -5,6 +5,7 @@ import org.junit.Test;
 import java.util.Arrays;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 /**
  * @author Kayler
@@ -45,4 +46,23 @@ public class ArrayValueHolderTest {
 		}
 	}
 
+	@Test
+	public void internedTypeIsReused() throws Exception {
+		ArrayParam param = new ArrayParam(false, Arrays.asList(
+				new Param("p1", ValueType.BaseType.NUMBER, "", false),
+				new Param("p2", ValueType.BaseType.STRING, "", true)
+		));
+		ArrayReturnValueHolder ret = new ArrayReturnValueHolder("", Arrays.asList(
+				new ReturnValueHolder(ValueType.BaseType.OBJECT, ""),
+				new ReturnValueHolder(ValueType.BaseType.GROUP, "")
+		), false);
+		param.internTypes();
+		ret.internTypes();
+
+		assertSame(param.getType(), param.getType());
+		assertSame(ArrayValueHolder.createType(param), param.getType());
+		assertSame(ret.getType(), ret.getType());
+		assertSame(ArrayValueHolder.createType(ret), ret.getType());
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CommandDescriptorPool}. The pools here don't read syntax xml files. Descriptors are created by a
+ * loader that counts how often it was invoked.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class CommandDescriptorPoolTest {
+
+	@Test
+	public void concurrentGetLoadsOnce() throws Exception {
+		final int threads = 8;
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger loads = new AtomicInteger(0);
+		CommandDescriptorPool pool = newPool(4, commandName -> {
+			loads.incrementAndGet();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			return new CommandDescriptor(commandName);
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			CyclicBarrier start = new CyclicBarrier(threads);
+			List<Future<CommandDescriptor>> futures = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				futures.add(executor.submit(() -> {
+					start.await();
+					return pool.get("hint2");
+				}));
+			}
+			//every thread that isn't loading counts as a hit right before it waits for the load
+			long deadline = System.currentTimeMillis() + 10_000;
+			while (pool.getStats().getHitCount() < threads - 1) {
+				assertTrue("threads didn't wait for the load", System.currentTimeMillis() < deadline);
+				Thread.sleep(1);
+			}
+			release.countDown();
+
+			CommandDescriptor first = futures.get(0).get(10, TimeUnit.SECONDS);
+			assertNotNull(first);
+			for (Future<CommandDescriptor> future : futures) {
+				assertSame(first, future.get(10, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		assertEquals(1, loads.get());
+		assertEquals(1, pool.getStats().getLoadCount());
+		assertEquals(1, pool.getStats().getMissCount());
+	}
+
+	@Test
+	public void sizeIsBounded() throws Exception {
+		CommandDescriptorPool pool = newPool(4, CommandDescriptor::new);
+		List<String> commands = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			String command = "command" + i;
+			commands.add(command);
+			assertNotNull(pool.get(command));
+			assertTrue(pool.getStats().getSize() <= pool.getMaximumSize());
+		}
+		int cached = 0;
+		for (String command : commands) {
+			if (pool.isCached(command)) {
+				cached++;
+			}
+		}
+		assertTrue(cached <= pool.getMaximumSize());
+		assertEquals(pool.getStats().getSize(), cached);
+		assertEquals(commands.size() - cached, pool.getStats().getEvictionCount());
+	}
+
+	@Test
+	public void rareCommandDoesNotEvictFrequentCommand() throws Exception {
+		AtomicInteger hotLoads = new AtomicInteger(0);
+		CommandDescriptorPool pool = newPool(4, commandName -> {
+			if (commandName.equals("hot")) {
+				hotLoads.incrementAndGet();
+			}
+			return new CommandDescriptor(commandName);
+		});
+		for (int i = 0; i < 15; i++) {
+			pool.get("hot");
+		}
+		for (int i = 0; i < 15; i++) {
+			pool.get("rare" + i);
+			assertTrue("rare" + i + " evicted the frequent command", pool.isCached("hot"));
+		}
+		pool.get("hot");
+		assertEquals(1, hotLoads.get());
+	}
+
+	@Test
+	public void preloadPinsCommand() throws Exception {
+		AtomicInteger pinnedLoads = new AtomicInteger(0);
+		CommandDescriptorPool pool = newPool(2, commandName -> {
+			if (commandName.equals("hint2")) {
+				pinnedLoads.incrementAndGet();
+			}
+			return new CommandDescriptor(commandName);
+		});
+		CommandDescriptor d = pool.get("hint2");
+		assertEquals(1, pool.getStats().getSize());
+
+		assertSame(d, pool.preload("HINT2"));
+		assertEquals(0, pool.getStats().getSize());
+		assertTrue(pool.isCached("hint2"));
+
+		//filling the bounded cache doesn't evict pinned commands
+		for (int i = 0; i < 10; i++) {
+			for (int j = 0; j <= i; j++) {
+				pool.get("command" + i);
+			}
+		}
+		assertTrue(pool.isCached("hint2"));
+		assertSame(d, pool.get("hint2"));
+		assertEquals(1, pinnedLoads.get());
+	}
+
+	@Test
+	public void failedLoadIsCountedAndCached() throws Exception {
+		AtomicInteger loads = new AtomicInteger(0);
+		CommandDescriptorPool pool = newPool(4, commandName -> {
+			loads.incrementAndGet();
+			return commandName.equals("missing") ? null : new CommandDescriptor(commandName);
+		});
+		assertNull(pool.get("missing"));
+		assertEquals(1, pool.getStats().getLoadFailureCount());
+		assertEquals(0, pool.getStats().getLoadCount());
+
+		assertNull(pool.get("MISSING"));
+		assertEquals(1, pool.getStats().getLoadFailureCount());
+		assertEquals(1, loads.get());
+		assertTrue(pool.isCached("missing"));
+
+		//a failed load is never pinned
+		assertNull(pool.preload("missing"));
+		assertEquals(1, pool.getStats().getSize());
+	}
+
+	@NotNull
+	private static CommandDescriptorPool newPool(int maximumSize, @NotNull Function<String, CommandDescriptor> loader) {
+		return new CommandDescriptorPool(maximumSize, new String[0], loader);
+	}
+}
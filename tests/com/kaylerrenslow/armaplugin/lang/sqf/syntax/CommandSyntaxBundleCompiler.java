@@ -0,0 +1,251 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static com.kaylerrenslow.armaplugin.lang.sqf.syntax.CommandSyntaxBundle.*;
+
+/**
+ * Development tool that compiles every syntax xml file in the syntax directory into one {@link CommandSyntaxBundle}
+ * file. It lives in the tests source root so that it isn't shipped with the plugin. Run it (from the tests class path)
+ * after populating the syntax directory and before building a release (see syntax/README.md).
+ * <p>
+ * Usage: <code>CommandSyntaxBundleCompiler &lt;syntax directory&gt; [output file]</code>. If output file is omitted,
+ * syntax.bundle will be written inside the syntax directory so that it ends up on the class path at
+ * {@link CommandSyntaxBundle#BUNDLE_RESOURCE}.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class CommandSyntaxBundleCompiler {
+
+	public static void main(String[] args) throws Exception {
+		if (args.length < 1) {
+			System.err.println("Usage: CommandSyntaxBundleCompiler <syntax directory> [output file]");
+			System.exit(1);
+			return;
+		}
+		File syntaxDir = new File(args[0]);
+		File outputFile = args.length >= 2 ? new File(args[1]) : new File(syntaxDir, "syntax.bundle");
+
+		Map<String, CommandDescriptor> descriptors = loadDirectory(syntaxDir);
+		try (OutputStream os = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+			new CommandSyntaxBundleCompiler().write(descriptors, os);
+		}
+		System.out.println("Compiled " + descriptors.size() + " command syntax's into " + outputFile.getAbsolutePath()
+				+ " (" + outputFile.length() + " bytes)");
+	}
+
+	/**
+	 * Loads all syntax xml files inside the given directory and its sub directories with {@link SQFCommandSyntaxXMLLoader}.
+	 *
+	 * @return a map where the key is the lowercase command path relative to the directory (i.e. hint or operators/plus)
+	 */
+	@NotNull
+	public static Map<String, CommandDescriptor> loadDirectory(@NotNull File syntaxDir) throws Exception {
+		Map<String, CommandDescriptor> descriptors = new TreeMap<>();
+		loadDirectory(syntaxDir, "", descriptors);
+		return descriptors;
+	}
+
+	private static void loadDirectory(@NotNull File dir, @NotNull String keyPrefix,
+									  @NotNull Map<String, CommandDescriptor> descriptors) throws Exception {
+		File[] files = dir.listFiles();
+		if (files == null) {
+			throw new FileNotFoundException(dir.getAbsolutePath());
+		}
+		for (File file : files) {
+			if (file.isDirectory()) {
+				loadDirectory(file, keyPrefix + file.getName() + "/", descriptors);
+				continue;
+			}
+			String fileName = file.getName();
+			if (!fileName.endsWith(".xml")) {
+				continue;
+			}
+			String key = (keyPrefix + fileName.substring(0, fileName.length() - ".xml".length())).toLowerCase();
+			try (CommandXMLInputStream is = new CommandXMLInputStream(key, new FileInputStream(file))) {
+				descriptors.put(key, SQFCommandSyntaxXMLLoader.importFromStream(is, false));
+			}
+		}
+	}
+
+	private final List<String> strings = new ArrayList<>();
+	private final Map<String, Integer> stringIndices = new HashMap<>();
+	private final List<byte[]> typeEntries = new ArrayList<>();
+	private final Map<String, Integer> typeIndices = new HashMap<>();
+
+	/**
+	 * Writes the given descriptors as a {@link CommandSyntaxBundle} into the given stream. The stream is not closed.
+	 *
+	 * @param descriptors lowercase command key -> descriptor (keys are like {@link CommandXMLInputStream#CommandXMLInputStream(String)})
+	 */
+	public void write(@NotNull Map<String, CommandDescriptor> descriptors, @NotNull OutputStream os) throws IOException {
+		//write the bodies first so that the string pool and type table are populated
+		ByteArrayOutputStream bodies = new ByteArrayOutputStream();
+		DataOutputStream bodyOut = new DataOutputStream(bodies);
+		Map<String, Integer> bodyOffsets = new LinkedHashMap<>();
+		for (Map.Entry<String, CommandDescriptor> entry : descriptors.entrySet()) {
+			bodyOffsets.put(entry.getKey(), bodyOut.size());
+			writeDescriptor(entry.getValue(), bodyOut);
+		}
+		for (String key : bodyOffsets.keySet()) {
+			stringIndex(key);
+		}
+
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		DataOutputStream headerOut = new DataOutputStream(header);
+		headerOut.writeInt(MAGIC);
+		headerOut.writeInt(VERSION);
+
+		u2(headerOut, strings.size());
+		for (String s : strings) {
+			byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+			u2(headerOut, bytes.length);
+			headerOut.write(bytes);
+		}
+
+		u2(headerOut, typeEntries.size());
+		for (byte[] typeEntry : typeEntries) {
+			headerOut.write(typeEntry);
+		}
+
+		u2(headerOut, bodyOffsets.size());
+		final int commandTableEntrySize = 2 + 4;
+		final int bodiesStart = headerOut.size() + bodyOffsets.size() * commandTableEntrySize;
+		for (Map.Entry<String, Integer> entry : bodyOffsets.entrySet()) {
+			u2(headerOut, stringIndex(entry.getKey()));
+			headerOut.writeInt(bodiesStart + entry.getValue());
+		}
+		headerOut.flush();
+
+		header.writeTo(os);
+		bodies.writeTo(os);
+		os.flush();
+	}
+
+	private void writeDescriptor(@NotNull CommandDescriptor d, @NotNull DataOutputStream out) throws IOException {
+		u2(out, stringIndex(d.getCommandName()));
+		u2(out, stringIndex(d.getGameVersion()));
+		u2(out, stringIndex(d.getGameIntroducedIn().getLinkPrefix()));
+		byte flags = 0;
+		if (d.isDeprecated()) {
+			flags |= FLAG_DEPRECATED;
+		}
+		if (d.isUncertain()) {
+			flags |= FLAG_UNCERTAIN;
+		}
+		out.writeByte(flags);
+
+		u2(out, d.getSyntaxList().size());
+		for (CommandSyntax syntax : d.getSyntaxList()) {
+			writeParam(syntax.getPrefixParam(), out);
+			writeParam(syntax.getPostfixParam(), out);
+			writeReturnValue(syntax.getReturnValue(), out);
+		}
+	}
+
+	private void writeParam(@Nullable Param p, @NotNull DataOutputStream out) throws IOException {
+		if (p == null) {
+			out.writeByte(HOLDER_NONE);
+			return;
+		}
+		if (p instanceof ArrayParam) {
+			ArrayParam arrayParam = (ArrayParam) p;
+			out.writeByte(HOLDER_ARRAY);
+			out.writeBoolean(arrayParam.hasUnboundedParams());
+			out.writeBoolean(arrayParam.isOptional());
+			u2(out, arrayParam.getParams().size());
+			for (Param child : arrayParam.getParams()) {
+				writeParam(child, out);
+			}
+			return;
+		}
+		out.writeByte(HOLDER_VALUE);
+		u2(out, stringIndex(p.getName()));
+		u2(out, typeIndex(unwrap(p.getType())));
+		out.writeBoolean(p.isOptional());
+		writeAltTypesAndLiterals(p, out);
+	}
+
+	private void writeReturnValue(@NotNull ReturnValueHolder r, @NotNull DataOutputStream out) throws IOException {
+		if (r instanceof ArrayReturnValueHolder) {
+			ArrayReturnValueHolder arrayReturnValue = (ArrayReturnValueHolder) r;
+			out.writeByte(HOLDER_ARRAY);
+			out.writeBoolean(arrayReturnValue.hasUnboundedParams());
+			u2(out, arrayReturnValue.getValueHolders().size());
+			for (ReturnValueHolder child : arrayReturnValue.getValueHolders()) {
+				writeReturnValue(child, out);
+			}
+			return;
+		}
+		out.writeByte(HOLDER_VALUE);
+		u2(out, typeIndex(unwrap(r.getType())));
+		writeAltTypesAndLiterals(r, out);
+	}
+
+	private void writeAltTypesAndLiterals(@NotNull BasicValueHolder h, @NotNull DataOutputStream out) throws IOException {
+		List<ValueType> altTypes = h.getType().getPolymorphicTypes();
+		u2(out, altTypes.size());
+		for (ValueType altType : altTypes) {
+			u2(out, typeIndex(altType));
+		}
+		u2(out, h.getLiterals().size());
+		for (String literal : h.getLiterals()) {
+			u2(out, stringIndex(literal));
+		}
+	}
+
+	@NotNull
+	private static ValueType unwrap(@NotNull ValueType type) {
+		if (type instanceof PolymorphicWrapperValueType) {
+			return ((PolymorphicWrapperValueType) type).getWrappedValueType();
+		}
+		return type;
+	}
+
+	private int stringIndex(@NotNull String s) {
+		Integer index = stringIndices.get(s);
+		if (index != null) {
+			return index;
+		}
+		index = strings.size();
+		strings.add(s);
+		stringIndices.put(s, index);
+		return index;
+	}
+
+	private int typeIndex(@NotNull ValueType type) throws IOException {
+		Integer index = typeIndices.get(type.getType());
+		if (index != null) {
+			return index;
+		}
+		ByteArrayOutputStream entry = new ByteArrayOutputStream(3);
+		DataOutputStream entryOut = new DataOutputStream(entry);
+		if (type instanceof CodeType) {
+			int returnTypeIndex = typeIndex(((CodeType) type).getReturnType()); //must be written before this type
+			entryOut.writeByte(TYPE_CODE);
+			u2(entryOut, returnTypeIndex);
+		} else if (type instanceof ValueType.BaseType) {
+			entryOut.writeByte(TYPE_BASE);
+			u2(entryOut, stringIndex(type.getType()));
+		} else {
+			throw new IllegalArgumentException("can't write type " + type.getDebugName() + " into a command syntax bundle");
+		}
+		index = typeEntries.size();
+		typeEntries.add(entry.toByteArray());
+		typeIndices.put(type.getType(), index);
+		return index;
+	}
+
+	private static void u2(@NotNull DataOutputStream out, int value) throws IOException {
+		if (value < 0 || value > 0xFFFF) {
+			throw new IllegalStateException("value " + value + " doesn't fit in the command syntax bundle format");
+		}
+		out.writeShort(value);
+	}
+}
@@ -0,0 +1,175 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
+
+import com.kaylerrenslow.armaplugin.lang.sqf.SQFStatic;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * Verifies that {@link CommandSyntaxBundle} creates the same {@link CommandDescriptor} instances as
+ * {@link SQFCommandSyntaxXMLLoader}.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class CommandSyntaxBundleTest {
+
+	@Test
+	public void bundleMatchesXml() throws Exception {
+		Map<String, CommandDescriptor> fromXml = new TreeMap<>();
+		for (String command : SQFStatic.LIST_COMMANDS) {
+			addFromXml(fromXml, command.toLowerCase());
+		}
+		for (String operator : new String[]{"plus", "minus", "asterisk", "fslash", "perc", "caret", "ampamp", "barbar",
+				"excl", "eqeq", "ne", "gt", "ge", "le", "lt", "gtgt"}) {
+			addFromXml(fromXml, "operators/" + operator);
+		}
+		assertTrue("Expected syntax xml files on the class path", fromXml.size() > 0);
+
+		ByteArrayOutputStream bundleBytes = new ByteArrayOutputStream();
+		new CommandSyntaxBundleCompiler().write(fromXml, bundleBytes);
+		CommandSyntaxBundle bundle = new CommandSyntaxBundle(bundleBytes.toByteArray());
+
+		for (Map.Entry<String, CommandDescriptor> entry : fromXml.entrySet()) {
+			CommandDescriptor fromBundle = bundle.materialize(entry.getKey().toUpperCase());
+			assertNotNull(entry.getKey(), fromBundle);
+			assertEquals(entry.getKey(), describe(entry.getValue()), describe(fromBundle));
+		}
+	}
+
+	@Test
+	public void codeTypesAreNotShared() throws Exception {
+		//both commands have CODE as a main type with alt types and reference the same type table entries
+		Map<String, CommandDescriptor> descriptors = new TreeMap<>();
+		descriptors.put("cmda", codeCommand("cmdA", ValueType.BaseType.STRING));
+		descriptors.put("cmdb", codeCommand("cmdB", ValueType.BaseType.BOOLEAN));
+		Map<String, String> expected = new TreeMap<>();
+		for (Map.Entry<String, CommandDescriptor> entry : descriptors.entrySet()) {
+			expected.put(entry.getKey(), describe(entry.getValue()));
+		}
+
+		ByteArrayOutputStream bundleBytes = new ByteArrayOutputStream();
+		new CommandSyntaxBundleCompiler().write(descriptors, bundleBytes);
+		CommandSyntaxBundle bundle = new CommandSyntaxBundle(bundleBytes.toByteArray());
+
+		List<ValueType> codeTypes = new ArrayList<>();
+		for (int i = 0; i < 2; i++) {
+			for (Map.Entry<String, String> entry : expected.entrySet()) {
+				CommandDescriptor fromBundle = bundle.materialize(entry.getKey());
+				assertNotNull(entry.getKey(), fromBundle);
+				assertEquals(entry.getKey(), entry.getValue(), describe(fromBundle));
+
+				CommandSyntax syntax = fromBundle.getSyntaxList().get(0);
+				codeTypes.add(unwrap(syntax.getPrefixParam().getType()));
+				codeTypes.add(unwrap(syntax.getPostfixParam().getType()));
+				codeTypes.add(unwrap(syntax.getReturnValue().getType()));
+			}
+		}
+		for (int i = 0; i < codeTypes.size(); i++) {
+			assertTrue(codeTypes.get(i) instanceof CodeType);
+			assertTrue(codeTypes.get(i).getPolymorphicTypes().isEmpty());
+			for (int j = i + 1; j < codeTypes.size(); j++) {
+				assertNotSame(codeTypes.get(i), codeTypes.get(j));
+			}
+		}
+	}
+
+	/**
+	 * @return a command with one syntax: <code>{NUMBER}|altType name {NUMBER}|CODE -> {NUMBER}|altType</code>
+	 */
+	@NotNull
+	private static CommandDescriptor codeCommand(@NotNull String name, @NotNull ValueType altType) {
+		Param prefix = new Param("code", new CodeType(ValueType.BaseType.NUMBER), "", false);
+		prefix.getType().getPolymorphicTypes().add(altType);
+		Param postfix = new Param("other", new CodeType(ValueType.BaseType.NUMBER), "", true);
+		postfix.getType().getPolymorphicTypes().add(ValueType.BaseType.CODE);
+		postfix.getType().getPolymorphicTypes().add(new CodeType(ValueType.BaseType.NUMBER));
+		ReturnValueHolder returnValue = new ReturnValueHolder(new CodeType(ValueType.BaseType.NUMBER), "");
+		returnValue.getType().getPolymorphicTypes().add(altType);
+		return new CommandDescriptor(name, Collections.singletonList(new CommandSyntax(prefix, postfix, returnValue)),
+				"1.0", GameNameMap.getInstance().getGame(GameNameMap.LookupType.LINK_PREFIX, "arma3")
+		);
+	}
+
+	@NotNull
+	private static ValueType unwrap(@NotNull ValueType type) {
+		if (type instanceof PolymorphicWrapperValueType) {
+			return ((PolymorphicWrapperValueType) type).getWrappedValueType();
+		}
+		return type;
+	}
+
+	private static void addFromXml(@NotNull Map<String, CommandDescriptor> map, @NotNull String key) throws Exception {
+		CommandXMLInputStream is;
+		try {
+			is = new CommandXMLInputStream(key);
+		} catch (UnsupportedOperationException ignore) {
+			//no syntax xml file
+			return;
+		}
+		map.put(key, SQFCommandSyntaxXMLLoader.importFromStream(is, false));
+	}
+
+	@NotNull
+	private static String describe(@NotNull CommandDescriptor d) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(d.getCommandName()).append('|')
+				.append(d.getGameVersion()).append('|')
+				.append(d.getGameIntroducedIn().getLinkPrefix()).append('|')
+				.append(d.isDeprecated()).append('|')
+				.append(d.isUncertain()).append('\n');
+		for (CommandSyntax syntax : d.getSyntaxList()) {
+			describe(syntax.getPrefixParam(), sb);
+			sb.append(" # ");
+			describe(syntax.getPostfixParam(), sb);
+			sb.append(" -> ");
+			describe(syntax.getReturnValue(), sb);
+			sb.append('\n');
+		}
+		return sb.toString();
+	}
+
+	private static void describe(ValueHolder h, @NotNull StringBuilder sb) {
+		if (h == null) {
+			sb.append("null");
+			return;
+		}
+		sb.append(h.getClass().getSimpleName()).append('(');
+		if (h instanceof Param) {
+			sb.append(((Param) h).getName()).append(',');
+		}
+		sb.append(h.isOptional()).append(',');
+		if (h instanceof ArrayValueHolder) {
+			ArrayValueHolder arr = (ArrayValueHolder) h;
+			sb.append(arr.hasUnboundedParams()).append(",[");
+			for (ValueHolder child : arr.getValueHolders()) {
+				describe(child, sb);
+				sb.append(';');
+			}
+			sb.append(']');
+		} else {
+			sb.append(h.getType().getType()).append(",alt=");
+			describeTypes(h.getType().getPolymorphicTypes(), sb);
+			sb.append(",unwrappedAlt=");
+			describeTypes(unwrap(h.getType()).getPolymorphicTypes(), sb);
+			sb.append(",literals=").append(h.getLiterals());
+		}
+		sb.append(')');
+	}
+
+	private static void describeTypes(@NotNull List<ValueType> types, @NotNull StringBuilder sb) {
+		sb.append('[');
+		for (ValueType t : types) {
+			sb.append(t.getType()).append(';');
+		}
+		sb.append(']');
+	}
+}
@@ -0,0 +1,129 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
+
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType.BaseType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Makes sure {@link CommandSyntaxIndex} gives the same syntaxes as checking every syntax's prefix param.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class CommandSyntaxIndexTest {
+	private static final ValueType[] PREFIX_TYPES = {
+			BaseType.NUMBER, BaseType.STRING, BaseType.OBJECT, BaseType.CODE, BaseType.ARRAY, BaseType.ANYTHING,
+			BaseType._VARIABLE, BaseType.POSITION_3D, new CodeType(BaseType.NUMBER),
+			new ExpandedValueType(BaseType.NUMBER, BaseType.NUMBER, BaseType.NUMBER),
+			ValueType.intern(new ExpandedValueType(true, BaseType.STRING))
+	};
+
+	@Test
+	public void candidatesMatchLinearScan() throws Exception {
+		assertCandidatesMatchLinearScan(createSyntaxList(7));
+	}
+
+	@Test
+	public void candidatesMatchLinearScan_moreThan64Syntaxes() throws Exception {
+		assertCandidatesMatchLinearScan(createSyntaxList(150));
+	}
+
+	@Test
+	public void postfixFlag() throws Exception {
+		ReturnValueHolder returnValue = new ReturnValueHolder(BaseType.NOTHING, "");
+		CommandSyntaxIndex noPostfix = new CommandSyntaxIndex(Arrays.asList(
+				new CommandSyntax(null, null, returnValue),
+				new CommandSyntax(new Param("p", BaseType.NUMBER, "", false), null, returnValue)
+		));
+		assertFalse(noPostfix.hasPostfixSyntax());
+
+		CommandSyntaxIndex postfix = new CommandSyntaxIndex(Arrays.asList(
+				new CommandSyntax(null, null, returnValue),
+				new CommandSyntax(null, new Param("p", BaseType.NUMBER, "", false), returnValue)
+		));
+		assertTrue(postfix.hasPostfixSyntax());
+	}
+
+	private static void assertCandidatesMatchLinearScan(@NotNull List<CommandSyntax> syntaxList) {
+		CommandSyntaxIndex index = new CommandSyntaxIndex(syntaxList);
+		List<ValueType> prefixTypes = new ArrayList<>(Arrays.asList(PREFIX_TYPES));
+		prefixTypes.add(null);
+		for (ValueType prefixType : prefixTypes) {
+			//twice so that the cached candidates are checked too
+			for (int round = 0; round < 2; round++) {
+				List<Integer> expected = new ArrayList<>();
+				for (int i = 0; i < syntaxList.size(); i++) {
+					if (prefixMatches(syntaxList.get(i).getPrefixParam(), prefixType)) {
+						expected.add(i);
+					}
+				}
+
+				List<Integer> actual = new ArrayList<>();
+				long[] candidates = index.getCandidates(prefixType);
+				boolean exact = index.isExact(prefixType);
+				for (int i = CommandSyntaxIndex.nextCandidate(candidates, 0); i >= 0; i = CommandSyntaxIndex.nextCandidate(candidates, i + 1)) {
+					if (exact || prefixMatches(syntaxList.get(i).getPrefixParam(), prefixType)) {
+						actual.add(i);
+					}
+				}
+				String message = prefixType == null ? "null" : prefixType.getDebugName();
+				assertEquals(message, expected, actual);
+				if (prefixType != null) {
+					assertEquals(message, !expected.isEmpty(), index.anyPrefixAccepts(prefixType));
+				}
+			}
+		}
+	}
+
+	/**
+	 * How SQFSyntaxChecker matched prefix params before {@link CommandSyntaxIndex}
+	 */
+	private static boolean prefixMatches(@Nullable Param prefixParam, @Nullable ValueType prefixType) {
+		if (prefixParam == null) {
+			return prefixType == null;
+		}
+		if (prefixType == null) {
+			return prefixParam.isOptional();
+		}
+		return prefixParam.containsType(prefixType);
+	}
+
+	@NotNull
+	private static List<CommandSyntax> createSyntaxList(int size) {
+		ValueType[] paramTypes = {
+				BaseType.NUMBER, BaseType.STRING, BaseType.OBJECT, BaseType.CODE, BaseType.ARRAY,
+				new CodeType(BaseType.STRING), BaseType.POSITION
+		};
+		ReturnValueHolder returnValue = new ReturnValueHolder(BaseType.NOTHING, "");
+		List<CommandSyntax> syntaxList = new ArrayList<>(size);
+		for (int i = 0; i < size; i++) {
+			Param prefix;
+			switch (i % 5) {
+				case 0: {
+					prefix = null;
+					break;
+				}
+				case 1: {
+					prefix = new Param("p", paramTypes[i % paramTypes.length], "", true);
+					break;
+				}
+				default: {
+					prefix = new Param("p", paramTypes[i % paramTypes.length], "", false);
+					break;
+				}
+			}
+			Param postfix = i % 3 == 0 ? new Param("q", BaseType.NUMBER, "", false) : null;
+			syntaxList.add(new CommandSyntax(prefix, postfix, returnValue));
+		}
+		return syntaxList;
+	}
+}
@@ -0,0 +1,106 @@
+package com.kaylerrenslow.armaplugin.lang.sqf.syntax;
+
+import com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType.BaseType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType.intern;
+import static com.kaylerrenslow.armaplugin.lang.sqf.syntax.ValueType.typeEquivalent;
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ValueType#intern(ValueType)}. Interned types must give the same
+ * {@link ValueType#typeEquivalent(ValueType, ValueType)} results as the types they were interned from.
+ *
+ * @author Kayler
+ * @since 10/17/2026
+ */
+public class ValueTypeInternerTest {
+	@Test
+	public void structurallyEqualTypesShareInstance() throws Exception {
+		assertSame(BaseType.NUMBER, intern(BaseType.NUMBER));
+		assertSame(intern(new CodeType(BaseType.NUMBER)), intern(new CodeType(BaseType.NUMBER)));
+		assertSame(
+				intern(new ExpandedValueType(true, BaseType.NUMBER, new CodeType(BaseType.STRING))),
+				intern(new ExpandedValueType(true, BaseType.NUMBER, new CodeType(BaseType.STRING)))
+		);
+		assertSame(
+				intern(new SingletonArrayExpandedValueType(BaseType.OBJECT)),
+				intern(new SingletonArrayExpandedValueType(BaseType.OBJECT))
+		);
+		assertSame(intern(polymorphic(BaseType.NUMBER, BaseType.STRING)), intern(polymorphic(BaseType.NUMBER, BaseType.STRING)));
+
+		ValueType interned = intern(new CodeType(BaseType.NUMBER));
+		assertTrue(interned.isCanonical());
+		assertSame(interned, intern(interned));
+	}
+
+	@Test
+	public void structurallyDifferentTypesDontShareInstance() throws Exception {
+		assertNotSame(intern(new CodeType(BaseType.NUMBER)), intern(new CodeType(BaseType.STRING)));
+		assertNotSame(intern(new ExpandedValueType(true, BaseType.NUMBER)), intern(new ExpandedValueType(false, BaseType.NUMBER)));
+		assertNotSame(intern(new ExpandedValueType(BaseType.NUMBER)), intern(new SingletonArrayExpandedValueType(BaseType.NUMBER)));
+		assertNotSame(intern(polymorphic(BaseType.NUMBER, BaseType.STRING)), intern(polymorphic(BaseType.NUMBER)));
+
+		ExpandedValueType optional = new ExpandedValueType(BaseType.NUMBER, BaseType.NUMBER);
+		optional.setNumOptionalValues(1);
+		assertNotSame(intern(optional), intern(new ExpandedValueType(BaseType.NUMBER, BaseType.NUMBER)));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void canonicalTypeIsImmutable() throws Exception {
+		((ExpandedValueType) intern(new ExpandedValueType(BaseType.NUMBER, BaseType.STRING))).addValueType(BaseType.NUMBER);
+	}
+
+	@Test
+	public void internedEquivalenceMatchesUninterned() throws Exception {
+		List<ValueType> types = sampleTypes();
+		for (ValueType type1 : types) {
+			for (ValueType type2 : types) {
+				boolean expected = typeEquivalent(type1, type2);
+				String message = type1.getDebugName() + " " + type2.getDebugName();
+				assertEquals(message, expected, typeEquivalent(intern(type1), intern(type2)));
+				//second time uses the cached result
+				assertEquals(message, expected, typeEquivalent(intern(type1), intern(type2)));
+			}
+		}
+	}
+
+	@NotNull
+	private static List<ValueType> sampleTypes() {
+		List<ValueType> types = new ArrayList<>(Arrays.asList(
+				BaseType.NUMBER, BaseType.STRING, BaseType.CODE, BaseType.ANYTHING, BaseType._VARIABLE,
+				BaseType.ARRAY, BaseType.COLOR, BaseType.POSITION_3D
+		));
+		types.add(new CodeType(BaseType.NUMBER));
+		types.add(new CodeType(BaseType.ANYTHING));
+		types.add(new ExpandedValueType(false));
+		types.add(new ExpandedValueType(true));
+		types.add(new ExpandedValueType(BaseType.NUMBER));
+		types.add(new ExpandedValueType(BaseType.NUMBER, BaseType.NUMBER, BaseType.NUMBER));
+		types.add(new ExpandedValueType(true, BaseType.NUMBER));
+		types.add(new ExpandedValueType(true, BaseType.STRING, BaseType.NUMBER));
+		types.add(new ExpandedValueType(BaseType.NUMBER, new ExpandedValueType(BaseType.STRING, BaseType.NUMBER)));
+		types.add(new SingletonArrayExpandedValueType(BaseType.NUMBER));
+		types.add(new SingletonArrayExpandedValueType(BaseType.STRING));
+
+		ExpandedValueType optional = new ExpandedValueType(BaseType.NUMBER, BaseType.NUMBER, BaseType.NUMBER);
+		optional.setNumOptionalValues(1);
+		types.add(optional);
+
+		types.add(polymorphic(BaseType.NUMBER, BaseType.STRING));
+		types.add(polymorphic(BaseType.OBJECT, new ExpandedValueType(true, BaseType.OBJECT)));
+		return types;
+	}
+
+	@NotNull
+	private static PolymorphicWrapperValueType polymorphic(@NotNull ValueType type, @NotNull ValueType... altTypes) {
+		PolymorphicWrapperValueType wrapper = new PolymorphicWrapperValueType(type);
+		wrapper.getPolymorphicTypes().addAll(Arrays.asList(altTypes));
+		return wrapper;
+	}
+}